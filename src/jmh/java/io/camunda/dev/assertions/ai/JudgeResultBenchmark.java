@@ -0,0 +1,43 @@
+package io.camunda.dev.assertions.ai;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JudgeResultBenchmark {
+
+  /** Length of the judge's reason in characters. */
+  @Param({"40", "2000"})
+  public int reasonLength;
+
+  private String response;
+
+  @Setup
+  public void setUp() {
+    String reason =
+        "The e-mail asks about the stock purchases. "
+            .repeat(reasonLength / 40 + 1)
+            .substring(0, reasonLength);
+    response = "Here is my verdict:\n{\"pass\": true, \"score\": 0.85, \"reason\": \"" + reason + "\"}";
+  }
+
+  @Benchmark
+  public Object tryParse() {
+    return SemanticTextAssert.JudgeResult.tryParse(response);
+  }
+}
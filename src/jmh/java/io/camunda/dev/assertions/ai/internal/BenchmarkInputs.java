@@ -0,0 +1,74 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.Random;
+
+/** Deterministic benchmark inputs of realistic sizes. */
+public final class BenchmarkInputs {
+
+  /** Input size classes: a short answer, a multi-KB e-mail and a 100 KB agent transcript. */
+  public enum Size {
+    SHORT(80),
+    EMAIL(4 * 1024),
+    TRANSCRIPT(100 * 1024);
+
+    final int chars;
+
+    Size(int chars) {
+      this.chars = chars;
+    }
+  }
+
+  private static final String[] WORDS = {
+    "Dear", "customer,", "we", "reviewed", "your", "tax", "return", "and", "noticed", "a",
+    "discrepancy", "between", "the", "reported", "income", "expenses.", "Please", "clarify",
+    "the", "stock", "purchases", "listed", "in", "section", "4.", "Refund", "issued;", "case",
+    "closed."
+  };
+
+  private BenchmarkInputs() {}
+
+  /** Prose with mixed whitespace (double spaces, tabs, line breaks) and upper case letters. */
+  public static String text(Size size) {
+    Random random = new Random(42);
+    StringBuilder sb = new StringBuilder(size.chars + 32);
+    sb.append("  ");
+    while (sb.length() < size.chars) {
+      sb.append(WORDS[random.nextInt(WORDS.length)]);
+      switch (random.nextInt(12)) {
+        case 0 -> sb.append("  ");
+        case 1 -> sb.append("\n\t");
+        case 2 -> sb.append("\r\n");
+        default -> sb.append(' ');
+      }
+    }
+    return sb.append("\n").toString();
+  }
+
+  /** Pretty-printed JSON, like a tool-call payload of an agent. */
+  public static String json(Size size) {
+    Random random = new Random(42);
+    String emailBody = text(Size.SHORT).trim().replaceAll("\\s+", " ");
+    StringBuilder sb = new StringBuilder(size.chars + 256);
+    sb.append("{\n  \"status\": \"RESOLVED\",\n  \"toolCalls\": [\n");
+    int i = 0;
+    while (sb.length() < size.chars) {
+      if (i > 0) {
+        sb.append(",\n");
+      }
+      sb.append("    {\n      \"name\": \"tool_").append(i).append("\",\n")
+          .append("      \"score\": ").append(random.nextInt(100)).append(".50,\n")
+          .append("      \"arguments\": { \"emailBody\": \"").append(emailBody).append("\", \"amount\": 1.0E3 }\n    }");
+      i++;
+    }
+    return sb.append("\n  ]\n}\n").toString();
+  }
+
+  public static float[] vector(int dimensions, long seed) {
+    Random random = new Random(seed);
+    float[] v = new float[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      v[i] = (float) random.nextGaussian();
+    }
+    return v;
+  }
+}
@@ -0,0 +1,63 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class CosineSimilarityBenchmark {
+
+  private static final int CANDIDATES = 1_000;
+
+  @Param({"1536", "3072"})
+  public int dimensions;
+
+  private float[] query;
+  private float[] candidate;
+  private float[] normalizedQuery;
+  private float[] normalizedCandidate;
+  private float[] matrix;
+
+  @Setup
+  public void setUp() {
+    query = BenchmarkInputs.vector(dimensions, 1);
+    candidate = BenchmarkInputs.vector(dimensions, 2);
+    normalizedQuery = CosineSimilarity.normalize(query);
+    normalizedCandidate = CosineSimilarity.normalize(candidate);
+    matrix = new float[CANDIDATES * dimensions];
+    for (int r = 0; r < CANDIDATES; r++) {
+      System.arraycopy(
+          CosineSimilarity.normalize(BenchmarkInputs.vector(dimensions, 100 + r)), 0, matrix, r * dimensions, dimensions);
+    }
+  }
+
+  @Benchmark
+  public double cosine() {
+    return CosineSimilarity.cosine(query, candidate);
+  }
+
+  @Benchmark
+  public double dotOfNormalized() {
+    return CosineSimilarity.dot(normalizedQuery, normalizedCandidate);
+  }
+
+  /** Scores one query against 1000 normalized candidates. */
+  @Benchmark
+  public double[] cosineAllNormalized() {
+    return CosineSimilarity.cosineAll(normalizedQuery, matrix, CANDIDATES, true);
+  }
+}
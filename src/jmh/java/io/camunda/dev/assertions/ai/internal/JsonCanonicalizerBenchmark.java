@@ -0,0 +1,38 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCanonicalizerBenchmark {
+
+  @Param({"SHORT", "EMAIL", "TRANSCRIPT"})
+  public BenchmarkInputs.Size size;
+
+  private String input;
+
+  @Setup
+  public void setUp() {
+    input = BenchmarkInputs.json(size);
+  }
+
+  @Benchmark
+  public String canonicalize() {
+    return JsonCanonicalizer.canonicalize(input);
+  }
+}
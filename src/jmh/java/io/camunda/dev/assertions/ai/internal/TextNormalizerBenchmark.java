@@ -0,0 +1,48 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import io.camunda.dev.assertions.ai.SemanticOptions;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextNormalizerBenchmark {
+
+  @Param({"SHORT", "EMAIL", "TRANSCRIPT"})
+  public BenchmarkInputs.Size size;
+
+  private String input;
+  private SemanticOptions whitespaceOnly;
+  private SemanticOptions whitespaceAndLowercase;
+
+  @Setup
+  public void setUp() {
+    input = BenchmarkInputs.text(size);
+    whitespaceOnly = SemanticOptions.defaults();
+    whitespaceAndLowercase = SemanticOptions.builder().normalizeToLowercase(true).build();
+  }
+
+  @Benchmark
+  public String normalizeWhitespace() {
+    return TextNormalizer.normalize(input, whitespaceOnly);
+  }
+
+  @Benchmark
+  public String normalizeWhitespaceAndLowercase() {
+    return TextNormalizer.normalize(input, whitespaceAndLowercase);
+  }
+}
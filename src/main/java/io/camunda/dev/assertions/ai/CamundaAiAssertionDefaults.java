@@ -1,19 +1,37 @@
 package io.camunda.dev.assertions.ai;
 
+import io.camunda.dev.assertions.ai.internal.AssertionMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.embedding.EmbeddingModel;
 
 /** Global defaults for CamundaAiAssertions. */
 public final class CamundaAiAssertionDefaults {
 
+  /** Verdicts are not memoized unless a TTL is configured. */
+  public static final Duration DEFAULT_VERDICT_MEMO_TTL = Duration.ZERO;
+
   private final EmbeddingModel embeddingModel;
   private final ChatModel judgeModel;
   private final SemanticOptions options;
+  private final EmbeddingCache embeddingCache;
+  private final String embeddingModelId;
+  private final ModelCallGovernor governor;
+  private final MeterRegistry meterRegistry;
+  private final SemanticReport report;
+  private final VerdictMemo verdictMemo;
 
   private CamundaAiAssertionDefaults(Builder builder) {
     this.embeddingModel = builder.embeddingModel;
     this.judgeModel = builder.judgeModel;
     this.options = builder.options == null ? SemanticOptions.defaults() : builder.options;
+    this.embeddingCache = builder.embeddingCache;
+    this.embeddingModelId = builder.embeddingModelId;
+    this.governor = builder.governor;
+    this.meterRegistry = builder.meterRegistry;
+    this.report = builder.report;
+    this.verdictMemo = builder.verdictMemoTtl.isZero() ? null : new VerdictMemo(builder.verdictMemoTtl);
   }
 
   public static Builder builder() {
@@ -32,16 +50,68 @@ public final class CamundaAiAssertionDefaults {
     return options;
   }
 
+  /** The persistent embedding cache, or {@code null} if embeddings are not cached. */
+  public EmbeddingCache embeddingCache() {
+    return embeddingCache;
+  }
+
+  /** Identity of the default embedding model used in cache keys, or {@code null} if it is not cached. */
+  public String embeddingModelId() {
+    return embeddingModelId;
+  }
+
+  /** The governor all model calls go through, or {@code null} for no coordination. */
+  public ModelCallGovernor governor() {
+    return governor;
+  }
+
+  /** The registry of the {@code camunda.ai.assertions.*} meters.
+   *
+   * <p>Without a configured registry a built-in {@code SimpleMeterRegistry} is used. Its meters can be
+   * printed with {@link CamundaAiAssertions#printMetrics(java.io.PrintStream)}, or at JVM shutdown with
+   * {@code -Dcamunda.ai.assertions.metrics.print=true}.
+   */
+  public MeterRegistry meterRegistry() {
+    return meterRegistry == null ? AssertionMetrics.builtInRegistry() : meterRegistry;
+  }
+
+  /** The report every evaluated assertion is appended to, or {@code null} for no report. */
+  public SemanticReport report() {
+    return report;
+  }
+
+  /** Memo of evaluated verdicts, or {@code null} if every evaluation calls the model. */
+  VerdictMemo verdictMemo() {
+    return verdictMemo;
+  }
+
   public static final class Builder {
     private EmbeddingModel embeddingModel;
     private ChatModel judgeModel;
     private SemanticOptions options;
+    private EmbeddingCache embeddingCache;
+    private String embeddingModelId;
+    private ModelCallGovernor governor;
+    private MeterRegistry meterRegistry;
+    private SemanticReport report;
+    private Duration verdictMemoTtl = DEFAULT_VERDICT_MEMO_TTL;
 
     public Builder embeddingModel(EmbeddingModel embeddingModel) {
       this.embeddingModel = embeddingModel;
       return this;
     }
 
+    /** Uses the in-process {@link LocalEmbeddingModel} (no network), with its id for cache keys. */
+    public Builder localEmbeddingModel() {
+      return localEmbeddingModel(LocalEmbeddingModel.create());
+    }
+
+    public Builder localEmbeddingModel(LocalEmbeddingModel model) {
+      this.embeddingModel = model;
+      this.embeddingModelId = model.id();
+      return this;
+    }
+
     public Builder judgeModel(ChatModel judgeModel) {
       this.judgeModel = judgeModel;
       return this;
@@ -52,7 +122,60 @@ public final class CamundaAiAssertionDefaults {
       return this;
     }
 
+    public Builder embeddingCache(EmbeddingCache embeddingCache) {
+      this.embeddingCache = embeddingCache;
+      return this;
+    }
+
+    /** Sets the identity of the default embedding model, e.g. {@code "openai/text-embedding-3-small"}.
+     *
+     * <p>Cached vectors are only reused for the same identity. It is required together with an
+     * {@link #embeddingCache(EmbeddingCache)}, unless the model is a {@link LocalEmbeddingModel}.
+     */
+    public Builder embeddingModelId(String embeddingModelId) {
+      this.embeddingModelId = embeddingModelId;
+      return this;
+    }
+
+    public Builder governor(ModelCallGovernor governor) {
+      this.governor = governor;
+      return this;
+    }
+
+    public Builder meterRegistry(MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+      return this;
+    }
+
+    public Builder report(SemanticReport report) {
+      this.report = report;
+      return this;
+    }
+
+    /** How long a verdict is reused for an identical assertion of the same test; {@link Duration#ZERO} disables reuse.
+     *
+     * <p>Off by default; two minutes cover the retry loops of polling CamundaAssert assertions. The test
+     * is resolved when the assertion is created. Assertions created on threads without a test on their
+     * stack (e.g. Awaitility poll threads) are only memoized if they are bound to the test with
+     * {@link CamundaAiAssertions#inCurrentTest(java.util.function.Consumer)}. Every configured set of
+     * defaults starts with an empty memo.
+     */
+    public Builder verdictMemoTtl(Duration verdictMemoTtl) {
+      this.verdictMemoTtl = verdictMemoTtl;
+      return this;
+    }
+
     public CamundaAiAssertionDefaults build() {
+      if (verdictMemoTtl == null || verdictMemoTtl.isNegative()) {
+        throw new IllegalArgumentException("verdictMemoTtl must be >= 0");
+      }
+      if (embeddingCache != null
+          && embeddingModelId == null
+          && embeddingModel != null
+          && !(embeddingModel instanceof LocalEmbeddingModel)) {
+        throw new IllegalArgumentException(
+            "embeddingModelId is required to cache the vectors of " + embeddingModel.getClass().getSimpleName());
+      }
       return new CamundaAiAssertionDefaults(this);
     }
   }
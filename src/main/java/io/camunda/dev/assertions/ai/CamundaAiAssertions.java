@@ -1,5 +1,17 @@
 package io.camunda.dev.assertions.ai;
 
+import io.camunda.dev.assertions.ai.internal.AssertionErrors;
+import io.camunda.dev.assertions.ai.internal.AssertionMetrics;
+import io.camunda.dev.assertions.ai.internal.ModelExecutors;
+import io.camunda.dev.assertions.ai.internal.TestIds;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.embedding.EmbeddingModel;
 
@@ -33,6 +45,112 @@ public final class CamundaAiAssertions {
     return new SemanticJsonAssert(actualJson, defaults);
   }
 
+  /** Prints one line per {@code camunda.ai.assertions.*} meter of the default registry, e.g. in an {@code @AfterAll}. */
+  public static void printMetrics(PrintStream out) {
+    AssertionMetrics.printSummary(defaults.meterRegistry(), out);
+  }
+
+  /** Starts a {@link SemanticBatch} that resolves the embeddings of many assertions in batched calls. */
+  public static SemanticBatch batch() {
+    return new SemanticBatch(defaults);
+  }
+
+  /** Runs a text assertion on a virtual thread.
+   *
+   * <pre>{@code
+   * var f1 = assertThatAsync(email1, a -> a.matchesExpectationWithJudge("asks about the income"));
+   * var f2 = assertThatAsync(email2, a -> a.matchesExpectationWithJudge("asks about the stocks"));
+   * CamundaAiAssertions.awaitAll(f1, f2);
+   * }</pre>
+   *
+   * <p>The future completes with the {@link SemanticResult} of the assertion, or exceptionally with
+   * its {@link AssertionError}. The id of the calling test is passed on to the virtual thread, so
+   * reports and memoized verdicts are attributed to it.
+   */
+  public static CompletableFuture<SemanticResult> assertThatAsync(
+      String actualText, Consumer<SemanticTextAssert> assertion) {
+    CamundaAiAssertionDefaults captured = defaults;
+    String testId = TestIds.current();
+    return CompletableFuture.supplyAsync(
+        () ->
+            TestIds.callAs(
+                testId,
+                () -> {
+                  SemanticTextAssert semanticAssert = new SemanticTextAssert(actualText, captured, testId);
+                  assertion.accept(semanticAssert);
+                  return semanticAssert.result();
+                }),
+        ModelExecutors.virtualThreads());
+  }
+
+  /** Runs a JSON assertion on a virtual thread; see {@link #assertThatAsync(String, Consumer)}. */
+  public static CompletableFuture<SemanticResult> assertThatJsonAsync(
+      String actualJson, Consumer<SemanticJsonAssert> assertion) {
+    CamundaAiAssertionDefaults captured = defaults;
+    String testId = TestIds.current();
+    return CompletableFuture.supplyAsync(
+        () ->
+            TestIds.callAs(
+                testId,
+                () -> {
+                  SemanticJsonAssert semanticAssert = new SemanticJsonAssert(actualJson, captured, testId);
+                  assertion.accept(semanticAssert);
+                  return semanticAssert.result();
+                }),
+        ModelExecutors.virtualThreads());
+  }
+
+  /** Binds the assertions of {@code assertion} to the calling test, wherever it later runs.
+   *
+   * <p>Polling assertions (CamundaAssert, Awaitility) run their condition on a poll thread without a
+   * test method on its stack, so its assertions would neither be attributed in reports nor memoized.
+   * The test id is resolved here, on the test thread, and set on the thread that runs the consumer
+   * for the duration of each call:
+   *
+   * <pre>{@code
+   * CamundaAssert.assertThat(processInstance)
+   *     .hasLocalVariableSatisfies(element, "toolCall", MailToolCall.class,
+   *         CamundaAiAssertions.inCurrentTest(toolCall ->
+   *             assertThat(toolCall.emailBody()).matchesExpectationWithJudge("asks about the income")));
+   * }</pre>
+   */
+  public static <T> Consumer<T> inCurrentTest(Consumer<T> assertion) {
+    String testId = TestIds.current();
+    return value ->
+        TestIds.callAs(
+            testId,
+            () -> {
+              assertion.accept(value);
+              return null;
+            });
+  }
+
+  /** Binds the assertions of {@code assertion} to the calling test; see {@link #inCurrentTest(Consumer)}. */
+  public static Runnable inCurrentTest(Runnable assertion) {
+    Consumer<Void> bound = inCurrentTest(ignored -> assertion.run());
+    return () -> bound.accept(null);
+  }
+
+  /** Waits for all asynchronous assertions and fails with one error listing every failure. */
+  @SafeVarargs
+  public static List<SemanticResult> awaitAll(CompletableFuture<SemanticResult>... assertions) {
+    return awaitAll(Arrays.asList(assertions));
+  }
+
+  public static List<SemanticResult> awaitAll(Collection<CompletableFuture<SemanticResult>> assertions) {
+    List<SemanticResult> results = new ArrayList<>(assertions.size());
+    List<Throwable> failures = new ArrayList<>();
+    for (CompletableFuture<SemanticResult> assertion : assertions) {
+      try {
+        results.add(assertion.join());
+      } catch (CompletionException e) {
+        failures.add(e.getCause() == null ? e : e.getCause());
+      }
+    }
+    AssertionErrors.throwIfAny(failures, assertions.size());
+    return results;
+  }
+
   // Convenience overloads to set a per-assert default model quickly
   public static SemanticTextAssert assertThat(String actualText, EmbeddingModel embeddingModel) {
     return assertThat(actualText).usingEmbeddingModel(embeddingModel);
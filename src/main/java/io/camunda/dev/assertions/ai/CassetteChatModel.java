@@ -0,0 +1,416 @@
+package io.camunda.dev.assertions.ai;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.camunda.dev.assertions.ai.internal.ContentHash;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/** Record/replay decorator for judge {@link ChatModel}s.
+ *
+ * <p>Responses are stored in a versioned cassette file, keyed by the SHA-256 hash of the delegate's
+ * model and options, the prompt, and the sample index of a judge quorum. A replayed response does not
+ * touch the delegate model, so suites can run offline and only call the live model when an
+ * expectation, an actual output or the judge configuration changes. New recordings are appended to a
+ * journal next to the cassette ({@code <cassette>.journal}) under a lock per cassette, so parallel
+ * test forks can share a cassette and recording stays cheap; the journal is folded into the cassette
+ * when a recording cassette is opened and when the JVM exits.
+ *
+ * <pre>{@code
+ * ChatModel judge = CassetteChatModel.builder()
+ *     .delegate(bedrockModel)
+ *     .cassette(Path.of("src/test/resources/cassettes/fraud-detection.json"))
+ *     .mode(CassetteChatModel.Mode.RECORD_MISSING)
+ *     .build();
+ * }</pre>
+ *
+ * <p>The mode defaults to the system property {@value #MODE_PROPERTY} ({@code strict},
+ * {@code record-missing} or {@code re-record}; {@code _} works as well as {@code -}), falling back to
+ * {@link Mode#RECORD_MISSING}.
+ */
+public final class CassetteChatModel implements ChatModel {
+
+  public static final String MODE_PROPERTY = "camunda.ai.cassette.mode";
+
+  static final int CASSETTE_VERSION = 2;
+
+  private static final JsonFactory JSON = new JsonFactory();
+  /** Serializes the writers of one cassette within this JVM; file locks only exclude other processes. */
+  private static final ConcurrentMap<Path, Object> LOCKS = new ConcurrentHashMap<>();
+  /** Cassettes whose journal is compacted at JVM exit. */
+  private static final Set<Path> COMPACT_ON_EXIT = ConcurrentHashMap.newKeySet();
+
+  public enum Mode {
+    /** Replay only; a prompt without recording fails. */
+    STRICT,
+    /** Replay recorded prompts, call the delegate and record the others. */
+    RECORD_MISSING,
+    /** Ignore existing recordings and record every prompt again; recordings of other prompts are kept. */
+    RE_RECORD
+  }
+
+  private final ChatModel delegate;
+  private final Path cassette;
+  private final Mode mode;
+  private final Map<String, Interaction> interactions;
+  /** Interactions recorded by this instance; RE_RECORD replays only these. */
+  private final Map<String, Interaction> recorded = new LinkedHashMap<>();
+
+  private CassetteChatModel(Builder builder) {
+    this.delegate = builder.delegate;
+    this.cassette = builder.cassette.toAbsolutePath().normalize();
+    this.mode = builder.mode;
+    if (mode != Mode.STRICT) {
+      compact(cassette); // strict runs may use a read-only checkout; they read the journal as it is
+    }
+    this.interactions = mode == Mode.RE_RECORD ? new LinkedHashMap<>() : read(cassette);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  @Override
+  public ChatOptions getDefaultOptions() {
+    return delegate.getDefaultOptions();
+  }
+
+  @Override
+  public ChatResponse call(Prompt prompt) {
+    return call(prompt, 0);
+  }
+
+  /** Replays or records the response to one sample of a judge quorum; samples are recorded separately. */
+  ChatResponse call(Prompt prompt, int sample) {
+    String promptHash = key(prompt, sample);
+    Interaction replay;
+    synchronized (this) {
+      // RE_RECORD replays only what this instance recorded itself
+      replay = mode == Mode.RE_RECORD ? recorded.get(promptHash) : interactions.get(promptHash);
+    }
+    if (replay != null) {
+      return toResponse(replay.response());
+    }
+    if (mode == Mode.STRICT) {
+      throw new IllegalStateException(
+          "No recorded response for prompt " + promptHash + " in cassette " + cassette
+              + ". Record it with -D" + MODE_PROPERTY + "=record-missing");
+    }
+
+    long start = System.nanoTime();
+    ChatResponse response = delegate.call(prompt);
+    long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+    String text =
+        response == null || response.getResult() == null ? "" : response.getResult().getOutput().getText();
+
+    Interaction interaction = new Interaction(promptHash, latencyMillis, text);
+    synchronized (this) {
+      recorded.put(promptHash, interaction);
+      interactions.put(promptHash, interaction);
+    }
+    append(cassette, interaction);
+    return response;
+  }
+
+  /** Hash of everything that determines the response: model, options, prompt and sample index. */
+  private String key(Prompt prompt, int sample) {
+    ChatOptions requested = prompt.getOptions();
+    ChatOptions defaults = delegate.getDefaultOptions();
+    return ContentHash.sha256Hex(
+        option(requested, defaults, ChatOptions::getModel),
+        option(requested, defaults, ChatOptions::getTemperature),
+        option(requested, defaults, ChatOptions::getTopP),
+        option(requested, defaults, ChatOptions::getTopK),
+        option(requested, defaults, ChatOptions::getMaxTokens),
+        option(requested, defaults, ChatOptions::getFrequencyPenalty),
+        option(requested, defaults, ChatOptions::getPresencePenalty),
+        option(requested, defaults, ChatOptions::getStopSequences),
+        prompt.getContents(),
+        Integer.toString(sample));
+  }
+
+  /** The option of the prompt, falling back to the delegate's default, as text. */
+  private static String option(ChatOptions requested, ChatOptions defaults, Function<ChatOptions, ?> getter) {
+    Object value = requested == null ? null : getter.apply(requested);
+    if (value == null && defaults != null) {
+      value = getter.apply(defaults);
+    }
+    return String.valueOf(value);
+  }
+
+  @Override
+  public Flux<ChatResponse> stream(Prompt prompt) {
+    return Flux.defer(() -> Flux.just(call(prompt)));
+  }
+
+  private static ChatResponse toResponse(String text) {
+    return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+  }
+
+  /** The cassette's interactions, overlaid with the newer ones of its journal. */
+  private static Map<String, Interaction> read(Path cassette) {
+    // journal first: a compaction in between moves its entries into the cassette read next
+    Map<String, Interaction> journal = readJournal(journal(cassette));
+    Map<String, Interaction> interactions = readCassette(cassette);
+    interactions.putAll(journal);
+    return interactions;
+  }
+
+  private static Map<String, Interaction> readCassette(Path cassette) {
+    Map<String, Interaction> interactions = new LinkedHashMap<>();
+    if (!Files.exists(cassette)) {
+      return interactions;
+    }
+    try (JsonParser parser = JSON.createParser(cassette.toFile())) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT, cassette);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        parser.nextToken();
+        if ("version".equals(field)) {
+          if (parser.getIntValue() > CASSETTE_VERSION) {
+            throw new IllegalStateException(
+                "Unsupported cassette version " + parser.getIntValue() + " in " + cassette);
+          }
+          if (parser.getIntValue() < CASSETTE_VERSION) {
+            return new LinkedHashMap<>(); // keyed differently; everything is recorded again
+          }
+        } else if ("interactions".equals(field)) {
+          expect(parser.currentToken(), JsonToken.START_ARRAY, cassette);
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            Interaction interaction = readInteraction(parser);
+            interactions.put(interaction.promptHash(), interaction);
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return interactions;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read cassette " + cassette, e);
+    }
+  }
+
+  /** Reads the journal's entries in order; a torn last entry (e.g. of a killed fork) is ignored. */
+  private static Map<String, Interaction> readJournal(Path journal) {
+    Map<String, Interaction> interactions = new LinkedHashMap<>();
+    if (!Files.exists(journal)) {
+      return interactions;
+    }
+    try (JsonParser parser = JSON.createParser(journal.toFile())) {
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        Interaction interaction = readInteraction(parser);
+        interactions.put(interaction.promptHash(), interaction);
+      }
+    } catch (JsonParseException e) {
+      // keep the complete entries before it
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read cassette journal " + journal, e);
+    }
+    return interactions;
+  }
+
+  private static Interaction readInteraction(JsonParser parser) throws IOException {
+    String promptHash = null;
+    long latencyMillis = 0;
+    String response = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "promptHash" -> promptHash = parser.getText();
+        case "latencyMillis" -> latencyMillis = parser.getLongValue();
+        case "response" -> response = parser.getText();
+        default -> parser.skipChildren();
+      }
+    }
+    return new Interaction(promptHash, latencyMillis, response);
+  }
+
+  private static Path journal(Path cassette) {
+    return cassette.resolveSibling(cassette.getFileName() + ".journal");
+  }
+
+  /** Appends one recording to the journal: constant work per recording, however large the cassette. */
+  private static void append(Path cassette, Interaction interaction) {
+    locked(
+        cassette,
+        () -> {
+          try (OutputStream out =
+                  Files.newOutputStream(journal(cassette), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+              JsonGenerator generator = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            writeInteraction(generator, interaction);
+            generator.writeRaw('\n');
+          }
+        });
+    if (COMPACT_ON_EXIT.add(cassette)) {
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread(
+                  () -> {
+                    try {
+                      compact(cassette);
+                    } catch (UncheckedIOException e) {
+                      // the journal is kept and compacted when the cassette is opened next
+                    }
+                  },
+                  "cassette-compaction"));
+    }
+  }
+
+  /** Folds the journal into the cassette file and deletes it. */
+  private static void compact(Path cassette) {
+    if (!Files.exists(journal(cassette))) {
+      return;
+    }
+    locked(
+        cassette,
+        () -> {
+          Path journal = journal(cassette);
+          if (Files.exists(journal)) {
+            write(cassette, read(cassette));
+            Files.delete(journal);
+          }
+        });
+  }
+
+  /**
+   * Runs the action holding the cassette's lock: a monitor per cassette within this JVM, and a lock
+   * on a sibling {@code .lock} file against other processes (e.g. test forks).
+   */
+  private static void locked(Path cassette, IOAction action) {
+    try {
+      Path parent = cassette.getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path lockFile = cassette.resolveSibling(cassette.getFileName() + ".lock");
+      // file locks are held per JVM, so writers within this JVM are serialized first
+      synchronized (LOCKS.computeIfAbsent(cassette, path -> new Object())) {
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.lock()) {
+          action.run();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write cassette " + cassette, e);
+    }
+  }
+
+  private interface IOAction {
+    void run() throws IOException;
+  }
+
+  private static void write(Path cassette, Map<String, Interaction> interactions) throws IOException {
+    Path tmp =
+        Files.createTempFile(cassette.toAbsolutePath().getParent(), cassette.getFileName().toString(), ".tmp");
+    try {
+      try (JsonGenerator generator = JSON.createGenerator(tmp.toFile(), JsonEncoding.UTF8)) {
+        generator.useDefaultPrettyPrinter();
+        generator.writeStartObject();
+        generator.writeNumberField("version", CASSETTE_VERSION);
+        generator.writeArrayFieldStart("interactions");
+        for (Interaction interaction : interactions.values()) {
+          writeInteraction(generator, interaction);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+      }
+      Files.move(tmp, cassette, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  private static void writeInteraction(JsonGenerator generator, Interaction interaction) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("promptHash", interaction.promptHash());
+    generator.writeNumberField("latencyMillis", interaction.latencyMillis());
+    generator.writeStringField("response", interaction.response());
+    generator.writeEndObject();
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected, Path cassette) {
+    if (actual != expected) {
+      throw new IllegalStateException("Malformed cassette " + cassette + ": expected " + expected + " but got " + actual);
+    }
+  }
+
+  private record Interaction(String promptHash, long latencyMillis, String response) {}
+
+  public static final class Builder {
+    private ChatModel delegate;
+    private Path cassette;
+    private Mode mode;
+
+    public Builder delegate(ChatModel delegate) {
+      this.delegate = delegate;
+      return this;
+    }
+
+    public Builder cassette(Path cassette) {
+      this.cassette = cassette;
+      return this;
+    }
+
+    public Builder mode(Mode mode) {
+      this.mode = mode;
+      return this;
+    }
+
+    public CassetteChatModel build() {
+      if (cassette == null) {
+        throw new IllegalArgumentException("cassette must not be null");
+      }
+      if (mode == null) {
+        String property = System.getProperty(MODE_PROPERTY);
+        mode = property == null ? Mode.RECORD_MISSING : parseMode(property);
+      }
+      if (delegate == null) {
+        // also needed in STRICT mode: its model and options are part of every key
+        throw new IllegalArgumentException("delegate must not be null");
+      }
+      return new CassetteChatModel(this);
+    }
+
+    /** Parses {@code strict}, {@code record-missing} or {@code re-record}, ignoring case and {@code -} vs {@code _}. */
+    static Mode parseMode(String value) {
+      String name = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+      try {
+        return Mode.valueOf(name);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "Unknown cassette mode '" + value + "' in -D" + MODE_PROPERTY + "; use strict, record-missing or re-record");
+      }
+    }
+  }
+}
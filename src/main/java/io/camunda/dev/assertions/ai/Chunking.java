@@ -0,0 +1,102 @@
+package io.camunda.dev.assertions.ai;
+
+/** How long actual texts are split before embedding, and how per-chunk scores are pooled.
+ *
+ * <p>Token counts are estimated as four characters per token. Texts that fit into one window are
+ * not split.
+ *
+ * <pre>{@code
+ * SemanticOptions.defaults().withChunking(Chunking.sentences(512, 1).pooling(Chunking.Pooling.MAX));
+ * }</pre>
+ */
+public final class Chunking {
+
+  public enum Strategy {
+    NONE,
+    /** Whole sentences packed into windows; overlap counts sentences. */
+    SENTENCES,
+    /** Word windows; overlap counts tokens. */
+    TOKENS
+  }
+
+  public enum Pooling {
+    /** The best matching chunk decides. */
+    MAX,
+    /** The mean over all chunks. */
+    MEAN,
+    /** The mean over the {@link #topK()} best chunks. */
+    TOP_K
+  }
+
+  private static final Chunking NONE = new Chunking(Strategy.NONE, 0, 0, Pooling.MAX, 1);
+
+  private final Strategy strategy;
+  private final int windowTokens;
+  private final int overlap;
+  private final Pooling pooling;
+  private final int topK;
+
+  private Chunking(Strategy strategy, int windowTokens, int overlap, Pooling pooling, int topK) {
+    this.strategy = strategy;
+    this.windowTokens = windowTokens;
+    this.overlap = overlap;
+    this.pooling = pooling;
+    this.topK = topK;
+  }
+
+  public static Chunking none() {
+    return NONE;
+  }
+
+  /**
+   * Packs whole sentences into windows of at most {@code windowTokens}, repeating {@code overlapSentences}.
+   * Sentences longer than a window are split into word windows.
+   */
+  public static Chunking sentences(int windowTokens, int overlapSentences) {
+    if (windowTokens < 1 || overlapSentences < 0) {
+      throw new IllegalArgumentException("windowTokens must be >= 1 and overlapSentences >= 0");
+    }
+    return new Chunking(Strategy.SENTENCES, windowTokens, overlapSentences, Pooling.MAX, 1);
+  }
+
+  /** Splits into word windows of at most {@code windowTokens}, overlapping by {@code overlapTokens}. */
+  public static Chunking tokens(int windowTokens, int overlapTokens) {
+    if (windowTokens < 1 || overlapTokens < 0 || overlapTokens >= windowTokens) {
+      throw new IllegalArgumentException("windowTokens must be >= 1 and 0 <= overlapTokens < windowTokens");
+    }
+    return new Chunking(Strategy.TOKENS, windowTokens, overlapTokens, Pooling.MAX, 1);
+  }
+
+  public Chunking pooling(Pooling pooling) {
+    return new Chunking(strategy, windowTokens, overlap, pooling, topK);
+  }
+
+  /** Pools with the mean of the {@code k} best chunks. */
+  public Chunking poolingTopK(int k) {
+    if (k < 1) {
+      throw new IllegalArgumentException("k must be >= 1");
+    }
+    return new Chunking(strategy, windowTokens, overlap, Pooling.TOP_K, k);
+  }
+
+  public Strategy strategy() {
+    return strategy;
+  }
+
+  public int windowTokens() {
+    return windowTokens;
+  }
+
+  /** Overlap between windows: sentences for {@link Strategy#SENTENCES}, tokens for {@link Strategy#TOKENS}. */
+  public int overlap() {
+    return overlap;
+  }
+
+  public Pooling pooling() {
+    return pooling;
+  }
+
+  public int topK() {
+    return topK;
+  }
+}
@@ -0,0 +1,51 @@
+package io.camunda.dev.assertions.ai;
+
+import io.camunda.dev.assertions.ai.internal.ContentHash;
+import io.camunda.dev.assertions.ai.internal.MappedEmbeddingStore;
+import java.nio.file.Path;
+
+/** Content-addressed embedding cache that survives JVM restarts.
+ *
+ * <p>Entries are keyed by model identity plus the normalized text and stored in a memory-mapped file.
+ * Once the file reaches its size limit, the least recently used entries are evicted. Register it via
+ * {@link CamundaAiAssertionDefaults.Builder#embeddingCache(EmbeddingCache)}.
+ */
+public final class EmbeddingCache implements AutoCloseable {
+
+  public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+  private final MappedEmbeddingStore store;
+
+  private EmbeddingCache(MappedEmbeddingStore store) {
+    this.store = store;
+  }
+
+  public static EmbeddingCache open(Path file) {
+    return open(file, DEFAULT_MAX_BYTES);
+  }
+
+  public static EmbeddingCache open(Path file, long maxBytes) {
+    if (file == null) {
+      throw new IllegalArgumentException("file must not be null");
+    }
+    return new EmbeddingCache(MappedEmbeddingStore.open(file, maxBytes));
+  }
+
+  /** Returns the cached vector or {@code null}. */
+  public float[] get(String modelId, String normalizedText) {
+    return store.get(ContentHash.sha256(modelId, normalizedText));
+  }
+
+  public void put(String modelId, String normalizedText, float[] vector) {
+    store.put(ContentHash.sha256(modelId, normalizedText), vector);
+  }
+
+  public int size() {
+    return store.size();
+  }
+
+  @Override
+  public void close() {
+    store.close();
+  }
+}
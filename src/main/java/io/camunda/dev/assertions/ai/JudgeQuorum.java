@@ -0,0 +1,98 @@
+package io.camunda.dev.assertions.ai;
+
+import io.camunda.dev.assertions.ai.SemanticTextAssert.JudgeResult;
+import io.camunda.dev.assertions.ai.internal.ModelExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import org.springframework.ai.chat.model.ChatModel;
+
+/** "K of N judges agree" voting with early termination.
+ *
+ * <p>Only as many calls are in flight as are needed to decide the vote (e.g. 3 for 3-of-5). More
+ * samples are requested only while the outcome is still open, and outstanding calls are cancelled
+ * as soon as it is decided.
+ */
+final class JudgeQuorum {
+
+  private JudgeQuorum() {}
+
+  /** A single judge sample; unparsable responses count as failing votes. */
+  record Vote(boolean pass, double score, String reason) {}
+
+  record Outcome(boolean passed, int passVotes, int failVotes, int samples, double score, String reason) {}
+
+  /** Sends the prompt to one judge and returns the raw response. */
+  @FunctionalInterface
+  interface JudgeCall {
+    String call(ChatModel judge, int sample);
+  }
+
+  /**
+   * @param judges the judge models; samples are assigned round-robin
+   * @param call sends the prompt to one judge, with the index of the sample, and returns the raw response
+   */
+  static Outcome decide(List<ChatModel> judges, int samples, int required, double minScore, JudgeCall call) {
+    int requiredFails = samples - required + 1;
+    CompletionService<Vote> votes = new ExecutorCompletionService<>(ModelExecutors.virtualThreads());
+    List<Future<Vote>> inFlight = new ArrayList<>();
+    List<Vote> passing = new ArrayList<>();
+    List<Vote> failing = new ArrayList<>();
+    int launched = 0;
+    try {
+      while (true) {
+        int outstanding = launched - passing.size() - failing.size();
+        int needed = Math.min(required - passing.size(), requiredFails - failing.size());
+        while (outstanding < needed && launched < samples) {
+          ChatModel judge = judges.get(launched % judges.size());
+          int sample = launched;
+          inFlight.add(votes.submit(() -> vote(call.call(judge, sample), minScore)));
+          launched++;
+          outstanding++;
+        }
+
+        Vote vote = takeVote(votes);
+        (vote.pass() ? passing : failing).add(vote);
+        if (passing.size() >= required) {
+          return outcome(true, passing, failing, samples);
+        }
+        if (failing.size() >= requiredFails) {
+          return outcome(false, passing, failing, samples);
+        }
+      }
+    } finally {
+      inFlight.forEach(f -> f.cancel(true));
+    }
+  }
+
+  private static Vote vote(String response, double minScore) {
+    JudgeResult result = JudgeResult.tryParse(response);
+    if (result == null) {
+      return new Vote(false, 0.0, "unparsable judge response: " + response);
+    }
+    return new Vote(result.pass && result.score >= minScore, result.score, result.reason);
+  }
+
+  private static Vote takeVote(CompletionService<Vote> votes) {
+    try {
+      return votes.take().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for judge votes", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Judge call failed", e.getCause());
+    }
+  }
+
+  private static Outcome outcome(boolean passed, List<Vote> passing, List<Vote> failing, int samples) {
+    List<Vote> winners = passed ? passing : failing;
+    double score = winners.stream().mapToDouble(Vote::score).average().orElse(0.0);
+    return new Outcome(passed, passing.size(), failing.size(), samples, score, winners.get(0).reason());
+  }
+}
@@ -0,0 +1,108 @@
+package io.camunda.dev.assertions.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.camunda.dev.assertions.ai.internal.TextChunker;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** One judge prompt with a criterion per JSON field, and the parser of its per-field verdicts. */
+final class JudgeRubric {
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private JudgeRubric() {}
+
+  record FieldVerdict(boolean pass, double score, String reason) {}
+
+  /** Per-field verdicts by JSON pointer, plus the judge's overall reason. */
+  record Verdict(Map<String, FieldVerdict> fields, String reason) {
+
+    /** Whether every returned field passed with at least {@code minScore}. */
+    boolean passes(double minScore) {
+      return fields.values().stream().allMatch(f -> f.pass() && f.score() >= minScore);
+    }
+  }
+
+  /**
+   * @param criteria criterion per JSON pointer
+   * @param values actual value per JSON pointer
+   * @param maxValueTokens token budget per value ({@code 0} = unlimited)
+   */
+  static String prompt(Map<String, String> criteria, Map<String, String> values, int maxValueTokens) {
+    StringBuilder prompt =
+        new StringBuilder(
+            "You are a strict test oracle. For every FIELD of a JSON document, decide if its VALUE satisfies its CRITERION.\n"
+                + "Return ONLY valid JSON of the form {\"fields\":{\"<field>\":{\"pass\":true|false,\"score\":0..1,\"reason\":\"...\"}},\"reason\":\"...\"} with one entry per FIELD.\n");
+    criteria.forEach(
+        (pointer, criterion) ->
+            prompt
+                .append("\nFIELD: ")
+                .append(pointer)
+                .append("\nCRITERION:\n")
+                .append(criterion)
+                .append("\nVALUE:\n")
+                .append(TextChunker.trimToTokens(values.get(pointer), maxValueTokens))
+                .append('\n'));
+    return prompt.toString();
+  }
+
+  /** Parses the judge response, or returns {@code null} if it contains no {@code fields} object. */
+  static Verdict tryParse(String response) {
+    if (response == null) {
+      return null;
+    }
+    int start = response.indexOf('{');
+    int end = response.lastIndexOf('}');
+    if (start < 0 || end < start) {
+      return null;
+    }
+    Map<String, FieldVerdict> fields = null;
+    String reason = "";
+    try (JsonParser parser = JSON.createParser(response.substring(start, end + 1))) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("fields".equals(name) && value == JsonToken.START_OBJECT) {
+          fields = readFields(parser);
+        } else if ("reason".equals(name)) {
+          reason = parser.getValueAsString("");
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      return null;
+    }
+    return fields == null ? null : new Verdict(fields, reason);
+  }
+
+  private static Map<String, FieldVerdict> readFields(JsonParser parser) throws IOException {
+    Map<String, FieldVerdict> fields = new LinkedHashMap<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String pointer = parser.currentName();
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
+      boolean pass = false;
+      double score = 0.0;
+      String reason = "";
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        switch (name) {
+          case "pass" -> pass = parser.getValueAsBoolean();
+          case "score" -> score = parser.getValueAsDouble();
+          case "reason" -> reason = parser.getValueAsString("");
+          default -> parser.skipChildren();
+        }
+      }
+      fields.put(pointer, new FieldVerdict(pass, score, reason));
+    }
+    return fields;
+  }
+}
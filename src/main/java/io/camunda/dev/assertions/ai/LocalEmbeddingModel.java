@@ -0,0 +1,235 @@
+package io.camunda.dev.assertions.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/** In-process {@link EmbeddingModel} for fast, offline test tiers.
+ *
+ * <p>Texts are embedded as feature-hashed character n-grams (per word, with boundary markers) plus
+ * word unigrams, weighted by sublinear term frequency and, optionally, inverse document frequency
+ * learned from a reference corpus. Vectors are L2-normalized and fully deterministic. The model
+ * captures lexical, not deep semantic similarity: paraphrases that share words or word stems score
+ * high, synonyms without shared characters do not.
+ *
+ * <pre>{@code
+ * CamundaAiAssertions.configureDefaults(
+ *     CamundaAiAssertionDefaults.builder().localEmbeddingModel().build());
+ * }</pre>
+ */
+public final class LocalEmbeddingModel implements EmbeddingModel {
+
+  public static final int DEFAULT_DIMENSIONS = 1024;
+
+  private static final int FNV_OFFSET = 0x811c9dc5;
+  private static final int FNV_PRIME = 0x01000193;
+  private static final int WORD_SEED = 0x5bd1e995;
+
+  private final int dimensions;
+  private final int minNgram;
+  private final int maxNgram;
+  private final float wordWeight;
+  /** Per hash bucket; {@code null} without an IDF corpus. */
+  private final float[] idf;
+
+  private LocalEmbeddingModel(Builder builder) {
+    this.dimensions = builder.dimensions;
+    this.minNgram = builder.minNgram;
+    this.maxNgram = builder.maxNgram;
+    this.wordWeight = builder.wordWeight;
+    this.idf = builder.idfCorpus == null ? null : learnIdf(builder.idfCorpus);
+  }
+
+  /** A model with the default settings and without IDF weighting. */
+  public static LocalEmbeddingModel create() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Identity for embedding cache keys; changes with every setting that changes the vectors. */
+  public String id() {
+    return "local/hashed-ngrams-v1-d" + dimensions + "-n" + minNgram + "-" + maxNgram + "-w" + wordWeight
+        + (idf == null ? "" : "-idf" + Integer.toHexString(Arrays.hashCode(idf)));
+  }
+
+  @Override
+  public EmbeddingResponse call(EmbeddingRequest request) {
+    List<String> texts = request.getInstructions();
+    List<Embedding> embeddings = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      embeddings.add(new Embedding(embed(texts.get(i)), i));
+    }
+    return new EmbeddingResponse(embeddings);
+  }
+
+  @Override
+  public float[] embed(Document document) {
+    return embed(document.getText());
+  }
+
+  @Override
+  public float[] embed(String text) {
+    float[] counts = new float[dimensions];
+    forEachFeature(text, (bucket, sign, weight) -> counts[bucket] += sign * weight);
+
+    double norm = 0.0;
+    for (int i = 0; i < dimensions; i++) {
+      float c = counts[i];
+      if (c != 0f) {
+        // sublinear term frequency, keeping the sign of the hashed feature
+        float w = (float) Math.copySign(1.0 + Math.log(Math.abs(c)), c);
+        if (idf != null) {
+          w *= idf[i];
+        }
+        counts[i] = w;
+        norm += (double) w * w;
+      }
+    }
+    if (norm > 0.0) {
+      float inv = (float) (1.0 / Math.sqrt(norm));
+      for (int i = 0; i < dimensions; i++) {
+        counts[i] *= inv;
+      }
+    }
+    return counts;
+  }
+
+  @Override
+  public int dimensions() {
+    return dimensions;
+  }
+
+  private float[] learnIdf(Collection<String> corpus) {
+    int[] documentFrequency = new int[dimensions];
+    boolean[] seen = new boolean[dimensions];
+    for (String document : corpus) {
+      Arrays.fill(seen, false);
+      forEachFeature(document, (bucket, sign, weight) -> seen[bucket] = true);
+      for (int i = 0; i < dimensions; i++) {
+        if (seen[i]) {
+          documentFrequency[i]++;
+        }
+      }
+    }
+    float[] weights = new float[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      // smoothed idf, always > 0
+      weights[i] = (float) (Math.log((1.0 + corpus.size()) / (1.0 + documentFrequency[i])) + 1.0);
+    }
+    return weights;
+  }
+
+  private interface FeatureSink {
+    void accept(int bucket, float sign, float weight);
+  }
+
+  /** Emits the hashed n-grams of {@code <word>} and the word itself for every word of the text. */
+  private void forEachFeature(String text, FeatureSink sink) {
+    if (text == null) {
+      return;
+    }
+    String lower = text.toLowerCase(Locale.ROOT);
+    int length = lower.length();
+    int start = -1;
+    for (int i = 0; i <= length; i++) {
+      boolean wordChar = i < length && Character.isLetterOrDigit(lower.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        emitWord(lower, start, i, sink);
+        start = -1;
+      }
+    }
+  }
+
+  private void emitWord(String text, int from, int to, FeatureSink sink) {
+    // the padded word "<word>" has to - from + 2 characters; position p maps to '<', text or '>'
+    int padded = to - from + 2;
+    for (int p = 0; p < padded; p++) {
+      int hash = FNV_OFFSET;
+      for (int n = 1; n <= maxNgram && p + n <= padded; n++) {
+        hash = (hash ^ paddedChar(text, from, to, p + n - 1)) * FNV_PRIME;
+        if (n >= minNgram) {
+          emit(hash * 31 + n, 1f, sink);
+        }
+      }
+    }
+    int wordHash = WORD_SEED;
+    for (int i = from; i < to; i++) {
+      wordHash = (wordHash ^ text.charAt(i)) * FNV_PRIME;
+    }
+    emit(wordHash, wordWeight, sink);
+  }
+
+  private static char paddedChar(String text, int from, int to, int p) {
+    if (p == 0) {
+      return '<';
+    }
+    int i = from + p - 1;
+    return i < to ? text.charAt(i) : '>';
+  }
+
+  private void emit(int hash, float weight, FeatureSink sink) {
+    int mixed = hash ^ (hash >>> 16);
+    mixed *= 0x85ebca6b;
+    mixed ^= mixed >>> 13;
+    int bucket = Math.floorMod(mixed, dimensions);
+    float sign = (mixed & 0x40000000) == 0 ? 1f : -1f;
+    sink.accept(bucket, sign, weight);
+  }
+
+  public static final class Builder {
+    private int dimensions = DEFAULT_DIMENSIONS;
+    private int minNgram = 3;
+    private int maxNgram = 5;
+    private float wordWeight = 2f;
+    private Collection<String> idfCorpus;
+
+    public Builder dimensions(int dimensions) {
+      this.dimensions = dimensions;
+      return this;
+    }
+
+    /** Character n-gram lengths, including the word boundary markers. */
+    public Builder ngrams(int min, int max) {
+      this.minNgram = min;
+      this.maxNgram = max;
+      return this;
+    }
+
+    /** Weight of a whole-word feature relative to one character n-gram. */
+    public Builder wordWeight(float wordWeight) {
+      this.wordWeight = wordWeight;
+      return this;
+    }
+
+    /** Learns inverse document frequencies from these texts, e.g. the expected answers of the suite. */
+    public Builder idfCorpus(Collection<String> idfCorpus) {
+      this.idfCorpus = idfCorpus == null ? null : List.copyOf(idfCorpus);
+      return this;
+    }
+
+    public LocalEmbeddingModel build() {
+      if (dimensions < 1) {
+        throw new IllegalArgumentException("dimensions must be >= 1");
+      }
+      if (minNgram < 1 || maxNgram < minNgram) {
+        throw new IllegalArgumentException("ngrams must satisfy 1 <= min <= max");
+      }
+      if (wordWeight < 0f) {
+        throw new IllegalArgumentException("wordWeight must be >= 0");
+      }
+      return new LocalEmbeddingModel(this);
+    }
+  }
+}
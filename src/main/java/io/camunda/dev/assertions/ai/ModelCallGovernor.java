@@ -0,0 +1,197 @@
+package io.camunda.dev.assertions.ai;
+
+import io.camunda.dev.assertions.ai.internal.TextChunker;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/** Coordinates model calls of all assertions in the JVM so that parallel tests do not get throttled.
+ *
+ * <p>Each call first takes an in-flight permit of its model, then reserves its share of the request
+ * and token buckets. Both are fair (first come, first served): reservations are handed out in
+ * arrival order under a short lock, and each caller then sleeps until its reservation is due without
+ * holding the lock. Register it via
+ * {@link CamundaAiAssertionDefaults.Builder#governor(ModelCallGovernor)}.
+ *
+ * <pre>{@code
+ * ModelCallGovernor governor = ModelCallGovernor.builder()
+ *     .requestsPerSecond(5)
+ *     .tokensPerSecond(20_000)
+ *     .maxInFlightPerModel(4)
+ *     .build();
+ * }</pre>
+ */
+public final class ModelCallGovernor {
+
+  private final double requestsPerSecond;
+  private final double tokensPerSecond;
+  private final int maxInFlightPerModel;
+
+  private final Map<Object, Semaphore> inFlight = new ConcurrentHashMap<>();
+  private final ReentrantLock queue = new ReentrantLock(true);
+  private final Bucket requestBucket;
+  private final Bucket tokenBucket;
+
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong waiting = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  private ModelCallGovernor(Builder builder) {
+    this.requestsPerSecond = builder.requestsPerSecond;
+    this.tokensPerSecond = builder.tokensPerSecond;
+    this.maxInFlightPerModel = builder.maxInFlightPerModel;
+    this.requestBucket = requestsPerSecond > 0 ? new Bucket(requestsPerSecond) : null;
+    this.tokenBucket = tokensPerSecond > 0 ? new Bucket(tokensPerSecond) : null;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Runs the call once the model has a free in-flight slot and the rate limits allow it.
+   *
+   * @param model the model instance; in-flight limits apply per instance
+   * @param estimatedTokens tokens charged to the token bucket, e.g. {@link #estimateTokens(String)}
+   */
+  public <T> T call(Object model, long estimatedTokens, Supplier<T> call) {
+    Semaphore permits = inFlight.computeIfAbsent(model, m -> new Semaphore(maxInFlightPerModel, true));
+    long start = System.nanoTime();
+    waiting.incrementAndGet();
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      waiting.decrementAndGet();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a model call slot", e);
+    }
+    try {
+      awaitBuckets(estimatedTokens);
+      recordWait(System.nanoTime() - start);
+      return call.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** Rough token estimate for rate limiting (about four characters per token). */
+  public static long estimateTokens(String text) {
+    return TextChunker.estimateTokens(text);
+  }
+
+  public Stats stats() {
+    long count = calls.get();
+    return new Stats(
+        count,
+        waiting.get(),
+        Duration.ofNanos(count == 0 ? 0 : totalWaitNanos.get() / count),
+        Duration.ofNanos(maxWaitNanos.get()),
+        Duration.ofNanos(totalWaitNanos.get()));
+  }
+
+  private void awaitBuckets(long estimatedTokens) {
+    if (requestBucket == null && tokenBucket == null) {
+      return;
+    }
+    long delayNanos = 0;
+    queue.lock(); // fair: reservations are made in arrival order
+    try {
+      long now = System.nanoTime();
+      if (requestBucket != null) {
+        delayNanos = requestBucket.reserve(1, now);
+      }
+      if (tokenBucket != null) {
+        delayNanos = Math.max(delayNanos, tokenBucket.reserve(estimatedTokens, now));
+      }
+    } finally {
+      queue.unlock();
+    }
+    if (delayNanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(delayNanos);
+    } catch (InterruptedException e) {
+      waiting.decrementAndGet();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the model rate limit", e);
+    }
+  }
+
+  private void recordWait(long nanos) {
+    waiting.decrementAndGet();
+    calls.incrementAndGet();
+    totalWaitNanos.addAndGet(nanos);
+    maxWaitNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /** Queue statistics: calls admitted, callers currently waiting, and wait times before admission. */
+  public record Stats(long calls, long waiting, Duration meanWait, Duration maxWait, Duration totalWait) {}
+
+  /**
+   * Token bucket refilled continuously at {@code ratePerSecond}, holding at most one second of burst.
+   * Reservations may overdraw it; the debt is paid back by the refill before the next one is due.
+   */
+  private static final class Bucket {
+    private final double ratePerNano;
+    private final double capacity;
+    private double available;
+    private long lastRefill;
+
+    Bucket(double ratePerSecond) {
+      this.ratePerNano = ratePerSecond / 1_000_000_000d;
+      this.capacity = Math.max(1.0, ratePerSecond);
+      this.available = capacity;
+      this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes {@code amount} and returns how long the caller has to wait until it is covered; larger
+     * amounts than the capacity drain the bucket.
+     */
+    long reserve(double amount, long now) {
+      available = Math.min(capacity, available + (now - lastRefill) * ratePerNano);
+      lastRefill = now;
+      available -= Math.min(amount, capacity);
+      return available >= 0 ? 0 : (long) Math.ceil(-available / ratePerNano);
+    }
+  }
+
+  public static final class Builder {
+    private double requestsPerSecond = 0;
+    private double tokensPerSecond = 0;
+    private int maxInFlightPerModel = Integer.MAX_VALUE;
+
+    /** Maximum request rate across all models; {@code 0} means unlimited. */
+    public Builder requestsPerSecond(double requestsPerSecond) {
+      this.requestsPerSecond = requestsPerSecond;
+      return this;
+    }
+
+    /** Maximum (estimated) token rate across all models; {@code 0} means unlimited. */
+    public Builder tokensPerSecond(double tokensPerSecond) {
+      this.tokensPerSecond = tokensPerSecond;
+      return this;
+    }
+
+    public Builder maxInFlightPerModel(int maxInFlightPerModel) {
+      this.maxInFlightPerModel = maxInFlightPerModel;
+      return this;
+    }
+
+    public ModelCallGovernor build() {
+      if (requestsPerSecond < 0 || tokensPerSecond < 0) {
+        throw new IllegalArgumentException("rates must be >= 0");
+      }
+      if (maxInFlightPerModel < 1) {
+        throw new IllegalArgumentException("maxInFlightPerModel must be >= 1");
+      }
+      return new ModelCallGovernor(this);
+    }
+  }
+}
@@ -0,0 +1,351 @@
+package io.camunda.dev.assertions.ai;
+
+import io.camunda.dev.assertions.ai.internal.AssertionMetrics;
+import io.camunda.dev.assertions.ai.internal.BinaryVectors;
+import io.camunda.dev.assertions.ai.internal.CosineSimilarity;
+import io.camunda.dev.assertions.ai.internal.EmbeddingClient;
+import io.camunda.dev.assertions.ai.internal.Int8Vectors;
+import io.camunda.dev.assertions.ai.internal.MappedFloatRows;
+import io.camunda.dev.assertions.ai.internal.TextNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+/** A set of acceptable reference answers, embedded once and kept in memory.
+ *
+ * <p>The normalized vectors are stored row-major in one contiguous {@code float[]}, so top-k and
+ * max-similarity queries are answered in a single scan. Large corpora can be kept
+ * {@linkplain Builder#quantization(Quantization) quantized} instead; their float vectors are then
+ * kept off the heap, in a memory-mapped temporary file owned by the corpus, for exact rescoring. Use
+ * it with {@link SemanticTextAssert#isSemanticallySimilarToAnyOf(ReferenceCorpus)} to check many
+ * outputs against the same references without re-embedding them.
+ */
+public final class ReferenceCorpus {
+
+  /** How the reference vectors are kept in memory. */
+  public enum Quantization {
+    /** Full float vectors. */
+    NONE,
+    /**
+     * One byte per component (about 4x smaller), scored in integer arithmetic. References whose
+     * approximate score is within the quantization error of the threshold are rescored exactly, so
+     * pass/fail outcomes are the same as with {@link #NONE} under {@link Chunking.Pooling#MAX}.
+     */
+    INT8,
+    /**
+     * One bit per component (32x smaller). The closest references by Hamming distance are rescored
+     * exactly; a reference outside that preselection may be missed.
+     */
+    BINARY
+  }
+
+  /** Minimum number of Hamming-preselected references rescored per query with {@link Quantization#BINARY}. */
+  static final int BINARY_CANDIDATES = 64;
+
+  private final List<String> references;
+  /** Reference index by normalized text, for exact matches that need no model call. */
+  private final Map<String, Integer> byNormalizedText;
+  private final Quantization quantization;
+  private final float[] matrix;
+  private final Int8Vectors int8;
+  private final BinaryVectors binary;
+  /** The exact vectors rescored by quantized corpora, {@code null} without quantization. */
+  private final MappedFloatRows exactRows;
+  private final int dimensions;
+  private final EmbeddingClient embeddingClient;
+  private final SemanticOptions options;
+
+  ReferenceCorpus(
+      List<String> references, List<float[]> vectors, EmbeddingClient embeddingClient, SemanticOptions options) {
+    this(references, vectors, embeddingClient, options, Quantization.NONE);
+  }
+
+  ReferenceCorpus(
+      List<String> references,
+      List<float[]> vectors,
+      EmbeddingClient embeddingClient,
+      SemanticOptions options,
+      Quantization quantization) {
+    if (references.isEmpty()) {
+      throw new IllegalArgumentException("references must not be empty");
+    }
+    this.references = List.copyOf(references);
+    this.quantization = quantization;
+    this.dimensions = vectors.get(0).length;
+    List<float[]> normalized = new ArrayList<>(vectors.size());
+    for (float[] vector : vectors) {
+      if (vector.length != dimensions) {
+        throw new IllegalArgumentException(
+            "vector dimensions differ: " + dimensions + " vs " + vector.length);
+      }
+      normalized.add(CosineSimilarity.normalize(vector));
+    }
+    this.matrix = quantization == Quantization.NONE ? toMatrix(normalized) : null;
+    this.int8 = quantization == Quantization.INT8 ? Int8Vectors.quantize(normalized) : null;
+    this.binary = quantization == Quantization.BINARY ? BinaryVectors.of(normalized) : null;
+    this.exactRows = quantization == Quantization.NONE ? null : MappedFloatRows.of(normalized);
+    this.embeddingClient = embeddingClient;
+    this.options = options;
+    this.byNormalizedText = new HashMap<>(this.references.size() * 2);
+    for (int r = 0; r < this.references.size(); r++) {
+      byNormalizedText.putIfAbsent(TextNormalizer.normalize(this.references.get(r), options), r);
+    }
+  }
+
+  private static float[] toMatrix(List<float[]> normalized) {
+    int dimensions = normalized.get(0).length;
+    float[] matrix = new float[normalized.size() * dimensions];
+    for (int r = 0; r < normalized.size(); r++) {
+      System.arraycopy(normalized.get(r), 0, matrix, r * dimensions, dimensions);
+    }
+    return matrix;
+  }
+
+  /** Embeds the references with the global defaults of {@link CamundaAiAssertions}. */
+  public static ReferenceCorpus of(Collection<String> references) {
+    CamundaAiAssertionDefaults defaults = CamundaAiAssertions.defaults();
+    return builder()
+        .embeddingModel(defaults.embeddingModel())
+        .embeddingModelId(defaults.embeddingModelId())
+        .embeddingCache(defaults.embeddingCache())
+        .governor(defaults.governor())
+        .meterRegistry(defaults.meterRegistry())
+        .options(defaults.options())
+        .references(references)
+        .build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int size() {
+    return references.size();
+  }
+
+  public List<String> references() {
+    return references;
+  }
+
+  public Quantization quantization() {
+    return quantization;
+  }
+
+  /**
+   * Heap bytes held by the reference vectors. Quantized corpora additionally map
+   * {@code 4 * dimensions} bytes per reference from a temporary file to rescore candidates.
+   */
+  public long vectorBytes() {
+    return switch (quantization) {
+      case NONE -> 4L * matrix.length;
+      case INT8 -> int8.bytes();
+      case BINARY -> binary.bytes();
+    };
+  }
+
+  /** Returns the reference most similar to the given text. */
+  public Match bestMatch(String text) {
+    return topK(text, 1).get(0);
+  }
+
+  /** Returns the {@code k} references most similar to the given text, best first. */
+  public List<Match> topK(String text, int k) {
+    return topK(embeddingClient.embed(TextNormalizer.normalize(text, options), "corpus"), k);
+  }
+
+  EmbeddingClient embeddingClient() {
+    return embeddingClient;
+  }
+
+  SemanticOptions options() {
+    return options;
+  }
+
+  /** The first reference equal to {@code normalizedText} after normalization with the corpus options, or {@code null}. */
+  String referenceEqualTo(String normalizedText) {
+    Integer r = byNormalizedText.get(normalizedText);
+    return r == null ? null : references.get(r);
+  }
+
+  List<Match> topK(float[] query, int k) {
+    return topK(query, k, options.embeddingThreshold());
+  }
+
+  /**
+   * Returns the {@code k} best matches. With quantization, scores are exact for references that are
+   * close to {@code threshold} and approximate (but on the same side of it) for all others.
+   */
+  List<Match> topK(float[] query, int k, double threshold) {
+    if (k < 1) {
+      throw new IllegalArgumentException("k must be >= 1");
+    }
+    if (query.length != dimensions) {
+      throw new IllegalArgumentException("vector dimensions differ: " + dimensions + " vs " + query.length);
+    }
+    float[] normalizedQuery = CosineSimilarity.normalize(query);
+    return switch (quantization) {
+      case NONE -> select(CosineSimilarity.cosineAll(normalizedQuery, matrix, references.size(), true), null, k);
+      case INT8 -> select(int8Scores(normalizedQuery, threshold), null, k);
+      case BINARY -> {
+        int[] candidates =
+            binary.nearest(BinaryVectors.of(List.of(normalizedQuery)), Math.max(k * 8, BINARY_CANDIDATES));
+        double[] scores = new double[references.size()];
+        double[] exact = exactScores(candidates, normalizedQuery);
+        for (int i = 0; i < candidates.length; i++) {
+          scores[candidates[i]] = exact[i];
+        }
+        yield select(scores, candidates, k);
+      }
+    };
+  }
+
+  private double[] int8Scores(float[] normalizedQuery, double threshold) {
+    Int8Vectors q = Int8Vectors.quantize(List.of(normalizedQuery));
+    double[] scores = int8.dotAll(q);
+    int[] nearThreshold = new int[scores.length];
+    int count = 0;
+    for (int r = 0; r < scores.length; r++) {
+      if (Math.abs(scores[r] - threshold) <= int8.errorBound(r, q)) {
+        nearThreshold[count++] = r;
+      }
+    }
+    if (count > 0) {
+      int[] rows = Arrays.copyOf(nearThreshold, count);
+      double[] exact = exactScores(rows, normalizedQuery);
+      for (int i = 0; i < rows.length; i++) {
+        scores[rows[i]] = exact[i];
+      }
+    }
+    return scores;
+  }
+
+  /** Float cosine of the given rows, read from the mapped exact vectors. */
+  private double[] exactScores(int[] rows, float[] normalizedQuery) {
+    double[] scores = new double[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      scores[i] = CosineSimilarity.dot(normalizedQuery, exactRows.row(rows[i]));
+    }
+    return scores;
+  }
+
+  /** Top {@code k} of {@code scores}, restricted to {@code rows} unless that is {@code null}. */
+  private List<Match> select(double[] scores, int[] rows, int k) {
+    // min-heap of the best k rows seen so far
+    PriorityQueue<Integer> best = new PriorityQueue<>(k + 1, (x, y) -> Double.compare(scores[x], scores[y]));
+    int n = rows == null ? scores.length : rows.length;
+    for (int i = 0; i < n; i++) {
+      int r = rows == null ? i : rows[i];
+      if (best.size() < k) {
+        best.add(r);
+      } else if (scores[r] > scores[best.peek()]) {
+        best.poll();
+        best.add(r);
+      }
+    }
+    List<Match> matches = new ArrayList<>(best.size());
+    while (!best.isEmpty()) {
+      int r = best.poll();
+      matches.add(0, new Match(references.get(r), r, scores[r]));
+    }
+    return matches;
+  }
+
+  /** A reference and its cosine similarity to the queried text. */
+  public record Match(String reference, int index, double similarity) {}
+
+  public static final class Builder {
+    private EmbeddingModel embeddingModel;
+    private String embeddingModelId;
+    private EmbeddingCache embeddingCache;
+    private SemanticOptions options;
+    private ModelCallGovernor governor;
+    private MeterRegistry meterRegistry;
+    private Quantization quantization = Quantization.NONE;
+    private Collection<String> references;
+
+    public Builder embeddingModel(EmbeddingModel embeddingModel) {
+      this.embeddingModel = embeddingModel;
+      return this;
+    }
+
+    public Builder embeddingModelId(String embeddingModelId) {
+      this.embeddingModelId = embeddingModelId;
+      return this;
+    }
+
+    public Builder embeddingCache(EmbeddingCache embeddingCache) {
+      this.embeddingCache = embeddingCache;
+      return this;
+    }
+
+    public Builder options(SemanticOptions options) {
+      this.options = options;
+      return this;
+    }
+
+    public Builder governor(ModelCallGovernor governor) {
+      this.governor = governor;
+      return this;
+    }
+
+    public Builder meterRegistry(MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+      return this;
+    }
+
+    /**
+     * Stores the vectors quantized. The float vectors are kept in a memory-mapped temporary file for
+     * rescoring, so the references are never re-embedded. The options must pool with
+     * {@link Chunking.Pooling#MAX}.
+     */
+    public Builder quantization(Quantization quantization) {
+      this.quantization = quantization;
+      return this;
+    }
+
+    public Builder references(Collection<String> references) {
+      this.references = references;
+      return this;
+    }
+
+    /** Embeds all references (in batched calls) and builds the corpus. */
+    public ReferenceCorpus build() {
+      if (embeddingModel == null) {
+        throw new IllegalArgumentException("embeddingModel must not be null");
+      }
+      if (references == null || references.isEmpty()) {
+        throw new IllegalArgumentException("references must not be empty");
+      }
+      if (embeddingCache != null && embeddingModelId == null && !(embeddingModel instanceof LocalEmbeddingModel)) {
+        throw new IllegalArgumentException(
+            "embeddingModelId is required to cache the vectors of " + embeddingModel.getClass().getSimpleName());
+      }
+      if (quantization == null) {
+        throw new IllegalArgumentException("quantization must not be null");
+      }
+      SemanticOptions resolvedOptions = options == null ? SemanticOptions.defaults() : options;
+      if (quantization != Quantization.NONE && resolvedOptions.chunking().pooling() != Chunking.Pooling.MAX) {
+        // approximate scores are only guaranteed to be on the right side of the threshold
+        throw new IllegalArgumentException(
+            quantization + " quantization requires MAX pooling, not " + resolvedOptions.chunking().pooling());
+      }
+      EmbeddingClient client =
+          new EmbeddingClient(
+              embeddingModel,
+              embeddingModelId,
+              embeddingCache,
+              resolvedOptions.embeddingBatchSize(),
+              governor,
+              new AssertionMetrics(meterRegistry == null ? AssertionMetrics.builtInRegistry() : meterRegistry));
+      List<String> texts = new ArrayList<>(references);
+      List<String> normalized = texts.stream().map(t -> TextNormalizer.normalize(t, resolvedOptions)).toList();
+      return new ReferenceCorpus(texts, client.embedAll(normalized, "corpus"), client, resolvedOptions, quantization);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package io.camunda.dev.assertions.ai;
+
+import io.camunda.dev.assertions.ai.internal.AssertionErrors;
+import io.camunda.dev.assertions.ai.internal.EmbeddingClient;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/** Collects embeddings-based assertions and resolves them in as few batched model calls as possible.
+ *
+ * <pre>{@code
+ * try (SemanticBatch batch = CamundaAiAssertions.batch()) {
+ *   batch.assertThat(actual1).isSemanticallySimilarTo(expected1);
+ *   batch.assertThatJson(json).matchesDescription(description);
+ * } // embeds all texts, evaluates all assertions and reports all failures at once
+ * }</pre>
+ *
+ * <p>Judge-based assertions are not deferred and run immediately.
+ */
+public final class SemanticBatch implements AutoCloseable {
+
+  private final CamundaAiAssertionDefaults defaults;
+  private final List<Pending> pending = new ArrayList<>();
+
+  SemanticBatch(CamundaAiAssertionDefaults defaults) {
+    this.defaults = defaults;
+  }
+
+  public SemanticTextAssert assertThat(String actualText) {
+    return new SemanticTextAssert(actualText, defaults).inBatch(this);
+  }
+
+  public SemanticJsonAssert assertThatJson(String actualJson) {
+    return new SemanticJsonAssert(actualJson, defaults).inBatch(this);
+  }
+
+  synchronized void defer(EmbeddingClient client, List<String> texts, Consumer<List<float[]>> evaluation) {
+    pending.add(new Pending(client, texts, evaluation));
+  }
+
+  /**
+   * Embeds all pending texts (one batched call per model) and evaluates the deferred assertions. If
+   * the call for one model fails, its assertions fail with that cause and the others are still
+   * evaluated.
+   */
+  public void verify() {
+    List<Pending> work;
+    synchronized (this) {
+      work = new ArrayList<>(pending);
+      pending.clear();
+    }
+
+    Map<EmbeddingClient, List<Pending>> byClient = new LinkedHashMap<>();
+    for (Pending p : work) {
+      byClient.computeIfAbsent(p.client, c -> new ArrayList<>()).add(p);
+    }
+
+    List<AssertionError> failures = new ArrayList<>();
+    for (Map.Entry<EmbeddingClient, List<Pending>> group : byClient.entrySet()) {
+      List<String> texts = new ArrayList<>();
+      group.getValue().forEach(p -> texts.addAll(p.texts));
+      List<float[]> vectors;
+      try {
+        vectors = group.getKey().embedAll(texts, "batch");
+      } catch (RuntimeException e) {
+        // the other models' assertions are still evaluated; this model's fail with the cause
+        for (Pending p : group.getValue()) {
+          failures.add(
+              new AssertionError(
+                  String.format(
+                      "Embedding the texts of a deferred semantic assertion with model '%s' failed: %s",
+                      group.getKey().modelName(), e),
+                  e));
+        }
+        continue;
+      }
+
+      int offset = 0;
+      for (Pending p : group.getValue()) {
+        List<float[]> own = vectors.subList(offset, offset + p.texts.size());
+        offset += p.texts.size();
+        try {
+          p.evaluation.accept(own);
+        } catch (AssertionError e) {
+          failures.add(e);
+        }
+      }
+    }
+
+    AssertionErrors.throwIfAny(failures, work.size());
+  }
+
+  @Override
+  public void close() {
+    verify();
+  }
+
+  private record Pending(EmbeddingClient client, List<String> texts, Consumer<List<float[]>> evaluation) {}
+}
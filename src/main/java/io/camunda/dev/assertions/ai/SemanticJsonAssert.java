@@ -1,6 +1,11 @@
 package io.camunda.dev.assertions.ai;
 
 import io.camunda.dev.assertions.ai.internal.JsonCanonicalizer;
+import io.camunda.dev.assertions.ai.internal.JsonFields;
+import io.camunda.dev.assertions.ai.internal.TestIds;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import org.assertj.core.api.AbstractAssert;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.embedding.EmbeddingModel;
@@ -8,25 +13,51 @@ import org.springframework.ai.embedding.EmbeddingModel;
 public final class SemanticJsonAssert extends AbstractAssert<SemanticJsonAssert, String> {
 
   private final CamundaAiAssertionDefaults defaults;
+  private final String testId;
   private EmbeddingModel embeddingModel;
+  private String embeddingModelId;
   private ChatModel judgeModel;
+  private ChatModel[] judgeModels;
   private SemanticOptions options;
+  private SemanticBatch batch;
+  private volatile SemanticResult result;
 
   SemanticJsonAssert(String actual, CamundaAiAssertionDefaults defaults) {
+    this(actual, defaults, TestIds.current());
+  }
+
+  /** See {@link SemanticTextAssert#SemanticTextAssert(String, CamundaAiAssertionDefaults, String)}. */
+  SemanticJsonAssert(String actual, CamundaAiAssertionDefaults defaults, String testId) {
     super(actual, SemanticJsonAssert.class);
     this.defaults = defaults;
+    this.testId = testId;
     this.embeddingModel = defaults.embeddingModel();
+    this.embeddingModelId = defaults.embeddingModelId();
     this.judgeModel = defaults.judgeModel();
     this.options = defaults.options();
   }
 
   public SemanticJsonAssert usingEmbeddingModel(EmbeddingModel embeddingModel) {
+    return usingEmbeddingModel(embeddingModel, null);
+  }
+
+  /** See {@link SemanticTextAssert#usingEmbeddingModel(EmbeddingModel, String)}. */
+  public SemanticJsonAssert usingEmbeddingModel(EmbeddingModel embeddingModel, String modelId) {
     this.embeddingModel = embeddingModel;
+    this.embeddingModelId = modelId;
     return this;
   }
 
   public SemanticJsonAssert usingJudgeModel(ChatModel judgeModel) {
     this.judgeModel = judgeModel;
+    this.judgeModels = null;
+    return this;
+  }
+
+  /** Uses several judges; see {@link SemanticTextAssert#usingJudgeModels(ChatModel...)}. */
+  public SemanticJsonAssert usingJudgeModels(ChatModel... judgeModels) {
+    this.judgeModels = judgeModels.length == 0 ? null : judgeModels.clone();
+    this.judgeModel = judgeModels.length == 0 ? null : judgeModels[0];
     return this;
   }
 
@@ -35,16 +66,32 @@ public final class SemanticJsonAssert extends AbstractAssert<SemanticJsonAssert,
     return this;
   }
 
+  SemanticJsonAssert inBatch(SemanticBatch batch) {
+    this.batch = batch;
+    return this;
+  }
+
+  /** The result of the last evaluated assertion, or {@code null} if none was evaluated (yet). */
+  public SemanticResult result() {
+    return result;
+  }
+
   public SemanticJsonAssert matchesDescription(String freeformDescription) {
     isNotNull();
     if (embeddingModel == null) {
       failWithMessage("EmbeddingModel is required for embeddings-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingEmbeddingModel(...)");
     }
     String canonical = JsonCanonicalizer.canonicalize(actual);
-    new SemanticTextAssert(canonical, defaults)
-        .usingEmbeddingModel(embeddingModel)
-        .usingOptions(options)
-        .isSemanticallySimilarTo(freeformDescription);
+    SemanticTextAssert delegate =
+        new SemanticTextAssert(canonical, defaults, testId)
+            .inBatch(batch)
+            .usingEmbeddingModel(embeddingModel, embeddingModelId)
+            .usingOptions(options);
+    try {
+      delegate.isSemanticallySimilarTo(freeformDescription);
+    } finally {
+      result = delegate.result();
+    }
     return this;
   }
 
@@ -54,10 +101,85 @@ public final class SemanticJsonAssert extends AbstractAssert<SemanticJsonAssert,
       failWithMessage("ChatModel is required for judge-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingJudgeModel(...)");
     }
     String canonical = JsonCanonicalizer.canonicalize(actual);
-    new SemanticTextAssert(canonical, defaults)
-        .usingJudgeModel(judgeModel)
-        .usingOptions(options)
-        .matchesExpectationWithJudge(expectation);
+    SemanticTextAssert delegate =
+        new SemanticTextAssert(canonical, defaults, testId).usingJudgeModel(judgeModel).usingOptions(options);
+    if (judgeModels != null) {
+      delegate.usingJudgeModels(judgeModels);
+    }
+    try {
+      delegate.matchesExpectationWithJudge(expectation);
+    } finally {
+      result = delegate.result();
+    }
     return this;
   }
+
+  /**
+   * Asserts that the value at each JSON pointer is semantically similar to its expected text.
+   * String values are compared as-is, objects and arrays as canonical JSON. All fields of the
+   * document are embedded in one batched call.
+   *
+   * <pre>{@code
+   * assertThatJson(json).hasFieldsSemanticallySimilarTo(Map.of(
+   *     "/summary", "The order was shipped",
+   *     "/customer/name", "Jane Doe"));
+   * }</pre>
+   */
+  public SemanticJsonAssert hasFieldsSemanticallySimilarTo(Map<String, String> expectedByPointer) {
+    isNotNull();
+    Map<String, String> values = fields(expectedByPointer);
+    SemanticTextAssert delegate =
+        new SemanticTextAssert(JsonCanonicalizer.canonicalize(actual), defaults, testId)
+            .inBatch(batch)
+            .usingEmbeddingModel(embeddingModel, embeddingModelId)
+            .usingOptions(options);
+    try {
+      delegate.fieldsSemanticallySimilarTo(values, expectedByPointer);
+    } finally {
+      result = delegate.result();
+    }
+    return this;
+  }
+
+  /**
+   * Asserts that the value at each JSON pointer satisfies its criterion, judged by the judge model
+   * in a single rubric prompt for the whole document.
+   *
+   * <pre>{@code
+   * assertThatJson(json).hasFieldsMatchingWithJudge(Map.of(
+   *     "/emailBody", "is polite and apologizes for the delay",
+   *     "/status", "means the ticket is resolved"));
+   * }</pre>
+   */
+  public SemanticJsonAssert hasFieldsMatchingWithJudge(Map<String, String> criteriaByPointer) {
+    isNotNull();
+    Map<String, String> values = fields(criteriaByPointer);
+    SemanticTextAssert delegate =
+        new SemanticTextAssert(JsonCanonicalizer.canonicalize(actual), defaults, testId)
+            .usingJudgeModel(judgeModel)
+            .usingOptions(options);
+    try {
+      delegate.fieldsMatchWithJudge(values, criteriaByPointer);
+    } finally {
+      result = delegate.result();
+    }
+    return this;
+  }
+
+  private Map<String, String> fields(Map<String, String> byPointer) {
+    if (byPointer.isEmpty()) {
+      throw new IllegalArgumentException("at least one JSON pointer is required");
+    }
+    Map<String, String> values = JsonFields.extract(actual, byPointer.keySet());
+    List<String> missing = new ArrayList<>();
+    for (String pointer : byPointer.keySet()) {
+      if (!values.containsKey(pointer)) {
+        missing.add(pointer);
+      }
+    }
+    if (!missing.isEmpty()) {
+      failWithMessage("Expected JSON to contain fields %s but was:%n%s", missing, actual);
+    }
+    return values;
+  }
 }
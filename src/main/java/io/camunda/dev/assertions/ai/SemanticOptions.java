@@ -1,5 +1,7 @@
 package io.camunda.dev.assertions.ai;
 
+import java.time.Duration;
+
 /** Options for semantic assertions. */
 public final class SemanticOptions {
 
@@ -7,12 +9,40 @@ public final class SemanticOptions {
   private final double judgeMinScore;
   private final boolean normalizeWhitespace;
   private final boolean normalizeToLowercase;
+  private final boolean unicodeWhitespace;
+  private final boolean unicodeNormalization;
+  private final boolean stripPunctuation;
+  private final int embeddingBatchSize;
+  private final int judgeSamples;
+  private final int judgeRequiredVotes;
+  private final boolean streamJudge;
+  private final Chunking chunking;
+  private final int judgeMaxActualTokens;
+  private final boolean exactMatchPasses;
+  private final double lexicalJaccardPass;
+  private final double lexicalShinglePass;
+  private final Duration judgeDeadline;
+  private final boolean hedgeJudge;
 
   private SemanticOptions(Builder builder) {
     this.embeddingThreshold = builder.embeddingThreshold;
     this.judgeMinScore = builder.judgeMinScore;
     this.normalizeWhitespace = builder.normalizeWhitespace;
     this.normalizeToLowercase = builder.normalizeToLowercase;
+    this.unicodeWhitespace = builder.unicodeWhitespace;
+    this.unicodeNormalization = builder.unicodeNormalization;
+    this.stripPunctuation = builder.stripPunctuation;
+    this.embeddingBatchSize = builder.embeddingBatchSize;
+    this.judgeSamples = builder.judgeSamples;
+    this.judgeRequiredVotes = builder.judgeRequiredVotes;
+    this.streamJudge = builder.streamJudge;
+    this.chunking = builder.chunking;
+    this.judgeMaxActualTokens = builder.judgeMaxActualTokens;
+    this.exactMatchPasses = builder.exactMatchPasses;
+    this.lexicalJaccardPass = builder.lexicalJaccardPass;
+    this.lexicalShinglePass = builder.lexicalShinglePass;
+    this.judgeDeadline = builder.judgeDeadline;
+    this.hedgeJudge = builder.hedgeJudge;
   }
 
   public static SemanticOptions defaults() {
@@ -39,6 +69,85 @@ public final class SemanticOptions {
     return normalizeToLowercase;
   }
 
+  /** Whether whitespace normalization also covers Unicode spaces (e.g. no-break space), not only ASCII. */
+  public boolean unicodeWhitespace() {
+    return unicodeWhitespace;
+  }
+
+  /** Whether texts are brought into Unicode normalization form NFC before comparison. */
+  public boolean unicodeNormalization() {
+    return unicodeNormalization;
+  }
+
+  /** Whether punctuation characters are removed before comparison. */
+  public boolean stripPunctuation() {
+    return stripPunctuation;
+  }
+
+  /** Maximum number of texts sent in one batched embedding request. */
+  public int embeddingBatchSize() {
+    return embeddingBatchSize;
+  }
+
+  /** Number of judge samples (N) of a judge-based assertion; {@code 1} means a single judge call. */
+  public int judgeSamples() {
+    return judgeSamples;
+  }
+
+  /** Number of passing judge samples (K of N) required to pass. */
+  public int judgeRequiredVotes() {
+    return judgeRequiredVotes;
+  }
+
+  /** Whether judge responses are streamed and the stream is cancelled once pass, score and the whole
+   * reason have arrived.
+   *
+   * <p>Token usage that a provider only sends after that is not recorded; such streams are counted by
+   * the {@code judge.stream.cancelled} metric.
+   */
+  public boolean streamJudge() {
+    return streamJudge;
+  }
+
+  /** How long actual texts are split before embedding; {@link Chunking#none()} embeds them whole. */
+  public Chunking chunking() {
+    return chunking;
+  }
+
+  /** Token budget of the actual text in judge prompts; longer texts keep head and tail. {@code 0} means unlimited. */
+  public int judgeMaxActualTokens() {
+    return judgeMaxActualTokens;
+  }
+
+  /** Whether embedding assertions pass without a model call when both texts are equal after normalization. */
+  public boolean exactMatchPasses() {
+    return exactMatchPasses;
+  }
+
+  /** Token Jaccard index at or above which embedding assertions pass without a model call; {@code 0} disables it. */
+  public double lexicalJaccardPass() {
+    return lexicalJaccardPass;
+  }
+
+  /** Character-shingle Jaccard index at or above which embedding assertions pass without a model call; {@code 0} disables it. */
+  public double lexicalShinglePass() {
+    return lexicalShinglePass;
+  }
+
+  /** Maximum time per judge call, including waiting for the governor; {@link Duration#ZERO} means none.
+   *
+   * <p>A call that does not answer in time is cancelled and fails the assertion with
+   * {@link SemanticResult.Method#TIMEOUT}.
+   */
+  public Duration judgeDeadline() {
+    return judgeDeadline;
+  }
+
+  /** Whether a judge call is sent a second time once it is slower than the judge's p95 latency so far. */
+  public boolean hedgeJudge() {
+    return hedgeJudge;
+  }
+
   public SemanticOptions withEmbeddingThreshold(double threshold) {
     return builderFromThis().embeddingThreshold(threshold).build();
   }
@@ -47,12 +156,83 @@ public final class SemanticOptions {
     return builderFromThis().judgeMinScore(minScore).build();
   }
 
+  public SemanticOptions withEmbeddingBatchSize(int batchSize) {
+    return builderFromThis().embeddingBatchSize(batchSize).build();
+  }
+
+  /** Passes a judge-based assertion when {@code required} of {@code samples} judge votes pass. */
+  public SemanticOptions withJudgeQuorum(int samples, int required) {
+    return builderFromThis().judgeQuorum(samples, required).build();
+  }
+
+  public SemanticOptions withStreamJudge(boolean streamJudge) {
+    return builderFromThis().streamJudge(streamJudge).build();
+  }
+
+  public SemanticOptions withChunking(Chunking chunking) {
+    return builderFromThis().chunking(chunking).build();
+  }
+
+  public SemanticOptions withJudgeMaxActualTokens(int maxTokens) {
+    return builderFromThis().judgeMaxActualTokens(maxTokens).build();
+  }
+
+  public SemanticOptions withExactMatchPasses(boolean exactMatchPasses) {
+    return builderFromThis().exactMatchPasses(exactMatchPasses).build();
+  }
+
+  /** Passes embedding assertions without a model call above these lexical overlaps; {@code 0} disables a bound. */
+  public SemanticOptions withLexicalPass(double tokenJaccard, double shingleJaccard) {
+    return builderFromThis().lexicalJaccardPass(tokenJaccard).lexicalShinglePass(shingleJaccard).build();
+  }
+
+  public SemanticOptions withJudgeDeadline(Duration deadline) {
+    return builderFromThis().judgeDeadline(deadline).build();
+  }
+
+  public SemanticOptions withHedgeJudge(boolean hedgeJudge) {
+    return builderFromThis().hedgeJudge(hedgeJudge).build();
+  }
+
+  /** All settings that influence a verdict, as part of memo keys. */
+  String fingerprint() {
+    return String.join(
+        "|",
+        String.valueOf(embeddingThreshold),
+        String.valueOf(judgeMinScore),
+        String.valueOf(normalizeWhitespace),
+        String.valueOf(normalizeToLowercase),
+        String.valueOf(unicodeWhitespace),
+        String.valueOf(unicodeNormalization),
+        String.valueOf(stripPunctuation),
+        judgeSamples + "/" + judgeRequiredVotes,
+        String.valueOf(streamJudge),
+        chunking.strategy() + ":" + chunking.windowTokens() + ":" + chunking.overlap() + ":" + chunking.pooling() + ":" + chunking.topK(),
+        String.valueOf(judgeMaxActualTokens),
+        String.valueOf(exactMatchPasses),
+        String.valueOf(lexicalJaccardPass),
+        String.valueOf(lexicalShinglePass));
+  }
+
   private Builder builderFromThis() {
     return builder()
         .embeddingThreshold(this.embeddingThreshold)
         .judgeMinScore(this.judgeMinScore)
         .normalizeWhitespace(this.normalizeWhitespace)
-        .normalizeToLowercase(this.normalizeToLowercase);
+        .normalizeToLowercase(this.normalizeToLowercase)
+        .unicodeWhitespace(this.unicodeWhitespace)
+        .unicodeNormalization(this.unicodeNormalization)
+        .stripPunctuation(this.stripPunctuation)
+        .embeddingBatchSize(this.embeddingBatchSize)
+        .judgeQuorum(this.judgeSamples, this.judgeRequiredVotes)
+        .streamJudge(this.streamJudge)
+        .chunking(this.chunking)
+        .judgeMaxActualTokens(this.judgeMaxActualTokens)
+        .exactMatchPasses(this.exactMatchPasses)
+        .lexicalJaccardPass(this.lexicalJaccardPass)
+        .lexicalShinglePass(this.lexicalShinglePass)
+        .judgeDeadline(this.judgeDeadline)
+        .hedgeJudge(this.hedgeJudge);
   }
 
   public static final class Builder {
@@ -60,6 +240,20 @@ public final class SemanticOptions {
     private double judgeMinScore = 0.70;
     private boolean normalizeWhitespace = true;
     private boolean normalizeToLowercase = false;
+    private boolean unicodeWhitespace = false;
+    private boolean unicodeNormalization = false;
+    private boolean stripPunctuation = false;
+    private int embeddingBatchSize = 256;
+    private int judgeSamples = 1;
+    private int judgeRequiredVotes = 1;
+    private boolean streamJudge = false;
+    private Chunking chunking = Chunking.none();
+    private int judgeMaxActualTokens = 0;
+    private boolean exactMatchPasses = true;
+    private double lexicalJaccardPass = 0.0;
+    private double lexicalShinglePass = 0.0;
+    private Duration judgeDeadline = Duration.ZERO;
+    private boolean hedgeJudge = false;
 
     public Builder embeddingThreshold(double embeddingThreshold) {
       this.embeddingThreshold = embeddingThreshold;
@@ -81,6 +275,73 @@ public final class SemanticOptions {
       return this;
     }
 
+    public Builder unicodeWhitespace(boolean unicodeWhitespace) {
+      this.unicodeWhitespace = unicodeWhitespace;
+      return this;
+    }
+
+    public Builder unicodeNormalization(boolean unicodeNormalization) {
+      this.unicodeNormalization = unicodeNormalization;
+      return this;
+    }
+
+    public Builder stripPunctuation(boolean stripPunctuation) {
+      this.stripPunctuation = stripPunctuation;
+      return this;
+    }
+
+    public Builder embeddingBatchSize(int embeddingBatchSize) {
+      this.embeddingBatchSize = embeddingBatchSize;
+      return this;
+    }
+
+    /** Asks up to {@code samples} judges (or samples of one judge) and passes when {@code required} agree. */
+    public Builder judgeQuorum(int samples, int required) {
+      this.judgeSamples = samples;
+      this.judgeRequiredVotes = required;
+      return this;
+    }
+
+    public Builder streamJudge(boolean streamJudge) {
+      this.streamJudge = streamJudge;
+      return this;
+    }
+
+    public Builder chunking(Chunking chunking) {
+      this.chunking = chunking;
+      return this;
+    }
+
+    public Builder judgeMaxActualTokens(int judgeMaxActualTokens) {
+      this.judgeMaxActualTokens = judgeMaxActualTokens;
+      return this;
+    }
+
+    public Builder exactMatchPasses(boolean exactMatchPasses) {
+      this.exactMatchPasses = exactMatchPasses;
+      return this;
+    }
+
+    public Builder lexicalJaccardPass(double lexicalJaccardPass) {
+      this.lexicalJaccardPass = lexicalJaccardPass;
+      return this;
+    }
+
+    public Builder lexicalShinglePass(double lexicalShinglePass) {
+      this.lexicalShinglePass = lexicalShinglePass;
+      return this;
+    }
+
+    public Builder judgeDeadline(Duration judgeDeadline) {
+      this.judgeDeadline = judgeDeadline;
+      return this;
+    }
+
+    public Builder hedgeJudge(boolean hedgeJudge) {
+      this.hedgeJudge = hedgeJudge;
+      return this;
+    }
+
     public SemanticOptions build() {
       if (embeddingThreshold < 0.0 || embeddingThreshold > 1.0) {
         throw new IllegalArgumentException("embeddingThreshold must be in [0,1]");
@@ -88,6 +349,24 @@ public final class SemanticOptions {
       if (judgeMinScore < 0.0 || judgeMinScore > 1.0) {
         throw new IllegalArgumentException("judgeMinScore must be in [0,1]");
       }
+      if (embeddingBatchSize < 1) {
+        throw new IllegalArgumentException("embeddingBatchSize must be >= 1");
+      }
+      if (judgeSamples < 1 || judgeRequiredVotes < 1 || judgeRequiredVotes > judgeSamples) {
+        throw new IllegalArgumentException("judge quorum must satisfy 1 <= required <= samples");
+      }
+      if (chunking == null) {
+        throw new IllegalArgumentException("chunking must not be null");
+      }
+      if (lexicalJaccardPass < 0.0 || lexicalJaccardPass > 1.0 || lexicalShinglePass < 0.0 || lexicalShinglePass > 1.0) {
+        throw new IllegalArgumentException("lexical pass bounds must be in [0,1]");
+      }
+      if (judgeMaxActualTokens < 0) {
+        throw new IllegalArgumentException("judgeMaxActualTokens must be >= 0");
+      }
+      if (judgeDeadline == null || judgeDeadline.isNegative()) {
+        throw new IllegalArgumentException("judgeDeadline must be >= 0");
+      }
       return new SemanticOptions(this);
     }
   }
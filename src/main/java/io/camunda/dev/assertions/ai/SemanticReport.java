@@ -0,0 +1,283 @@
+package io.camunda.dev.assertions.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.camunda.dev.assertions.ai.internal.TestIds;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/** Streams one JSON Lines record per evaluated semantic assertion into a report file.
+ *
+ * <p>Records are queued and written by a background thread, so assertions do not wait for disk I/O.
+ * Register it via {@link CamundaAiAssertionDefaults.Builder#report(SemanticReport)}; the file is
+ * appended to, and pending records are flushed on {@link #close()} or at JVM shutdown.
+ *
+ * <pre>{@code
+ * {"timestamp":"...","testId":"com.acme.FraudTest#detectsFraud","assertion":"isSemanticallySimilarTo",
+ *  "method":"EMBEDDING","passed":true,"score":0.912,"threshold":0.8,"latencyMillis":143.2,
+ *  "model":"openai/text-embedding-3-small","actual":"...","expected":"...","reason":""}
+ * }</pre>
+ *
+ * <p>{@link #summarize(Path)} aggregates a report into score and latency percentiles per test.
+ */
+public final class SemanticReport implements AutoCloseable {
+
+  public static final int DEFAULT_MAX_TEXT_CHARS = 500;
+
+  private static final JsonFactory JSON = new JsonFactory();
+  private static final Record END = new Record(null, null, null, null, null, null);
+
+  private final Path file;
+  private final int maxTextChars;
+  private final BlockingQueue<Record> queue = new LinkedBlockingQueue<>(10_000);
+  private final Thread writer;
+  private final Thread shutdownHook;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  private SemanticReport(Path file, int maxTextChars) {
+    this.file = file;
+    this.maxTextChars = maxTextChars;
+    this.writer = new Thread(this::drain, "camunda-ai-semantic-report");
+    this.writer.setDaemon(true);
+    this.writer.start();
+    this.shutdownHook = new Thread(this::stop, "camunda-ai-semantic-report-shutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  public static SemanticReport open(Path file) {
+    return open(file, DEFAULT_MAX_TEXT_CHARS);
+  }
+
+  /** @param maxTextChars actual and expected texts are truncated to this many characters */
+  public static SemanticReport open(Path file, int maxTextChars) {
+    if (file == null) {
+      throw new IllegalArgumentException("file must not be null");
+    }
+    if (maxTextChars < 0) {
+      throw new IllegalArgumentException("maxTextChars must be >= 0");
+    }
+    return new SemanticReport(file, maxTextChars);
+  }
+
+  public Path file() {
+    return file;
+  }
+
+  void append(String testId, String assertion, SemanticResult result, String actual, String expected) {
+    if (closed) {
+      return;
+    }
+    Record record =
+        new Record(
+            Instant.now(),
+            testId,
+            assertion,
+            result,
+            truncate(actual),
+            truncate(expected));
+    try {
+      queue.put(record); // blocks only when the writer falls behind by more than the queue capacity
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Writes all pending records and closes the file. */
+  @Override
+  public void close() {
+    stop();
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException e) {
+      // already shutting down
+    }
+    if (failure != null) {
+      throw new UncheckedIOException("Failed to write semantic report " + file, failure);
+    }
+  }
+
+  private synchronized void stop() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      queue.put(END);
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void drain() {
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      try (Writer out =
+              Files.newBufferedWriter(
+                  file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+          JsonGenerator generator = JSON.createGenerator(out).setRootValueSeparator(null)) {
+        while (true) {
+          Record record = queue.take();
+          if (record == END) {
+            return;
+          }
+          write(generator, record);
+          if (queue.isEmpty()) {
+            generator.flush();
+          }
+        }
+      }
+    } catch (IOException e) {
+      failure = e;
+      closed = true;
+      queue.clear();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void write(JsonGenerator generator, Record record) throws IOException {
+    SemanticResult result = record.result();
+    generator.writeStartObject();
+    generator.writeStringField("timestamp", record.timestamp().toString());
+    generator.writeStringField("testId", record.testId());
+    generator.writeStringField("assertion", record.assertion());
+    generator.writeStringField("method", result.method().name());
+    generator.writeBooleanField("passed", result.passed());
+    generator.writeNumberField("score", result.score());
+    generator.writeNumberField("threshold", result.threshold());
+    generator.writeNumberField("latencyMillis", result.latency().toNanos() / 1_000_000d);
+    generator.writeStringField("model", result.model());
+    generator.writeStringField("actual", record.actual());
+    generator.writeStringField("expected", record.expected());
+    generator.writeStringField("reason", result.reason());
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+
+  private String truncate(String text) {
+    if (text == null || text.length() <= maxTextChars) {
+      return text;
+    }
+    return text.substring(0, maxTextChars) + "...";
+  }
+
+  /** Aggregates a report file into percentiles per test, sorted by test id. */
+  public static List<TestSummary> summarize(Path file) {
+    Map<String, Samples> byTest = new TreeMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) {
+          readLine(line, byTest);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read semantic report " + file, e);
+    }
+    List<TestSummary> summaries = new ArrayList<>(byTest.size());
+    byTest.forEach((testId, samples) -> summaries.add(samples.summarize(testId)));
+    return summaries;
+  }
+
+  private static void readLine(String line, Map<String, Samples> byTest) throws IOException {
+    String testId = TestIds.UNKNOWN;
+    boolean passed = true;
+    double score = Double.NaN;
+    double latency = Double.NaN;
+    try (JsonParser parser = JSON.createParser(line)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "testId" -> testId = parser.getValueAsString(TestIds.UNKNOWN);
+          case "passed" -> passed = parser.getValueAsBoolean();
+          case "score" -> score = parser.getValueAsDouble();
+          case "latencyMillis" -> latency = parser.getValueAsDouble();
+          default -> parser.skipChildren();
+        }
+      }
+    }
+    byTest.computeIfAbsent(testId, id -> new Samples()).add(passed, score, latency);
+  }
+
+  /** Assertions of one test with their score and latency (milliseconds) distributions. */
+  public record TestSummary(String testId, int assertions, int failures, Percentiles score, Percentiles latencyMillis) {}
+
+  /** Nearest-rank percentiles. */
+  public record Percentiles(double min, double p50, double p90, double p99, double max) {
+
+    static Percentiles of(double[] values, int count) {
+      if (count == 0) {
+        return new Percentiles(Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+      }
+      double[] sorted = Arrays.copyOf(values, count);
+      Arrays.sort(sorted);
+      return new Percentiles(sorted[0], rank(sorted, 0.50), rank(sorted, 0.90), rank(sorted, 0.99), sorted[count - 1]);
+    }
+
+    private static double rank(double[] sorted, double p) {
+      return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+  }
+
+  private record Record(
+      Instant timestamp, String testId, String assertion, SemanticResult result, String actual, String expected) {}
+
+  private static final class Samples {
+    private int assertions;
+    private int failures;
+    private double[] scores = new double[16];
+    private int scoreCount;
+    private double[] latencies = new double[16];
+    private int latencyCount;
+
+    void add(boolean passed, double score, double latency) {
+      assertions++;
+      if (!passed) {
+        failures++;
+      }
+      if (!Double.isNaN(score)) {
+        if (scoreCount == scores.length) {
+          scores = Arrays.copyOf(scores, scoreCount * 2);
+        }
+        scores[scoreCount++] = score;
+      }
+      if (!Double.isNaN(latency)) {
+        if (latencyCount == latencies.length) {
+          latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        }
+        latencies[latencyCount++] = latency;
+      }
+    }
+
+    TestSummary summarize(String testId) {
+      return new TestSummary(
+          testId,
+          assertions,
+          failures,
+          Percentiles.of(scores, scoreCount),
+          Percentiles.of(latencies, latencyCount));
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package io.camunda.dev.assertions.ai;
+
+import java.time.Duration;
+
+/** Outcome of one semantic assertion: how it was decided, the score and the threshold it was held to. */
+public final class SemanticResult {
+
+  public enum Method {
+    EMBEDDING,
+    JUDGE,
+    /** Decided without a model call: the texts were equal after normalization. */
+    EXACT,
+    /** Decided without a model call: the lexical overlap reached a configured bound. */
+    LEXICAL,
+    /** Not decided: the model did not answer within {@link SemanticOptions#judgeDeadline()}. */
+    TIMEOUT
+  }
+
+  private final Method method;
+  private final boolean passed;
+  private final double score;
+  private final double threshold;
+  private final String reason;
+  private final Duration latency;
+  private final String model;
+
+  SemanticResult(
+      Method method, boolean passed, double score, double threshold, String reason, Duration latency, String model) {
+    this.method = method;
+    this.passed = passed;
+    this.score = score;
+    this.threshold = threshold;
+    this.reason = reason;
+    this.latency = latency;
+    this.model = model;
+  }
+
+  public Method method() {
+    return method;
+  }
+
+  public boolean passed() {
+    return passed;
+  }
+
+  /** Cosine similarity (embeddings), judge score or lexical overlap, in [0,1]. */
+  public double score() {
+    return score;
+  }
+
+  /** The embedding threshold, minimum judge score or lexical bound that was applied. */
+  public double threshold() {
+    return threshold;
+  }
+
+  /** The judge's reason; empty for embeddings. */
+  public String reason() {
+    return reason;
+  }
+
+  /** Time from starting the assertion to its verdict; in a {@link SemanticBatch} this includes waiting for the batch. */
+  public Duration latency() {
+    return latency;
+  }
+
+  /** The embedding model id or judge model name(s) that decided the assertion. */
+  public String model() {
+    return model;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SemanticResult{method=%s, passed=%s, score=%.3f, threshold=%.2f, latency=%dms, model=%s, reason=%s}",
+        method, passed, score, threshold, latency.toMillis(), model, reason);
+  }
+}
@@ -1,33 +1,86 @@
 package io.camunda.dev.assertions.ai;
 
+import io.camunda.dev.assertions.ai.internal.AssertionMetrics;
 import io.camunda.dev.assertions.ai.internal.CosineSimilarity;
+import io.camunda.dev.assertions.ai.internal.EmbeddingClient;
+import io.camunda.dev.assertions.ai.internal.HedgedCall;
+import io.camunda.dev.assertions.ai.internal.LatencyTracker;
+import io.camunda.dev.assertions.ai.internal.LexicalSimilarity;
+import io.camunda.dev.assertions.ai.internal.TestIds;
+import io.camunda.dev.assertions.ai.internal.TextChunker;
 import io.camunda.dev.assertions.ai.internal.TextNormalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.assertj.core.api.AbstractAssert;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.embedding.EmbeddingModel;
 
 public final class SemanticTextAssert extends AbstractAssert<SemanticTextAssert, String> {
 
+  /** Judge calls still running at this quantile of the judge's latencies are hedged. */
+  private static final double HEDGE_QUANTILE = 0.95;
+  private static final String JUDGE_ASSERTION = "matchesExpectationWithJudge";
+  private static final String FIELDS_ASSERTION = "hasFieldsSemanticallySimilarTo";
+  private static final String RUBRIC_ASSERTION = "hasFieldsMatchingWithJudge";
+
   private final CamundaAiAssertionDefaults defaults;
+  private final AssertionMetrics metrics;
+  private final String testId;
   private EmbeddingModel embeddingModel;
+  private String embeddingModelId;
   private ChatModel judgeModel;
+  private List<ChatModel> judgeModels;
   private SemanticOptions options;
+  private SemanticBatch batch;
+  private volatile SemanticResult result;
 
   SemanticTextAssert(String actual, CamundaAiAssertionDefaults defaults) {
+    this(actual, defaults, TestIds.current());
+  }
+
+  /** @param testId the test the assertion belongs to, resolved on the thread that created it */
+  SemanticTextAssert(String actual, CamundaAiAssertionDefaults defaults, String testId) {
     super(actual, SemanticTextAssert.class);
     this.defaults = defaults;
+    this.testId = testId;
+    this.metrics = new AssertionMetrics(defaults.meterRegistry());
     this.embeddingModel = defaults.embeddingModel();
+    this.embeddingModelId = defaults.embeddingModelId();
     this.judgeModel = defaults.judgeModel();
     this.options = defaults.options();
   }
 
   public SemanticTextAssert usingEmbeddingModel(EmbeddingModel embeddingModel) {
+    return usingEmbeddingModel(embeddingModel, null);
+  }
+
+  /** Uses the given model; its vectors are cached under {@code modelId} when an embedding cache is configured. */
+  public SemanticTextAssert usingEmbeddingModel(EmbeddingModel embeddingModel, String modelId) {
     this.embeddingModel = embeddingModel;
+    this.embeddingModelId = modelId;
     return this;
   }
 
   public SemanticTextAssert usingJudgeModel(ChatModel judgeModel) {
     this.judgeModel = judgeModel;
+    this.judgeModels = null;
+    return this;
+  }
+
+  /** Uses several judges; with a judge quorum in the options, samples are spread round-robin over them. */
+  public SemanticTextAssert usingJudgeModels(ChatModel... judgeModels) {
+    this.judgeModels = judgeModels.length == 0 ? null : List.of(judgeModels);
+    this.judgeModel = judgeModels.length == 0 ? null : judgeModels[0];
     return this;
   }
 
@@ -36,53 +89,719 @@ public final class SemanticTextAssert extends AbstractAssert<SemanticTextAssert,
     return this;
   }
 
+  SemanticTextAssert inBatch(SemanticBatch batch) {
+    this.batch = batch;
+    return this;
+  }
+
+  /** The result of the last evaluated assertion, or {@code null} if none was evaluated (yet). */
+  public SemanticResult result() {
+    return result;
+  }
+
   public SemanticTextAssert isSemanticallySimilarTo(String expectedTargetText) {
+    return memoized(
+        "isSemanticallySimilarTo", embeddingIdentity(), expectedTargetText, () -> similarTo(expectedTargetText));
+  }
+
+  private void similarTo(String expectedTargetText) {
     isNotNull();
     if (embeddingModel == null) {
       failWithMessage("EmbeddingModel is required for embeddings-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingEmbeddingModel(...)");
     }
     String a = TextNormalizer.normalize(actual, options);
     String b = TextNormalizer.normalize(expectedTargetText, options);
+    if (passesWithoutModel("isSemanticallySimilarTo", a, b, expectedTargetText)) {
+      return;
+    }
+    // long texts are embedded chunk by chunk (one batch, cached per chunk); the expected text goes last
+    List<String> texts = new ArrayList<>(TextChunker.chunk(a, options.chunking()));
+    texts.add(b);
 
-    float[] va = embeddingModel.embed(a);
-    float[] vb = embeddingModel.embed(b);
+    EmbeddingClient embeddings = embeddingClient();
+    Attempt attempt = new Attempt("isSemanticallySimilarTo", embeddings.modelName(), System.nanoTime());
+    if (batch != null) {
+      batch.defer(embeddings, texts, vectors -> verifySimilarity(vectors, expectedTargetText, attempt));
+      return;
+    }
+    verifySimilarity(embeddings.embedAll(texts, attempt.assertion()), expectedTargetText, attempt);
+  }
 
-    double similarity = CosineSimilarity.cosine(va, vb);
+  private void verifySimilarity(List<float[]> vectors, String expectedTargetText, Attempt attempt) {
+    float[] expected = vectors.get(vectors.size() - 1);
+    double[] scores = new double[vectors.size() - 1];
+    for (int i = 0; i < scores.length; i++) {
+      scores[i] = CosineSimilarity.cosine(vectors.get(i), expected);
+    }
+    double similarity = TextChunker.pool(scores, options.chunking());
+    recordResult(
+        attempt,
+        expectedTargetText,
+        SemanticResult.Method.EMBEDDING,
+        similarity >= options.embeddingThreshold(),
+        similarity,
+        options.embeddingThreshold(),
+        "");
     if (similarity < options.embeddingThreshold()) {
       failWithMessage(
           "Expected text to be semantically similar (cosine >= %.2f) but was %.3f.%nExpected target: %s%nActual: %s",
           options.embeddingThreshold(), similarity, expectedTargetText, actual);
     }
-    return this;
+  }
+
+  /** Passes if the text is semantically similar to at least one of the references. */
+  public SemanticTextAssert isSemanticallySimilarToAnyOf(Collection<String> references) {
+    String expected = references == null ? null : String.join("\n", references);
+    return memoized(
+        "isSemanticallySimilarToAnyOf", embeddingIdentity(), expected, () -> similarToAnyOf(references));
+  }
+
+  private void similarToAnyOf(Collection<String> references) {
+    isNotNull();
+    if (embeddingModel == null) {
+      failWithMessage("EmbeddingModel is required for embeddings-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingEmbeddingModel(...)");
+    }
+    if (references == null || references.isEmpty()) {
+      throw new IllegalArgumentException("references must not be empty");
+    }
+    List<String> referenceList = new ArrayList<>(references);
+    String a = TextNormalizer.normalize(actual, options);
+    List<String> normalizedReferences = new ArrayList<>(referenceList.size());
+    for (String reference : referenceList) {
+      String b = TextNormalizer.normalize(reference, options);
+      if (passesWithoutModel("isSemanticallySimilarToAnyOf", a, b, reference)) {
+        return;
+      }
+      normalizedReferences.add(b);
+    }
+    List<String> texts = new ArrayList<>(TextChunker.chunk(a, options.chunking()));
+    int chunks = texts.size();
+    texts.addAll(normalizedReferences);
+
+    EmbeddingClient embeddings = embeddingClient();
+    Attempt attempt = new Attempt("isSemanticallySimilarToAnyOf", embeddings.modelName(), System.nanoTime());
+    if (batch != null) {
+      batch.defer(embeddings, texts, vectors -> verifyAnyOf(vectors, chunks, referenceList, embeddings, attempt));
+      return;
+    }
+    verifyAnyOf(embeddings.embedAll(texts, attempt.assertion()), chunks, referenceList, embeddings, attempt);
+  }
+
+  /** Passes if the text is semantically similar to at least one reference of the corpus.
+   *
+   * <p>Only the actual text is embedded, with the corpus' embedding model. It is normalized, chunked
+   * and pooled with the corpus' options, like the references; the threshold comes from this
+   * assertion's options. A text equal to a reference after normalization (or lexically close to one,
+   * if enabled) passes without a model call.
+   */
+  public SemanticTextAssert isSemanticallySimilarToAnyOf(ReferenceCorpus corpus) {
+    if (corpus == null) {
+      throw new IllegalArgumentException("corpus must not be null");
+    }
+    EmbeddingClient embeddings = corpus.embeddingClient();
+    return memoized(
+        "isSemanticallySimilarToAnyOf",
+        embeddings.modelName() + "@" + System.identityHashCode(embeddings),
+        "corpus@" + System.identityHashCode(corpus),
+        () -> similarToAnyOf(corpus));
+  }
+
+  private void similarToAnyOf(ReferenceCorpus corpus) {
+    isNotNull();
+    SemanticOptions corpusOptions = corpus.options();
+    String a = TextNormalizer.normalize(actual, corpusOptions);
+    String equal = options.exactMatchPasses() ? corpus.referenceEqualTo(a) : null;
+    if (equal != null) {
+      passExactly("isSemanticallySimilarToAnyOf", equal);
+      return;
+    }
+    if (options.lexicalJaccardPass() > 0.0 || options.lexicalShinglePass() > 0.0) {
+      for (String reference : corpus.references()) {
+        if (passesWithoutModel(
+            "isSemanticallySimilarToAnyOf", a, TextNormalizer.normalize(reference, corpusOptions), reference)) {
+          return;
+        }
+      }
+    }
+    List<String> texts = TextChunker.chunk(a, corpusOptions.chunking());
+    EmbeddingClient embeddings = corpus.embeddingClient();
+    Attempt attempt = new Attempt("isSemanticallySimilarToAnyOf", embeddings.modelName(), System.nanoTime());
+    if (batch != null) {
+      batch.defer(embeddings, texts, vectors -> verifyBestMatch(corpus, vectors, attempt));
+      return;
+    }
+    verifyBestMatch(corpus, embeddings.embedAll(texts, attempt.assertion()), attempt);
+  }
+
+  private void verifyAnyOf(
+      List<float[]> vectors, int chunks, List<String> references, EmbeddingClient embeddings, Attempt attempt) {
+    ReferenceCorpus corpus =
+        new ReferenceCorpus(references, vectors.subList(chunks, vectors.size()), embeddings, options);
+    verifyBestMatch(corpus, vectors.subList(0, chunks), attempt);
+  }
+
+  /** Pools the best reference similarity of each chunk (as the corpus pools); the reported match is the best one. */
+  private void verifyBestMatch(ReferenceCorpus corpus, List<float[]> chunkVectors, Attempt attempt) {
+    double[] scores = new double[chunkVectors.size()];
+    ReferenceCorpus.Match best = null;
+    for (int i = 0; i < scores.length; i++) {
+      ReferenceCorpus.Match match = corpus.topK(chunkVectors.get(i), 1, options.embeddingThreshold()).get(0);
+      scores[i] = match.similarity();
+      if (best == null || match.similarity() > best.similarity()) {
+        best = match;
+      }
+    }
+    double similarity = TextChunker.pool(scores, corpus.options().chunking());
+    recordResult(
+        attempt,
+        best.reference(),
+        SemanticResult.Method.EMBEDDING,
+        similarity >= options.embeddingThreshold(),
+        similarity,
+        options.embeddingThreshold(),
+        "");
+    if (similarity < options.embeddingThreshold()) {
+      failWithMessage(
+          "Expected text to be semantically similar (cosine >= %.2f) to any of %d references but the best match was %.3f.%nBest match: %s%nActual: %s",
+          options.embeddingThreshold(), corpus.size(), similarity, best.reference(), actual);
+    }
+  }
+
+  /**
+   * Compares each field value with its expected text; all fields that are not equal after
+   * normalization are embedded in one batched call.
+   *
+   * @param values actual value per JSON pointer, one for every expected pointer
+   * @param expected expected text per JSON pointer
+   */
+  SemanticTextAssert fieldsSemanticallySimilarTo(Map<String, String> values, Map<String, String> expected) {
+    return memoized(
+        FIELDS_ASSERTION, embeddingIdentity(), String.valueOf(expected), () -> evaluateFields(values, expected));
+  }
+
+  private void evaluateFields(Map<String, String> values, Map<String, String> expected) {
+    isNotNull();
+    if (embeddingModel == null) {
+      failWithMessage("EmbeddingModel is required for embeddings-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingEmbeddingModel(...)");
+    }
+    List<String> pointers = new ArrayList<>(expected.keySet());
+    double[] scores = new double[pointers.size()];
+    List<Integer> embedded = new ArrayList<>();
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < pointers.size(); i++) {
+      String a = TextNormalizer.normalize(values.get(pointers.get(i)), options);
+      String b = TextNormalizer.normalize(expected.get(pointers.get(i)), options);
+      if (options.exactMatchPasses() && a.equals(b)) {
+        scores[i] = 1.0;
+      } else {
+        embedded.add(i);
+        texts.add(a);
+        texts.add(b);
+      }
+    }
+
+    if (texts.isEmpty()) {
+      metrics.shortCircuit(FIELDS_ASSERTION, "exact");
+      Attempt attempt = new Attempt(FIELDS_ASSERTION, "none", System.nanoTime());
+      verifyFields(pointers, scores, values, expected, attempt, SemanticResult.Method.EXACT);
+      return;
+    }
+    EmbeddingClient embeddings = embeddingClient();
+    Attempt attempt = new Attempt(FIELDS_ASSERTION, embeddings.modelName(), System.nanoTime());
+    SemanticResult.Method method = SemanticResult.Method.EMBEDDING;
+    if (batch != null) {
+      batch.defer(
+          embeddings,
+          texts,
+          vectors ->
+              verifyFields(pointers, fieldScores(scores, embedded, vectors), values, expected, attempt, method));
+    } else {
+      List<float[]> vectors = embeddings.embedAll(texts, FIELDS_ASSERTION);
+      verifyFields(pointers, fieldScores(scores, embedded, vectors), values, expected, attempt, method);
+    }
+  }
+
+  private static double[] fieldScores(double[] exactScores, List<Integer> embedded, List<float[]> vectors) {
+    double[] scores = exactScores.clone();
+    for (int j = 0; j < embedded.size(); j++) {
+      scores[embedded.get(j)] = CosineSimilarity.cosine(vectors.get(2 * j), vectors.get(2 * j + 1));
+    }
+    return scores;
+  }
+
+  private void verifyFields(
+      List<String> pointers,
+      double[] scores,
+      Map<String, String> values,
+      Map<String, String> expected,
+      Attempt attempt,
+      SemanticResult.Method method) {
+    StringBuilder failures = new StringBuilder();
+    List<String> failing = new ArrayList<>();
+    double min = 1.0;
+    for (int i = 0; i < pointers.size(); i++) {
+      min = Math.min(min, scores[i]);
+      if (scores[i] < options.embeddingThreshold()) {
+        String pointer = pointers.get(i);
+        failing.add(pointer);
+        failures.append(
+            String.format(
+                "%n  %s: cosine %.3f%n    expected: %s%n    actual: %s",
+                pointer, scores[i], expected.get(pointer), values.get(pointer)));
+      }
+    }
+    recordResult(
+        attempt,
+        String.valueOf(expected),
+        method,
+        failing.isEmpty(),
+        min,
+        options.embeddingThreshold(),
+        failing.isEmpty() ? "" : "failing fields: " + String.join(", ", failing));
+    if (!failing.isEmpty()) {
+      failWithMessage(
+          "Expected %d of %d fields to be semantically similar (cosine >= %.2f):%s",
+          failing.size(), pointers.size(), options.embeddingThreshold(), failures);
+    }
+  }
+
+  /**
+   * Judges every field against its criterion in a single rubric prompt.
+   *
+   * @param values actual value per JSON pointer, one for every criterion
+   * @param criteria criterion per JSON pointer
+   */
+  SemanticTextAssert fieldsMatchWithJudge(Map<String, String> values, Map<String, String> criteria) {
+    return memoized(RUBRIC_ASSERTION, judgeIdentity(), String.valueOf(criteria), () -> judgeFields(values, criteria));
+  }
+
+  private void judgeFields(Map<String, String> values, Map<String, String> criteria) {
+    isNotNull();
+    if (judgeModel == null) {
+      failWithMessage("ChatModel is required for judge-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingJudgeModel(...)");
+    }
+    Attempt attempt = new Attempt(RUBRIC_ASSERTION, modelName(judgeModel), System.nanoTime());
+    String response;
+    try {
+      response = callJudge(judgeModel, JudgeRubric.prompt(criteria, values, options.judgeMaxActualTokens()), true, 0);
+    } catch (HedgedCall.DeadlineExceeded e) {
+      throw judgeTimeout(attempt, String.valueOf(criteria), e);
+    }
+    JudgeRubric.Verdict verdict = JudgeRubric.tryParse(response);
+    if (verdict == null) {
+      recordResult(
+          attempt, String.valueOf(criteria), SemanticResult.Method.JUDGE, false, 0.0, options.judgeMinScore(), "unparsable judge response");
+      failWithMessage("Judge model returned unparsable rubric result. Raw response: %s", response);
+    }
+
+    StringBuilder failures = new StringBuilder();
+    List<String> failing = new ArrayList<>();
+    double min = 1.0;
+    for (Map.Entry<String, String> criterion : criteria.entrySet()) {
+      JudgeRubric.FieldVerdict field = verdict.fields().get(criterion.getKey());
+      double score = field == null ? 0.0 : field.score();
+      min = Math.min(min, score);
+      if (field == null || !field.pass() || field.score() < options.judgeMinScore()) {
+        failing.add(criterion.getKey());
+        failures.append(
+            String.format(
+                "%n  %s: %s%n    criterion: %s%n    actual: %s",
+                criterion.getKey(),
+                field == null ? "no verdict" : String.format("pass=%s score=%.3f reason=%s", field.pass(), field.score(), field.reason()),
+                criterion.getValue(),
+                values.get(criterion.getKey())));
+      }
+    }
+    recordResult(
+        attempt,
+        String.valueOf(criteria),
+        SemanticResult.Method.JUDGE,
+        failing.isEmpty(),
+        min,
+        options.judgeMinScore(),
+        failing.isEmpty() ? verdict.reason() : "failing fields: " + String.join(", ", failing));
+    if (!failing.isEmpty()) {
+      failWithMessage(
+          "Expected judge to PASS all %d fields (minScore=%.2f) but %d failed:%s",
+          criteria.size(), options.judgeMinScore(), failing.size(), failures);
+    }
+  }
+
+  /** Passes the assertion without a model call if the texts are equal or lexically close enough. */
+  private boolean passesWithoutModel(String assertion, String normalizedActual, String normalizedExpected, String expected) {
+    if (options.exactMatchPasses() && normalizedActual.equals(normalizedExpected)) {
+      passExactly(assertion, expected);
+      return true;
+    }
+    Attempt attempt = new Attempt(assertion, "none", System.nanoTime());
+    if (options.lexicalJaccardPass() > 0.0) {
+      double jaccard = LexicalSimilarity.tokenJaccard(normalizedActual, normalizedExpected);
+      if (jaccard >= options.lexicalJaccardPass()) {
+        metrics.shortCircuit(assertion, "lexical");
+        recordResult(
+            attempt, expected, SemanticResult.Method.LEXICAL, true, jaccard, options.lexicalJaccardPass(), "token jaccard");
+        return true;
+      }
+    }
+    if (options.lexicalShinglePass() > 0.0) {
+      double jaccard = LexicalSimilarity.shingleJaccard(normalizedActual, normalizedExpected);
+      if (jaccard >= options.lexicalShinglePass()) {
+        metrics.shortCircuit(assertion, "lexical");
+        recordResult(
+            attempt, expected, SemanticResult.Method.LEXICAL, true, jaccard, options.lexicalShinglePass(), "shingle jaccard");
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void passExactly(String assertion, String expected) {
+    metrics.shortCircuit(assertion, "exact");
+    recordResult(
+        new Attempt(assertion, "none", System.nanoTime()),
+        expected,
+        SemanticResult.Method.EXACT,
+        true,
+        1.0,
+        1.0,
+        "equal after normalization");
   }
 
   public SemanticTextAssert matchesExpectationWithJudge(String expectation) {
+    return memoized(JUDGE_ASSERTION, judgeIdentity(), expectation, () -> judge(expectation));
+  }
+
+  private void judge(String expectation) {
     isNotNull();
     if (judgeModel == null) {
       failWithMessage("ChatModel is required for judge-based assertions. Provide it via CamundaAiAssertions.configureDefaults(...) or usingJudgeModel(...)");
     }
 
-    String prompt =
-        "You are a strict test oracle. Decide if the ACTUAL output satisfies the EXPECTATION.\n"
-            + "Return ONLY valid JSON of the form {\"pass\":true|false,\"score\":0..1,\"reason\":\"...\"}.\n\n"
-            + "EXPECTATION:\n"
-            + expectation
-            + "\n\nACTUAL:\n"
-            + actual;
+    String prompt = judgePrompt(expectation);
+    if (options.judgeSamples() > 1) {
+      verifyJudgeQuorum(prompt, expectation);
+      return;
+    }
 
-    String response = judgeModel.call(prompt);
-    JudgeResult result = JudgeResult.tryParse(response);
-    if (result == null) {
+    Attempt attempt = new Attempt(JUDGE_ASSERTION, modelName(judgeModel), System.nanoTime());
+    String response;
+    try {
+      response = callJudge(judgeModel, prompt);
+    } catch (HedgedCall.DeadlineExceeded e) {
+      throw judgeTimeout(attempt, expectation, e);
+    }
+    JudgeResult verdict = JudgeResult.tryParse(response);
+    if (verdict == null) {
+      recordResult(
+          attempt, expectation, SemanticResult.Method.JUDGE, false, 0.0, options.judgeMinScore(), "unparsable judge response");
       failWithMessage("Judge model returned unparsable result. Raw response: %s", response);
     }
-    if (!result.pass || result.score < options.judgeMinScore()) {
+    boolean passed = verdict.pass && verdict.score >= options.judgeMinScore();
+    recordResult(
+        attempt, expectation, SemanticResult.Method.JUDGE, passed, verdict.score, options.judgeMinScore(), verdict.reason);
+    if (!passed) {
       failWithMessage(
           "Expected judge to PASS (minScore=%.2f) but got pass=%s score=%.3f reason=%s.%nExpectation: %s%nActual: %s",
-          options.judgeMinScore(), result.pass, result.score, result.reason, expectation, actual);
+          options.judgeMinScore(), verdict.pass, verdict.score, verdict.reason, expectation, actual);
+    }
+  }
+
+  private void verifyJudgeQuorum(String prompt, String expectation) {
+    List<ChatModel> judges = judgeModels == null ? List.of(judgeModel) : judgeModels;
+    String models = judges.stream().map(SemanticTextAssert::modelName).distinct().collect(Collectors.joining(","));
+    Attempt attempt = new Attempt(JUDGE_ASSERTION, models, System.nanoTime());
+    JudgeQuorum.Outcome outcome;
+    try {
+      outcome =
+          JudgeQuorum.decide(
+              judges,
+              options.judgeSamples(),
+              options.judgeRequiredVotes(),
+              options.judgeMinScore(),
+              (judge, sample) -> callJudge(judge, prompt, false, sample));
+    } catch (HedgedCall.DeadlineExceeded e) {
+      throw judgeTimeout(attempt, expectation, e);
+    }
+    recordResult(
+        attempt,
+        expectation,
+        SemanticResult.Method.JUDGE,
+        outcome.passed(),
+        outcome.score(),
+        options.judgeMinScore(),
+        outcome.reason());
+    if (!outcome.passed()) {
+      failWithMessage(
+          "Expected %d of %d judges to PASS (minScore=%.2f) but %d failed (mean score=%.3f) reason=%s.%nExpectation: %s%nActual: %s",
+          options.judgeRequiredVotes(), options.judgeSamples(), options.judgeMinScore(), outcome.failVotes(),
+          outcome.score(), outcome.reason(), expectation, actual);
+    }
+  }
+
+  /** Records the timeout as the result; the returned error fails the assertion. */
+  private AssertionError judgeTimeout(Attempt attempt, String expected, HedgedCall.DeadlineExceeded timeout) {
+    recordResult(
+        attempt,
+        expected,
+        SemanticResult.Method.TIMEOUT,
+        false,
+        0.0,
+        options.judgeMinScore(),
+        "no judge answer within " + timeout.deadline());
+    return failure(
+        "Judge model %s did not answer within the deadline of %dms.%nExpectation: %s%nActual: %s",
+        attempt.model(), timeout.deadline().toMillis(), expected, actual);
+  }
+
+  private String judgePrompt(String expectation) {
+    return "You are a strict test oracle. Decide if the ACTUAL output satisfies the EXPECTATION.\n"
+        + "Return ONLY valid JSON of the form {\"pass\":true|false,\"score\":0..1,\"reason\":\"...\"}.\n\n"
+        + "EXPECTATION:\n"
+        + expectation
+        + "\n\nACTUAL:\n"
+        + TextChunker.trimToTokens(actual, options.judgeMaxActualTokens());
+  }
+
+  /**
+   * Runs the evaluation, or replays the verdict of an identical evaluation in the same test within the
+   * memo's time window. Deferred batch evaluations, timeouts and assertions created outside a known
+   * test are never memoized.
+   */
+  private SemanticTextAssert memoized(String assertion, String model, String expected, Runnable evaluation) {
+    VerdictMemo memo = defaults.verdictMemo();
+    if (memo == null || batch != null || actual == null || model == null || TestIds.UNKNOWN.equals(testId)) {
+      evaluation.run();
+      return this;
+    }
+    String key =
+        VerdictMemo.key(
+            testId,
+            assertion,
+            model,
+            TextNormalizer.normalize(actual, options),
+            expected,
+            options.fingerprint());
+    VerdictMemo.Verdict verdict = memo.get(key);
+    if (verdict != null) {
+      metrics.shortCircuit(assertion, "memo");
+      result = verdict.result();
+      if (verdict.failure() != null) {
+        throw new AssertionError(verdict.failure()); // the message already carries the description
+      }
+      return this;
+    }
+
+    SemanticResult previous = result;
+    try {
+      evaluation.run();
+    } catch (AssertionError e) {
+      if (result != previous && result.method() != SemanticResult.Method.TIMEOUT) {
+        memo.put(key, result, e.getMessage());
+      }
+      throw e;
+    }
+    if (result != previous) {
+      memo.put(key, result, null);
     }
     return this;
   }
 
+  /** The embedding model instance for memo keys, or {@code null} without a model. */
+  private String embeddingIdentity() {
+    if (embeddingModel == null) {
+      return null;
+    }
+    return embeddingClient().modelName() + "@" + System.identityHashCode(embeddingModel);
+  }
+
+  /** The judge model instance(s) for memo keys, or {@code null} without a judge. */
+  private String judgeIdentity() {
+    if (judgeModel == null) {
+      return null;
+    }
+    List<ChatModel> judges = judgeModels == null ? List.of(judgeModel) : judgeModels;
+    return judges.stream()
+        .map(judge -> modelName(judge) + "@" + System.identityHashCode(judge))
+        .collect(Collectors.joining(","));
+  }
+
+  private void recordResult(
+      Attempt attempt,
+      String expected,
+      SemanticResult.Method method,
+      boolean passed,
+      double score,
+      double threshold,
+      String reason) {
+    Duration latency = Duration.ofNanos(System.nanoTime() - attempt.startNanos());
+    this.result = new SemanticResult(method, passed, score, threshold, reason, latency, attempt.model());
+    SemanticReport report = defaults.report();
+    if (report != null) {
+      report.append(testId, attempt.assertion(), result, actual, expected);
+    }
+  }
+
+  /** An assertion in progress: its name, the deciding model(s) and when it started. */
+  private record Attempt(String assertion, String model, long startNanos) {}
+
+  private String callJudge(ChatModel judge, String prompt) {
+    return callJudge(judge, prompt, false, 0);
+  }
+
+  /** Sends the prompt and records latency, token usage and the parsed outcome of the judge call.
+   *
+   * <p>The call is bounded by {@link SemanticOptions#judgeDeadline()} and, with
+   * {@link SemanticOptions#hedgeJudge()}, duplicated once it runs longer than the p95 latency of
+   * earlier calls of the same model and assertion.
+   *
+   * <p>Rubric responses are never streamed: their per-field verdicts precede nothing we could stop at.
+   *
+   * @param sample the index of the sample within a judge quorum, so cassettes record each one
+   */
+  private String callJudge(ChatModel judge, String prompt, boolean rubric, int sample) {
+    String model = modelName(judge);
+    String assertion = rubric ? RUBRIC_ASSERTION : JUDGE_ASSERTION;
+    boolean stream = options.streamJudge() && !rubric;
+    LatencyTracker latencies = LatencyTracker.of(model + "/" + assertion);
+    Supplier<String> send =
+        () -> {
+          long sent = System.nanoTime();
+          String response = sendToJudge(judge, model, assertion, prompt, stream, sample);
+          latencies.record(System.nanoTime() - sent);
+          return response;
+        };
+    ModelCallGovernor governor = defaults.governor();
+    Supplier<String> governed =
+        governor == null ? send : () -> governor.call(judge, ModelCallGovernor.estimateTokens(prompt), send);
+    Duration hedgeAfter = options.hedgeJudge() ? latencies.percentile(HEDGE_QUANTILE) : null;
+
+    long start = System.nanoTime();
+    String outcome = "error";
+    try {
+      HedgedCall.Answer<String> answer = HedgedCall.call(governed, options.judgeDeadline(), hedgeAfter);
+      if (answer.hedged()) {
+        metrics.hedge(model, answer.hedgeWon());
+      }
+      String response = answer.value();
+      outcome = rubric ? rubricOutcome(response) : judgeOutcome(response);
+      if (outcome.equals("unparsable")) {
+        metrics.parseFailure(model, assertion);
+      }
+      return response;
+    } catch (HedgedCall.DeadlineExceeded e) {
+      outcome = "timeout";
+      throw e;
+    } finally {
+      metrics.recordJudge(model, assertion, outcome, System.nanoTime() - start);
+    }
+  }
+
+  private String judgeOutcome(String response) {
+    JudgeResult verdict = JudgeResult.tryParse(response);
+    if (verdict == null) {
+      return "unparsable";
+    }
+    return verdict.pass && verdict.score >= options.judgeMinScore() ? "pass" : "fail";
+  }
+
+  private String rubricOutcome(String response) {
+    JudgeRubric.Verdict verdict = JudgeRubric.tryParse(response);
+    if (verdict == null) {
+      return "unparsable";
+    }
+    return verdict.passes(options.judgeMinScore()) ? "pass" : "fail";
+  }
+
+  private String sendToJudge(
+      ChatModel judge, String model, String assertion, String prompt, boolean stream, int sample) {
+    if (judge instanceof CassetteChatModel cassette) {
+      return chunkText(cassette.call(new Prompt(prompt), sample)); // replays are instant; nothing to stream
+    }
+    if (!stream) {
+      ChatResponse response = judge.call(new Prompt(prompt));
+      recordUsage(model, assertion, response);
+      return chunkText(response);
+    }
+    // consume the stream until pass, score and the whole reason are known; takeUntil cancels the rest
+    StreamedVerdict verdict = new StreamedVerdict();
+    AtomicReference<Usage> usage = new AtomicReference<>();
+    AtomicBoolean cancelled = new AtomicBoolean();
+    try {
+      judge.stream(new Prompt(prompt))
+          .doOnNext(
+              chunk -> {
+                // providers report cumulative usage, usually in the last chunk only
+                Usage reported = usageOf(chunk);
+                if (reported != null) {
+                  usage.set(reported);
+                }
+              })
+          .doOnCancel(() -> cancelled.set(true))
+          .map(SemanticTextAssert::chunkText)
+          .takeUntil(verdict::append)
+          .blockLast();
+    } catch (UnsupportedOperationException e) {
+      metrics.retry(model, "streaming_unsupported");
+      ChatResponse fallback = judge.call(new Prompt(prompt)); // model without streaming support
+      recordUsage(model, assertion, fallback);
+      return chunkText(fallback);
+    }
+    if (cancelled.get()) {
+      metrics.streamCancelled(model, assertion); // usage sent after the verdict was not received
+    }
+    recordUsage(model, assertion, usage.get());
+    return verdict.text();
+  }
+
+  private void recordUsage(String model, String assertion, ChatResponse response) {
+    recordUsage(model, assertion, usageOf(response));
+  }
+
+  private void recordUsage(String model, String assertion, Usage usage) {
+    if (usage != null) {
+      metrics.recordTokens(model, assertion, usage.getPromptTokens(), usage.getCompletionTokens());
+    }
+  }
+
+  /** The usage reported with the response, or {@code null} if it carries none (or only zeros). */
+  private static Usage usageOf(ChatResponse response) {
+    if (response == null || response.getMetadata() == null) {
+      return null;
+    }
+    Usage usage = response.getMetadata().getUsage();
+    if (usage == null || (isEmpty(usage.getPromptTokens()) && isEmpty(usage.getCompletionTokens()))) {
+      return null;
+    }
+    return usage;
+  }
+
+  private static boolean isEmpty(Integer tokens) {
+    return tokens == null || tokens == 0;
+  }
+
+  private static String modelName(ChatModel judge) {
+    String model = judge.getDefaultOptions() == null ? null : judge.getDefaultOptions().getModel();
+    return model == null ? judge.getClass().getSimpleName() : model;
+  }
+
+  private static String chunkText(ChatResponse chunk) {
+    if (chunk == null || chunk.getResult() == null || chunk.getResult().getOutput() == null) {
+      return "";
+    }
+    String text = chunk.getResult().getOutput().getText();
+    return text == null ? "" : text;
+  }
+
+  private EmbeddingClient embeddingClient() {
+    return new EmbeddingClient(
+        embeddingModel,
+        embeddingModelId,
+        defaults.embeddingCache(),
+        options.embeddingBatchSize(),
+        defaults.governor(),
+        metrics);
+  }
+
   /** Minimal JSON parser for the expected judge output. */
   static final class JudgeResult {
     final boolean pass;
@@ -114,6 +833,25 @@ public final class SemanticTextAssert extends AbstractAssert<SemanticTextAssert,
       }
     }
 
+    /** Whether a (possibly partial) response already contains {@code pass} and a complete {@code score}. */
+    static boolean isDecided(String partial) {
+      if (extractBoolean(partial, "pass") == null) return false;
+      int i = partial.indexOf("\"score\"");
+      if (i < 0) return false;
+      int colon = partial.indexOf(':', i);
+      if (colon < 0) return false;
+      int start = colon + 1;
+      while (start < partial.length() && Character.isWhitespace(partial.charAt(start))) start++;
+      int end = start;
+      while (end < partial.length() && isNumberChar(partial.charAt(end))) end++;
+      // the number is only complete once a character after it has arrived
+      return end > start && end < partial.length();
+    }
+
+    private static boolean isNumberChar(char c) {
+      return Character.isDigit(c) || c == '.' || c == '-';
+    }
+
     private static Boolean extractBoolean(String s, String key) {
       int i = s.indexOf('"' + key + '"');
       if (i < 0) return null;
@@ -133,7 +871,7 @@ public final class SemanticTextAssert extends AbstractAssert<SemanticTextAssert,
       int start = colon + 1;
       while (start < s.length() && Character.isWhitespace(s.charAt(start))) start++;
       int end = start;
-      while (end < s.length() && (Character.isDigit(s.charAt(end)) || s.charAt(end) == '.' || s.charAt(end) == '-')) end++;
+      while (end < s.length() && isNumberChar(s.charAt(end))) end++;
       if (end == start) return null;
       return Double.parseDouble(s.substring(start, end));
     }
@@ -145,9 +883,83 @@ public final class SemanticTextAssert extends AbstractAssert<SemanticTextAssert,
       if (colon < 0) return null;
       int q1 = s.indexOf('"', colon + 1);
       if (q1 < 0) return null;
-      int q2 = s.indexOf('"', q1 + 1);
-      if (q2 < 0) return null;
+      int q2 = closingQuote(s, q1 + 1);
+      if (q2 < 0) return s.substring(q1 + 1); // truncated response: keep what arrived
       return s.substring(q1 + 1, q2);
     }
+
+    /** The index of the first unescaped quote at or after {@code from}, or -1. */
+    private static int closingQuote(String s, int from) {
+      for (int i = from; i < s.length(); i++) {
+        char c = s.charAt(i);
+        if (c == '\\') {
+          i++;
+        } else if (c == '"') {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Collects a streamed judge response until pass, score and the complete reason have arrived. Only
+   * the new text of a chunk is scanned for the end of the reason, so long responses cost linear time.
+   */
+  static final class StreamedVerdict {
+    private static final String REASON_KEY = "\"reason\"";
+
+    private final StringBuilder text = new StringBuilder();
+    private int keySearchFrom;
+    /** Where scanning for the reason resumes: its opening quote, then its closing quote. */
+    private int reasonFrom = -1;
+    private boolean reasonOpened;
+    private boolean reasonClosed;
+
+    /** Appends a chunk; returns whether the verdict is complete, so the rest of the stream can be skipped. */
+    boolean append(String chunk) {
+      text.append(chunk);
+      if (!reasonClosed) {
+        reasonClosed = scanReason();
+      }
+      // a response without a reason is read to its end
+      return reasonClosed && JudgeResult.isDecided(text.toString());
+    }
+
+    String text() {
+      return text.toString();
+    }
+
+    private boolean scanReason() {
+      if (reasonFrom < 0) {
+        int key = text.indexOf(REASON_KEY, keySearchFrom);
+        if (key < 0) {
+          keySearchFrom = Math.max(0, text.length() - REASON_KEY.length() + 1);
+          return false;
+        }
+        reasonFrom = key + REASON_KEY.length();
+      }
+      if (!reasonOpened) {
+        int quote = text.indexOf("\"", reasonFrom);
+        if (quote < 0) {
+          reasonFrom = text.length();
+          return false;
+        }
+        reasonOpened = true;
+        reasonFrom = quote + 1;
+      }
+      for (; reasonFrom < text.length(); reasonFrom++) {
+        char c = text.charAt(reasonFrom);
+        if (c == '\\') {
+          if (reasonFrom + 1 == text.length()) {
+            return false; // the escaped character has not arrived yet
+          }
+          reasonFrom++;
+        } else if (c == '"') {
+          return true;
+        }
+      }
+      return false;
+    }
   }
 }
@@ -0,0 +1,61 @@
+package io.camunda.dev.assertions.ai;
+
+import io.camunda.dev.assertions.ai.internal.ContentHash;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Verdicts of evaluated assertions, reused while the same evaluation is repeated.
+ *
+ * <p>Polling assertions such as {@code CamundaAssert.hasLocalVariableSatisfies} re-run their lambda
+ * until it passes or the assertion timeout elapses; an identical semantic assertion inside it is only
+ * sent to the model once per window. Keys cover the test, assertion, model instance, normalized actual
+ * text, expectation and options. Failing verdicts are reused as well, so a retry only re-asks the
+ * model once the actual text changes.
+ */
+final class VerdictMemo {
+
+  /** Expired entries are swept once the memo holds this many. */
+  private static final int SWEEP_SIZE = 1024;
+
+  /** The result and, for failing verdicts, the assertion error message. */
+  record Verdict(SemanticResult result, String failure) {}
+
+  private record Entry(Verdict verdict, long expiresAt) {}
+
+  private final long ttlNanos;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  VerdictMemo(Duration ttl) {
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  static String key(String... parts) {
+    return ContentHash.sha256Hex(parts);
+  }
+
+  /** Returns the unexpired verdict or {@code null}. */
+  Verdict get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAt() - System.nanoTime() <= 0) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry.verdict();
+  }
+
+  void put(String key, SemanticResult result, String failure) {
+    long now = System.nanoTime();
+    if (entries.size() >= SWEEP_SIZE) {
+      entries.values().removeIf(e -> e.expiresAt() - now <= 0);
+    }
+    entries.put(key, new Entry(new Verdict(result, failure), now + ttlNanos));
+  }
+
+  int size() {
+    return entries.size();
+  }
+}
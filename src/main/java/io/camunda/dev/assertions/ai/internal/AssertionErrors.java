@@ -0,0 +1,34 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.List;
+
+/** Combines the failures of several assertions into one error. */
+public final class AssertionErrors {
+
+  private AssertionErrors() {}
+
+  /** Throws if there are failures: the single failure itself, or one error listing all of them. */
+  public static void throwIfAny(List<? extends Throwable> failures, int total) {
+    if (failures.isEmpty()) {
+      return;
+    }
+    if (failures.size() == 1 && failures.get(0) instanceof AssertionError single) {
+      throw single;
+    }
+    StringBuilder message =
+        new StringBuilder(String.format("%d of %d semantic assertions failed:", failures.size(), total));
+    for (int i = 0; i < failures.size(); i++) {
+      message.append(String.format("%n%n[%d] %s", i + 1, describe(failures.get(i))));
+    }
+    AssertionError error = new AssertionError(message.toString());
+    failures.forEach(error::addSuppressed);
+    throw error;
+  }
+
+  private static String describe(Throwable failure) {
+    if (failure instanceof AssertionError) {
+      return failure.getMessage();
+    }
+    return failure.getClass().getSimpleName() + ": " + failure.getMessage();
+  }
+}
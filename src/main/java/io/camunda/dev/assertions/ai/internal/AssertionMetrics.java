@@ -0,0 +1,195 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** Micrometer meters of semantic assertions, all named {@code camunda.ai.assertions.*}.
+ *
+ * <ul>
+ *   <li>{@code embed} / {@code judge}: timers per model call, tagged {@code model}, {@code assertion},
+ *       {@code outcome} ({@code pass}, {@code fail}, {@code unparsable}, {@code timeout} or {@code error})
+ *   <li>{@code judge.tokens}: prompt and completion tokens reported by the judge ({@code type} tag)
+ *   <li>{@code judge.parse.failures}, {@code retries}, {@code embedding.cache} ({@code result=hit|miss})
+ *   <li>{@code judge.stream.cancelled}: streamed judge responses cancelled once the verdict was complete;
+ *       their token usage is missing from {@code judge.tokens} if the provider sends it last
+ *   <li>{@code short.circuits}: assertions decided without a model call ({@code method=exact|lexical|memo})
+ *   <li>{@code hedges}: duplicate judge calls sent after the p95 latency ({@code winner=primary|hedge})
+ * </ul>
+ */
+public final class AssertionMetrics {
+
+  public static final String PREFIX = "camunda.ai.assertions.";
+
+  /** Set to {@code true} to print the meters of the built-in registry when the JVM shuts down. */
+  public static final String PRINT_SUMMARY_PROPERTY = "camunda.ai.assertions.metrics.print";
+
+  private final MeterRegistry registry;
+
+  public AssertionMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * The registry used when none is configured. Its meters are printed when the JVM shuts down if the
+   * system property {@value #PRINT_SUMMARY_PROPERTY} is {@code true}.
+   */
+  public static MeterRegistry builtInRegistry() {
+    return BuiltIn.REGISTRY;
+  }
+
+  public void recordEmbed(String model, String assertion, String outcome, long nanos) {
+    timer("embed", model, assertion, outcome).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordJudge(String model, String assertion, String outcome, long nanos) {
+    timer("judge", model, assertion, outcome).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordTokens(String model, String assertion, Integer promptTokens, Integer completionTokens) {
+    if (promptTokens != null && promptTokens > 0) {
+      tokens(model, assertion, "prompt").record(promptTokens);
+    }
+    if (completionTokens != null && completionTokens > 0) {
+      tokens(model, assertion, "completion").record(completionTokens);
+    }
+  }
+
+  public void parseFailure(String model, String assertion) {
+    Counter.builder(PREFIX + "judge.parse.failures")
+        .tag("model", model)
+        .tag("assertion", assertion)
+        .register(registry)
+        .increment();
+  }
+
+  public void streamCancelled(String model, String assertion) {
+    Counter.builder(PREFIX + "judge.stream.cancelled")
+        .tag("model", model)
+        .tag("assertion", assertion)
+        .register(registry)
+        .increment();
+  }
+
+  public void retry(String model, String reason) {
+    Counter.builder(PREFIX + "retries").tag("model", model).tag("reason", reason).register(registry).increment();
+  }
+
+  /** An assertion decided without a model call ({@code method} is {@code exact}, {@code lexical} or {@code memo}). */
+  public void shortCircuit(String assertion, String method) {
+    Counter.builder(PREFIX + "short.circuits")
+        .tag("assertion", assertion)
+        .tag("method", method)
+        .register(registry)
+        .increment();
+  }
+
+  /** A hedged call was sent; {@code hedgeWon} tells whether it answered before the original call. */
+  public void hedge(String model, boolean hedgeWon) {
+    Counter.builder(PREFIX + "hedges")
+        .tag("model", model)
+        .tag("winner", hedgeWon ? "hedge" : "primary")
+        .register(registry)
+        .increment();
+  }
+
+  public void cacheLookups(String model, int hits, int misses) {
+    if (hits > 0) {
+      cacheCounter(model, "hit").increment(hits);
+    }
+    if (misses > 0) {
+      cacheCounter(model, "miss").increment(misses);
+    }
+  }
+
+  private Timer timer(String name, String model, String assertion, String outcome) {
+    return Timer.builder(PREFIX + name)
+        .tag("model", model)
+        .tag("assertion", assertion)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  private DistributionSummary tokens(String model, String assertion, String type) {
+    return DistributionSummary.builder(PREFIX + "judge.tokens")
+        .baseUnit("tokens")
+        .tag("model", model)
+        .tag("assertion", assertion)
+        .tag("type", type)
+        .register(registry);
+  }
+
+  private Counter cacheCounter(String model, String result) {
+    return Counter.builder(PREFIX + "embedding.cache").tag("model", model).tag("result", result).register(registry);
+  }
+
+  /** Two instances are equal if they record into the same registry. */
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof AssertionMetrics other && registry == other.registry;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(registry);
+  }
+
+  /** Prints one line per assertion meter, sorted by name and tags. */
+  public static void printSummary(MeterRegistry registry, PrintStream out) {
+    registry.getMeters().stream()
+        .filter(meter -> meter.getId().getName().startsWith(PREFIX))
+        .sorted(Comparator.comparing(AssertionMetrics::describe))
+        .forEach(meter -> out.println(describe(meter) + " " + measurements(meter)));
+  }
+
+  private static String describe(Meter meter) {
+    return meter.getId().getName()
+        + meter.getId().getTags().stream()
+            .map(tag -> tag.getKey() + "=" + tag.getValue())
+            .collect(Collectors.joining(",", "{", "}"));
+  }
+
+  private static String measurements(Meter meter) {
+    StringBuilder line = new StringBuilder();
+    for (Measurement measurement : meter.measure()) {
+      if (line.length() > 0) {
+        line.append(' ');
+      }
+      line.append(measurement.getStatistic().getTagValueRepresentation())
+          .append('=')
+          .append(String.format("%.3f", measurement.getValue()));
+    }
+    return line.toString();
+  }
+
+  private static final class BuiltIn {
+    static final MeterRegistry REGISTRY = create();
+
+    private static MeterRegistry create() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      if (!Boolean.getBoolean(PRINT_SUMMARY_PROPERTY)) {
+        return registry;
+      }
+      Thread hook =
+          new Thread(
+              () -> {
+                if (registry.getMeters().isEmpty()) {
+                  return;
+                }
+                System.out.println("Camunda AI assertion metrics:");
+                printSummary(registry, System.out);
+              },
+              "camunda-ai-assertion-metrics");
+      Runtime.getRuntime().addShutdownHook(hook);
+      return registry;
+    }
+  }
+}
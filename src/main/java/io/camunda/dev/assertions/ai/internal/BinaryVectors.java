@@ -0,0 +1,82 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+/** Vectors reduced to one sign bit per component (32x smaller than floats).
+ *
+ * <p>The Hamming distance between two sign vectors estimates their angle ({@code pi * h / dims}), so
+ * it is only used to preselect candidates that are then scored exactly.
+ */
+public final class BinaryVectors {
+
+  private final long[] bits;
+  private final int rows;
+  private final int dims;
+  private final int words;
+
+  private BinaryVectors(long[] bits, int rows, int dims) {
+    this.bits = bits;
+    this.rows = rows;
+    this.dims = dims;
+    this.words = (dims + 63) >>> 6;
+  }
+
+  public static BinaryVectors of(List<float[]> vectors) {
+    int dims = vectors.get(0).length;
+    int words = (dims + 63) >>> 6;
+    long[] bits = new long[vectors.size() * words];
+    for (int r = 0; r < vectors.size(); r++) {
+      float[] v = vectors.get(r);
+      if (v.length != dims) {
+        throw new IllegalArgumentException("vector dimensions differ: " + dims + " vs " + v.length);
+      }
+      int offset = r * words;
+      for (int i = 0; i < dims; i++) {
+        if (v[i] > 0f) {
+          bits[offset + (i >>> 6)] |= 1L << (i & 63);
+        }
+      }
+    }
+    return new BinaryVectors(bits, vectors.size(), dims);
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  /** Heap bytes of the bit rows. */
+  public long bytes() {
+    return 8L * bits.length;
+  }
+
+  public int hamming(int row, BinaryVectors query) {
+    int offset = row * words;
+    int distance = 0;
+    for (int w = 0; w < words; w++) {
+      distance += Long.bitCount(bits[offset + w] ^ query.bits[w]);
+    }
+    return distance;
+  }
+
+  /** The {@code n} rows closest to row 0 of {@code query} by Hamming distance, in no particular order. */
+  public int[] nearest(BinaryVectors query, int n) {
+    if (query.dims != dims) {
+      throw new IllegalArgumentException("vector dimensions differ: " + dims + " vs " + query.dims);
+    }
+    int keep = Math.min(n, rows);
+    int[] distances = new int[rows];
+    // max-heap of the closest rows seen so far
+    PriorityQueue<Integer> closest = new PriorityQueue<>(keep + 1, (x, y) -> Integer.compare(distances[y], distances[x]));
+    for (int r = 0; r < rows; r++) {
+      distances[r] = hamming(r, query);
+      if (closest.size() < keep) {
+        closest.add(r);
+      } else if (distances[r] < distances[closest.peek()]) {
+        closest.poll();
+        closest.add(r);
+      }
+    }
+    return closest.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
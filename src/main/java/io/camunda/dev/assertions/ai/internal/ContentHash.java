@@ -0,0 +1,36 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** SHA-256 content hashes used as stable keys for cached model results. */
+public final class ContentHash {
+
+  public static final int LENGTH_BYTES = 32;
+
+  private ContentHash() {}
+
+  /** Hashes the given parts; parts are separated so that ("ab","c") and ("a","bc") differ. */
+  public static byte[] sha256(String... parts) {
+    MessageDigest digest = newDigest();
+    for (String part : parts) {
+      digest.update((part == null ? "" : part).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+    }
+    return digest.digest();
+  }
+
+  public static String sha256Hex(String... parts) {
+    return HexFormat.of().formatHex(sha256(parts));
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -1,16 +1,45 @@
 package io.camunda.dev.assertions.ai.internal;
 
+/** Cosine similarity and dot products over float vectors.
+ *
+ * <p>Uses a scalar loop by default. Builds with the {@code vector} Maven profile add a JDK Vector API
+ * kernel, which is used when the JVM runs with {@code --add-modules jdk.incubator.vector}.
+ */
 public final class CosineSimilarity {
 
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final String VECTOR_KERNEL = "io.camunda.dev.assertions.ai.internal.VectorizedSimilarity";
+
+  /** The Vector API kernel, or {@code null} if it is not compiled in or the module is missing. */
+  static final SimilarityKernel KERNEL = loadKernel();
+
+  static final boolean VECTORIZED = KERNEL != null;
+
+  /** Below this length the scalar loop is as fast as the vectorized one. */
+  private static final int VECTORIZE_MIN_LENGTH = 64;
+
   private CosineSimilarity() {}
 
-  public static double cosine(float[] a, float[] b) {
-    if (a == null || b == null) {
-      throw new IllegalArgumentException("vectors must not be null");
+  private static SimilarityKernel loadKernel() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+      return null;
     }
-    if (a.length != b.length) {
-      throw new IllegalArgumentException("vector dimensions differ: " + a.length + " vs " + b.length);
+    try {
+      return (SimilarityKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null; // built without the vector profile
+    }
+  }
+
+  public static double cosine(float[] a, float[] b) {
+    checkDimensions(a, b);
+    if (VECTORIZED && a.length >= VECTORIZE_MIN_LENGTH) {
+      return KERNEL.cosine(a, b);
     }
+    return scalarCosine(a, b);
+  }
+
+  static double scalarCosine(float[] a, float[] b) {
     double dot = 0.0;
     double na = 0.0;
     double nb = 0.0;
@@ -19,9 +48,88 @@ public final class CosineSimilarity {
       na += (double) a[i] * a[i];
       nb += (double) b[i] * b[i];
     }
+    return cosine(dot, na, nb);
+  }
+
+  /** Dot product; equals the cosine similarity if both vectors are L2-normalized. */
+  public static double dot(float[] a, float[] b) {
+    checkDimensions(a, b);
+    if (VECTORIZED && a.length >= VECTORIZE_MIN_LENGTH) {
+      return KERNEL.dot(a, 0, b, 0, a.length);
+    }
+    return scalarDot(a, 0, b, 0, a.length);
+  }
+
+  /** Scores a query against {@code rows} candidates stored row-major in {@code matrix}, in one pass.
+   *
+   * <p>Returns the cosine similarity per row. If {@code normalized} is set, both query and rows must be
+   * L2-normalized and plain dot products are computed.
+   */
+  public static double[] cosineAll(float[] query, float[] matrix, int rows, boolean normalized) {
+    if (query == null || matrix == null) {
+      throw new IllegalArgumentException("vectors must not be null");
+    }
+    int dims = query.length;
+    if ((long) rows * dims != matrix.length) {
+      throw new IllegalArgumentException(
+          "matrix of length " + matrix.length + " does not hold " + rows + " rows of dimension " + dims);
+    }
+    boolean vectorized = VECTORIZED && dims >= VECTORIZE_MIN_LENGTH;
+    double queryNorm = normalized ? 1.0 : Math.sqrt(dot(vectorized, query, 0, query, 0, dims));
+    double[] scores = new double[rows];
+    for (int r = 0; r < rows; r++) {
+      int offset = r * dims;
+      double dot = dot(vectorized, query, 0, matrix, offset, dims);
+      if (normalized) {
+        scores[r] = dot;
+      } else {
+        double rowNorm = Math.sqrt(dot(vectorized, matrix, offset, matrix, offset, dims));
+        scores[r] = queryNorm == 0.0 || rowNorm == 0.0 ? 0.0 : dot / (queryNorm * rowNorm);
+      }
+    }
+    return scores;
+  }
+
+  /** Returns an L2-normalized copy of the vector (or a zero vector for a zero input). */
+  public static float[] normalize(float[] v) {
+    double norm = Math.sqrt(scalarDot(v, 0, v, 0, v.length));
+    float[] out = new float[v.length];
+    if (norm == 0.0) {
+      return out;
+    }
+    for (int i = 0; i < v.length; i++) {
+      out[i] = (float) (v[i] / norm);
+    }
+    return out;
+  }
+
+  static double cosine(double dot, double na, double nb) {
     if (na == 0.0 || nb == 0.0) {
       return 0.0;
     }
     return dot / (Math.sqrt(na) * Math.sqrt(nb));
   }
+
+  private static double dot(boolean vectorized, float[] a, int aOffset, float[] b, int bOffset, int length) {
+    return vectorized
+        ? KERNEL.dot(a, aOffset, b, bOffset, length)
+        : scalarDot(a, aOffset, b, bOffset, length);
+  }
+
+  static double scalarDot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+    double dot = 0.0;
+    for (int i = 0; i < length; i++) {
+      dot += (double) a[aOffset + i] * b[bOffset + i];
+    }
+    return dot;
+  }
+
+  private static void checkDimensions(float[] a, float[] b) {
+    if (a == null || b == null) {
+      throw new IllegalArgumentException("vectors must not be null");
+    }
+    if (a.length != b.length) {
+      throw new IllegalArgumentException("vector dimensions differ: " + a.length + " vs " + b.length);
+    }
+  }
 }
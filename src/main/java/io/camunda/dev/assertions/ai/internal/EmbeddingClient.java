@@ -0,0 +1,142 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import io.camunda.dev.assertions.ai.EmbeddingCache;
+import io.camunda.dev.assertions.ai.LocalEmbeddingModel;
+import io.camunda.dev.assertions.ai.ModelCallGovernor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+/** Embeds texts with an {@link EmbeddingModel}, consulting the optional {@link EmbeddingCache} first.
+ *
+ * <p>Cache misses are de-duplicated and sent in batched {@link EmbeddingModel#embed(List)} calls of at
+ * most {@code maxBatchSize} texts. The cache is only used when the model has a known identity: an
+ * explicit model id, or the id of a {@link LocalEmbeddingModel}. Two clients are equal if they target
+ * the same model, model id and cache, so pending work of several assertions can be grouped per client.
+ */
+public final class EmbeddingClient {
+
+  private final EmbeddingModel model;
+  private final String modelId;
+  private final String modelName;
+  private final EmbeddingCache cache;
+  private final int maxBatchSize;
+  private final ModelCallGovernor governor;
+  private final AssertionMetrics metrics;
+
+  public EmbeddingClient(
+      EmbeddingModel model,
+      String modelId,
+      EmbeddingCache cache,
+      int maxBatchSize,
+      ModelCallGovernor governor,
+      AssertionMetrics metrics) {
+    this.model = model;
+    this.modelId = modelId != null ? modelId : model instanceof LocalEmbeddingModel local ? local.id() : null;
+    this.modelName = this.modelId == null ? model.getClass().getSimpleName() : this.modelId;
+    // without an identity, vectors of two models of the same class would share cache entries
+    this.cache = this.modelId == null ? null : cache;
+    this.maxBatchSize = maxBatchSize;
+    this.governor = governor;
+    this.metrics = metrics;
+  }
+
+  /** The model identity used in cache keys, or {@code null} if the model is not cached. */
+  public String modelId() {
+    return modelId;
+  }
+
+  /** The model name used in metrics and reports: the model id, or the simple class name without one. */
+  public String modelName() {
+    return modelName;
+  }
+
+  public float[] embed(String text, String assertion) {
+    return embedAll(List.of(text), assertion).get(0);
+  }
+
+  /** Returns one vector per input text, in input order.
+   *
+   * @param assertion the assertion type the model calls are tagged with in the metrics
+   */
+  public List<float[]> embedAll(List<String> texts, String assertion) {
+    Map<String, float[]> resolved = new LinkedHashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String text : texts) {
+      if (resolved.containsKey(text)) {
+        continue;
+      }
+      float[] cached = cache == null ? null : cache.get(modelId, text);
+      resolved.put(text, cached);
+      if (cached == null) {
+        misses.add(text);
+      }
+    }
+    if (cache != null) {
+      metrics.cacheLookups(modelName, resolved.size() - misses.size(), misses.size());
+    }
+
+    for (int from = 0; from < misses.size(); from += maxBatchSize) {
+      List<String> batch = misses.subList(from, Math.min(misses.size(), from + maxBatchSize));
+      List<float[]> vectors = embedBatch(batch, assertion);
+      if (vectors.size() != batch.size()) {
+        throw new IllegalStateException(
+            "EmbeddingModel returned " + vectors.size() + " vectors for " + batch.size() + " texts");
+      }
+      for (int i = 0; i < batch.size(); i++) {
+        resolved.put(batch.get(i), vectors.get(i));
+        if (cache != null) {
+          cache.put(modelId, batch.get(i), vectors.get(i));
+        }
+      }
+    }
+
+    List<float[]> result = new ArrayList<>(texts.size());
+    for (String text : texts) {
+      result.add(resolved.get(text));
+    }
+    return result;
+  }
+
+  private List<float[]> embedBatch(List<String> batch, String assertion) {
+    long start = System.nanoTime();
+    String outcome = "error";
+    try {
+      List<float[]> vectors;
+      if (governor == null) {
+        vectors = model.embed(batch);
+      } else {
+        long tokens = batch.stream().mapToLong(ModelCallGovernor::estimateTokens).sum();
+        vectors = governor.call(model, tokens, () -> model.embed(batch));
+      }
+      outcome = "success";
+      return vectors;
+    } finally {
+      metrics.recordEmbed(modelName, assertion, outcome, System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EmbeddingClient other)) {
+      return false;
+    }
+    return model == other.model
+        && cache == other.cache
+        && maxBatchSize == other.maxBatchSize
+        && governor == other.governor
+        && metrics.equals(other.metrics)
+        && Objects.equals(modelId, other.modelId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(System.identityHashCode(model), modelId, System.identityHashCode(cache), maxBatchSize);
+  }
+}
@@ -0,0 +1,107 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** Runs a model call with a deadline and, optionally, one hedged duplicate.
+ *
+ * <p>If the first call has not answered after {@code hedgeAfter}, the same call is sent a second time
+ * and whichever answers first wins. The other call, and every call still running at the deadline, is
+ * cancelled by interrupting its thread.
+ */
+public final class HedgedCall {
+
+  private HedgedCall() {}
+
+  /** The answer and whether a hedge was sent and won. */
+  public record Answer<T>(T value, boolean hedged, boolean hedgeWon) {}
+
+  /** No call answered before the deadline. */
+  public static final class DeadlineExceeded extends RuntimeException {
+    private final Duration deadline;
+
+    DeadlineExceeded(Duration deadline) {
+      super("no answer within " + deadline);
+      this.deadline = deadline;
+    }
+
+    public Duration deadline() {
+      return deadline;
+    }
+  }
+
+  /**
+   * @param deadline maximum time to wait for an answer; {@link Duration#ZERO} waits indefinitely
+   * @param hedgeAfter when to send the duplicate call; {@code null} sends none
+   */
+  public static <T> Answer<T> call(Supplier<T> call, Duration deadline, Duration hedgeAfter) {
+    boolean bounded = !deadline.isZero();
+    if (!bounded && hedgeAfter == null) {
+      return new Answer<>(call.get(), false, false); // nothing to wait for: stay on the caller's thread
+    }
+    long start = System.nanoTime();
+    long deadlineAt = bounded ? start + deadline.toNanos() : Long.MAX_VALUE;
+    CompletionService<T> answers = new ExecutorCompletionService<>(ModelExecutors.virtualThreads());
+    List<Future<T>> calls = new ArrayList<>(2);
+    calls.add(answers.submit(call::get));
+    int pending = 1;
+    try {
+      while (true) {
+        boolean mayHedge = hedgeAfter != null && calls.size() == 1;
+        long waitUntil = mayHedge ? Math.min(deadlineAt, start + hedgeAfter.toNanos()) : deadlineAt;
+        Future<T> done = poll(answers, waitUntil);
+        if (done == null) {
+          if (mayHedge && waitUntil < deadlineAt) {
+            calls.add(answers.submit(call::get));
+            pending++;
+            continue;
+          }
+          throw new DeadlineExceeded(deadline);
+        }
+        pending--;
+        try {
+          return new Answer<>(done.get(), calls.size() > 1, calls.size() > 1 && done == calls.get(1));
+        } catch (ExecutionException e) {
+          if (pending == 0) {
+            throw unwrap(e);
+          }
+          // the other call may still answer
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for a model call", e);
+        }
+      }
+    } finally {
+      calls.forEach(f -> f.cancel(true));
+    }
+  }
+
+  private static <T> Future<T> poll(CompletionService<T> answers, long untilNanos) {
+    try {
+      if (untilNanos == Long.MAX_VALUE) {
+        return answers.take();
+      }
+      return answers.poll(untilNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a model call", e);
+    }
+  }
+
+  private static RuntimeException unwrap(ExecutionException e) {
+    if (e.getCause() instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (e.getCause() instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException("Model call failed", e.getCause());
+  }
+}
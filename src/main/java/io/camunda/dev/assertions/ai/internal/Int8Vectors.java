@@ -0,0 +1,102 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.List;
+
+/** Unit vectors quantized to one signed byte per component, with one scale per vector.
+ *
+ * <p>Component {@code i} of row {@code r} is approximated by {@code codes[r * dims + i] * scales[r]}.
+ * Dot products are computed in integer arithmetic and scaled once. {@link #errorBound} bounds the
+ * difference to the exact float dot product, so callers can rescore only candidates whose
+ * approximate score is that close to a threshold.
+ */
+public final class Int8Vectors {
+
+  private final byte[] codes;
+  private final float[] scales;
+  private final int rows;
+  private final int dims;
+  /** {@code sqrt(dims) / 2}: the L2 rounding error of a row is at most {@code scale * halfSqrtDims}. */
+  private final double halfSqrtDims;
+
+  private Int8Vectors(byte[] codes, float[] scales, int rows, int dims) {
+    this.codes = codes;
+    this.scales = scales;
+    this.rows = rows;
+    this.dims = dims;
+    this.halfSqrtDims = Math.sqrt(dims) / 2.0;
+  }
+
+  /** Quantizes L2-normalized vectors of equal length. */
+  public static Int8Vectors quantize(List<float[]> normalized) {
+    int dims = normalized.get(0).length;
+    byte[] codes = new byte[normalized.size() * dims];
+    float[] scales = new float[normalized.size()];
+    for (int r = 0; r < normalized.size(); r++) {
+      float[] v = normalized.get(r);
+      if (v.length != dims) {
+        throw new IllegalArgumentException("vector dimensions differ: " + dims + " vs " + v.length);
+      }
+      float maxAbs = 0f;
+      for (float x : v) {
+        maxAbs = Math.max(maxAbs, Math.abs(x));
+      }
+      float scale = maxAbs == 0f ? 1f : maxAbs / 127f;
+      scales[r] = scale;
+      int offset = r * dims;
+      for (int i = 0; i < dims; i++) {
+        codes[offset + i] = (byte) Math.round(v[i] / scale);
+      }
+    }
+    return new Int8Vectors(codes, scales, normalized.size(), dims);
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  public int dims() {
+    return dims;
+  }
+
+  /** Heap bytes of codes and scales. */
+  public long bytes() {
+    return (long) codes.length + 4L * scales.length;
+  }
+
+  /** Approximate dot products of every row with row 0 of {@code query}. */
+  public double[] dotAll(Int8Vectors query) {
+    checkDimensions(query);
+    double[] scores = new double[rows];
+    for (int r = 0; r < rows; r++) {
+      scores[r] = dot(r, query);
+    }
+    return scores;
+  }
+
+  /** Approximate dot product of row {@code row} with row 0 of {@code query}. */
+  public double dot(int row, Int8Vectors query) {
+    byte[] q = query.codes;
+    int offset = row * dims;
+    int sum = 0; // |sum| <= 127 * 127 * dims, fits an int for any realistic dimension
+    for (int i = 0; i < dims; i++) {
+      sum += codes[offset + i] * q[i];
+    }
+    return sum * (double) scales[row] * query.scales[0];
+  }
+
+  /**
+   * Upper bound of {@code |a.b - dot(row, query)|} for the unit vectors {@code a} and {@code b} that
+   * were quantized: {@code |a.b - â.b̂| <= |a-â| + (1 + |a-â|) |b-b̂|}.
+   */
+  public double errorBound(int row, Int8Vectors query) {
+    double rowError = scales[row] * halfSqrtDims;
+    double queryError = query.scales[0] * query.halfSqrtDims;
+    return rowError + (1.0 + rowError) * queryError;
+  }
+
+  private void checkDimensions(Int8Vectors query) {
+    if (query.dims != dims) {
+      throw new IllegalArgumentException("vector dimensions differ: " + dims + " vs " + query.dims);
+    }
+  }
+}
@@ -1,18 +1,161 @@
 package io.camunda.dev.assertions.ai.internal;
 
-/** Minimal JSON canonicalizer.
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/** Streaming JSON canonicalizer.
+ *
+ * <p>Produces compact JSON with object keys sorted, numbers normalized ({@code 1.0}, {@code 1} and
+ * {@code 1e0} all become {@code 1}) and string values untouched, so semantically identical documents
+ * yield identical texts (and cache keys). Tokens are read once with a Jackson {@link JsonParser}; only
+ * objects whose keys arrive out of order are re-arranged in the output buffer, no tree is built.
  *
- * For v1 we keep this simple: trim and collapse whitespace.
- * (If needed we can add a real canonicalization based on Jackson later.)
+ * <p>Input that is not a single JSON document is trimmed and whitespace-collapsed instead.
  */
 public final class JsonCanonicalizer {
 
+  private static final JsonFactory JSON = new JsonFactory();
+
+  /** Decimals with a larger exponent are kept in scientific notation instead of being expanded. */
+  private static final int MAX_PLAIN_SCALE = 64;
+
+  private static final Comparator<Member> BY_NAME = Comparator.comparing(Member::name);
+
   private JsonCanonicalizer() {}
 
   public static String canonicalize(String json) {
     if (json == null) {
       return null;
     }
-    return json.trim().replaceAll("\\s+", " ");
+    try (JsonParser parser = JSON.createParser(json)) {
+      JsonToken first = parser.nextToken();
+      if (first == null) {
+        return collapseWhitespace(json);
+      }
+      StringBuilder out = new StringBuilder(json.length());
+      writeValue(parser, out);
+      if (parser.nextToken() != null) {
+        return collapseWhitespace(json); // trailing content: not a single document
+      }
+      return out.toString();
+    } catch (IOException e) {
+      return collapseWhitespace(json);
+    }
+  }
+
+  /** Canonical form of the value at the parser's current token; the parser ends on its last token. */
+  static String canonicalValue(JsonParser parser) throws IOException {
+    StringBuilder out = new StringBuilder();
+    writeValue(parser, out);
+    return out.toString();
+  }
+
+  /** Writes the value at the parser's current token. */
+  private static void writeValue(JsonParser parser, StringBuilder out) throws IOException {
+    switch (parser.currentToken()) {
+      case START_OBJECT -> writeObject(parser, out);
+      case START_ARRAY -> {
+        out.append('[');
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          if (!first) {
+            out.append(',');
+          }
+          first = false;
+          writeValue(parser, out);
+        }
+        out.append(']');
+      }
+      case VALUE_STRING -> writeString(parser.getText(), out);
+      case VALUE_NUMBER_INT -> out.append(parser.getBigIntegerValue());
+      case VALUE_NUMBER_FLOAT -> out.append(normalizeDecimal(parser.getDecimalValue()));
+      case VALUE_TRUE -> out.append("true");
+      case VALUE_FALSE -> out.append("false");
+      case VALUE_NULL -> out.append("null");
+      default -> throw new IOException("Unexpected token " + parser.currentToken());
+    }
   }
+
+  /** Writes members in input order and only re-orders them if the keys were not already sorted. */
+  private static void writeObject(JsonParser parser, StringBuilder out) throws IOException {
+    int objectStart = out.length();
+    out.append('{');
+    List<Member> members = new ArrayList<>();
+    boolean sorted = true;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      if (!members.isEmpty()) {
+        out.append(',');
+        sorted &= members.get(members.size() - 1).name().compareTo(name) <= 0;
+      }
+      int memberStart = out.length();
+      writeString(name, out);
+      out.append(':');
+      parser.nextToken();
+      writeValue(parser, out);
+      members.add(new Member(name, memberStart, out.length()));
+    }
+    out.append('}');
+    if (sorted) {
+      return;
+    }
+
+    String written = out.substring(objectStart);
+    members.sort(BY_NAME); // stable: duplicate keys keep their order
+    out.setLength(objectStart);
+    out.append('{');
+    for (int i = 0; i < members.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      Member member = members.get(i);
+      out.append(written, member.start() - objectStart, member.end() - objectStart);
+    }
+    out.append('}');
+  }
+
+  private static void writeString(String value, StringBuilder out) {
+    out.append('"');
+    JsonStringEncoder.getInstance().quoteAsString(value, out);
+    out.append('"');
+  }
+
+  private static String normalizeDecimal(BigDecimal value) {
+    if (value.signum() == 0) {
+      return "0";
+    }
+    BigDecimal stripped = value.stripTrailingZeros();
+    if (Math.abs(stripped.scale()) > MAX_PLAIN_SCALE) {
+      return stripped.toString();
+    }
+    return stripped.toPlainString();
+  }
+
+  private static String collapseWhitespace(String text) {
+    StringBuilder out = new StringBuilder(text.length());
+    boolean pendingSpace = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+        pendingSpace = out.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        out.append(' ');
+        pendingSpace = false;
+      }
+      out.append(c);
+    }
+    return out.toString();
+  }
+
+  /** A member's name and the span of {@code "name":value} in the output. */
+  private record Member(String name, int start, int end) {}
 }
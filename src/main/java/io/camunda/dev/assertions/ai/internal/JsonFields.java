@@ -0,0 +1,68 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/** Extracts the values at JSON pointers (RFC 6901, e.g. {@code /customer/emails/0}) in one streaming pass.
+ *
+ * <p>Scalars are returned as text (strings without quotes), objects and arrays in canonical JSON.
+ * Parsing stops as soon as all requested pointers were found.
+ */
+public final class JsonFields {
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private JsonFields() {}
+
+  /** Returns the found values by pointer; pointers that do not exist are absent from the result. */
+  public static Map<String, String> extract(String json, Collection<String> pointers) {
+    Set<String> wanted = new HashSet<>(pointers);
+    Map<String, String> found = new LinkedHashMap<>();
+    try (JsonParser parser = JSON.createParser(json)) {
+      JsonToken token;
+      while (found.size() < wanted.size() && (token = parser.nextToken()) != null) {
+        if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+          continue;
+        }
+        String pointer = pointerOfValue(parser, token);
+        if (wanted.contains(pointer)) {
+          found.put(pointer, token.isScalarValue() ? scalarText(parser, token) : JsonCanonicalizer.canonicalValue(parser));
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Actual value is not valid JSON: " + e.getMessage(), e);
+    }
+    // a container value is consumed at once, so pointers below a selected container need another pass
+    Set<String> nested = new HashSet<>();
+    for (String pointer : wanted) {
+      if (!found.containsKey(pointer) && found.keySet().stream().anyMatch(p -> pointer.startsWith(p + "/"))) {
+        nested.add(pointer);
+      }
+    }
+    if (!nested.isEmpty()) {
+      found.putAll(extract(json, nested));
+    }
+    return found;
+  }
+
+  private static String pointerOfValue(JsonParser parser, JsonToken token) {
+    JsonStreamContext context = parser.getParsingContext();
+    if (token.isStructStart()) {
+      // at START_OBJECT / START_ARRAY the parser already reports the context of the new container
+      context = context.getParent();
+    }
+    return context.pathAsPointer().toString();
+  }
+
+  private static String scalarText(JsonParser parser, JsonToken token) throws IOException {
+    return token == JsonToken.VALUE_NULL ? "null" : parser.getText();
+  }
+}
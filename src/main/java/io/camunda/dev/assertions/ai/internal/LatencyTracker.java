@@ -0,0 +1,49 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Sliding window of the latest call latencies of one kind of model call, shared across the JVM. */
+public final class LatencyTracker {
+
+  /** Latencies kept per tracker. */
+  public static final int WINDOW = 256;
+
+  /** Percentiles are only reported once this many latencies were recorded. */
+  public static final int MIN_SAMPLES = 20;
+
+  private static final Map<String, LatencyTracker> TRACKERS = new ConcurrentHashMap<>();
+
+  private final long[] nanos = new long[WINDOW];
+  private int next;
+  private int count;
+
+  private LatencyTracker() {}
+
+  /** The tracker of {@code key}, e.g. model name and assertion. */
+  public static LatencyTracker of(String key) {
+    return TRACKERS.computeIfAbsent(key, k -> new LatencyTracker());
+  }
+
+  public synchronized void record(long latencyNanos) {
+    nanos[next] = latencyNanos;
+    next = (next + 1) % WINDOW;
+    count = Math.min(count + 1, WINDOW);
+  }
+
+  /** The {@code quantile} (e.g. {@code 0.95}) of the window, or {@code null} with fewer than {@value #MIN_SAMPLES} samples. */
+  public Duration percentile(double quantile) {
+    long[] sorted;
+    synchronized (this) {
+      if (count < MIN_SAMPLES) {
+        return null;
+      }
+      sorted = Arrays.copyOf(nanos, count);
+    }
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+  }
+}
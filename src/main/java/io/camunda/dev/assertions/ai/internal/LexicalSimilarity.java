@@ -0,0 +1,67 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/** Cheap surface-level similarity measures used to decide assertions without a model call. */
+public final class LexicalSimilarity {
+
+  /** Length of the character shingles of {@link #shingleJaccard}. */
+  public static final int SHINGLE_LENGTH = 3;
+
+  private LexicalSimilarity() {}
+
+  /** Jaccard index of the sets of whitespace-separated tokens. */
+  public static double tokenJaccard(String a, String b) {
+    return jaccard(tokens(a), tokens(b));
+  }
+
+  /** Jaccard index of the sets of character {@value #SHINGLE_LENGTH}-grams. */
+  public static double shingleJaccard(String a, String b) {
+    return jaccard(shingles(a), shingles(b));
+  }
+
+  private static Set<String> tokens(String text) {
+    Set<String> tokens = new HashSet<>();
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean boundary = i == text.length() || Character.isWhitespace(text.charAt(i));
+      if (boundary && start >= 0) {
+        tokens.add(text.substring(start, i));
+        start = -1;
+      } else if (!boundary && start < 0) {
+        start = i;
+      }
+    }
+    return tokens;
+  }
+
+  private static Set<String> shingles(String text) {
+    Set<String> shingles = new HashSet<>();
+    if (text.length() <= SHINGLE_LENGTH) {
+      if (!text.isEmpty()) {
+        shingles.add(text);
+      }
+      return shingles;
+    }
+    for (int i = 0; i + SHINGLE_LENGTH <= text.length(); i++) {
+      shingles.add(text.substring(i, i + SHINGLE_LENGTH));
+    }
+    return shingles;
+  }
+
+  private static double jaccard(Set<String> a, Set<String> b) {
+    if (a.isEmpty() && b.isEmpty()) {
+      return 1.0;
+    }
+    Set<String> smaller = a.size() <= b.size() ? a : b;
+    Set<String> larger = smaller == a ? b : a;
+    int intersection = 0;
+    for (String s : smaller) {
+      if (larger.contains(s)) {
+        intersection++;
+      }
+    }
+    return (double) intersection / (a.size() + b.size() - intersection);
+  }
+}
@@ -0,0 +1,236 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Memory-mapped, append-only vector store with LRU eviction.
+ *
+ * <p>Layout: a 16 byte header (magic, version, write position) followed by entries of the form
+ * {@code [32 byte key][int dimensions][dimensions * float]}. The index lives on the heap and is
+ * rebuilt from the file on open. When the mapped region is full, the least recently used entries are
+ * dropped and the remaining ones are compacted to the front of the file, eldest first.
+ *
+ * <p>The access order is not persisted: after a reopen, entries are treated as used in file order,
+ * which is their LRU order as of the last compaction followed by the entries appended since. The
+ * file is locked exclusively while open, so it can be used by one JVM at a time; give parallel test
+ * forks a file each. Reads check the stored key, so a corrupted index entry is a miss.
+ */
+public final class MappedEmbeddingStore implements AutoCloseable {
+
+  private static final int MAGIC = 0x43454D42; // "CEMB"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+  private static final int WRITE_POSITION_OFFSET = 8;
+  private static final int ENTRY_OVERHEAD = ContentHash.LENGTH_BYTES + Integer.BYTES;
+
+  private final FileChannel channel;
+  private final FileLock lock;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  /** key (hex) -> entry offset, in access order (eldest = least recently used). */
+  private final LinkedHashMap<String, Integer> index = new LinkedHashMap<>(256, 0.75f, true);
+  private int writePosition;
+
+  private MappedEmbeddingStore(FileChannel channel, FileLock lock, MappedByteBuffer buffer, int capacity) {
+    this.channel = channel;
+    this.lock = lock;
+    this.buffer = buffer;
+    this.capacity = capacity;
+  }
+
+  public static MappedEmbeddingStore open(Path file, long maxBytes) {
+    if (maxBytes <= HEADER_BYTES || maxBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("maxBytes must be in (" + HEADER_BYTES + ", " + Integer.MAX_VALUE + "]");
+    }
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      FileLock lock = tryLock(channel);
+      if (lock == null) {
+        channel.close();
+        throw new IllegalStateException(
+            "Embedding cache file " + file + " is in use by another process or cache; use one file per JVM");
+      }
+      try {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxBytes);
+        MappedEmbeddingStore store = new MappedEmbeddingStore(channel, lock, buffer, (int) maxBytes);
+        store.load();
+        return store;
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open embedding cache file " + file, e);
+    }
+  }
+
+  private static FileLock tryLock(FileChannel channel) throws IOException {
+    try {
+      return channel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      return null; // already open in this JVM
+    }
+  }
+
+  public synchronized float[] get(byte[] key) {
+    String hex = HexFormat.of().formatHex(key);
+    Integer offset = index.get(hex);
+    if (offset == null) {
+      return null;
+    }
+    float[] vector = readVector(offset, key);
+    if (vector == null) {
+      index.remove(hex);
+    }
+    return vector;
+  }
+
+  public synchronized void put(byte[] key, float[] vector) {
+    int entrySize = ENTRY_OVERHEAD + vector.length * Float.BYTES;
+    if (entrySize > capacity - HEADER_BYTES) {
+      return; // never fits; caching is best effort
+    }
+    String hex = HexFormat.of().formatHex(key);
+    if (index.containsKey(hex)) {
+      index.get(hex); // touch
+      return;
+    }
+    if (writePosition + entrySize > capacity) {
+      compact(entrySize);
+    }
+    int offset = writePosition;
+    buffer.put(offset, key);
+    buffer.putInt(offset + ContentHash.LENGTH_BYTES, vector.length);
+    int p = offset + ENTRY_OVERHEAD;
+    for (float f : vector) {
+      buffer.putFloat(p, f);
+      p += Float.BYTES;
+    }
+    writePosition = p;
+    buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+    index.put(hex, offset);
+  }
+
+  public synchronized int size() {
+    return index.size();
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      buffer.force();
+      lock.release();
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close embedding cache", e);
+    }
+  }
+
+  private void load() {
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      reset();
+      return;
+    }
+    int end = buffer.getInt(WRITE_POSITION_OFFSET);
+    if (end < HEADER_BYTES || end > capacity) {
+      reset();
+      return;
+    }
+    int offset = HEADER_BYTES;
+    byte[] key = new byte[ContentHash.LENGTH_BYTES];
+    while (offset + ENTRY_OVERHEAD <= end) {
+      int dims = buffer.getInt(offset + ContentHash.LENGTH_BYTES);
+      long next = offset + ENTRY_OVERHEAD + (long) dims * Float.BYTES;
+      if (dims < 0 || next > end) {
+        break; // torn or corrupted write; drop it and everything after it
+      }
+      buffer.get(offset, key);
+      index.put(HexFormat.of().formatHex(key), offset);
+      offset = (int) next;
+    }
+    writePosition = offset;
+    buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+  }
+
+  private void reset() {
+    index.clear();
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    writePosition = HEADER_BYTES;
+    buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+  }
+
+  /** Evicts least recently used entries until at most half of the region (and the new entry) fits. */
+  private void compact(int requiredBytes) {
+    int target = Math.max(0, Math.min(capacity / 2, capacity - HEADER_BYTES - requiredBytes));
+    int live = writePosition - HEADER_BYTES;
+    Iterator<Map.Entry<String, Integer>> eldest = index.entrySet().iterator();
+    while (live > target && eldest.hasNext()) {
+      int offset = eldest.next().getValue();
+      live -= entrySize(offset);
+      eldest.remove();
+    }
+
+    List<String> keys = new ArrayList<>(index.keySet());
+    List<byte[]> entries = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      int offset = index.get(key);
+      byte[] entry = new byte[entrySize(offset)];
+      buffer.get(offset, entry);
+      entries.add(entry);
+    }
+
+    index.clear();
+    int offset = HEADER_BYTES;
+    for (int i = 0; i < keys.size(); i++) {
+      byte[] entry = entries.get(i);
+      buffer.put(offset, entry);
+      index.put(keys.get(i), offset);
+      offset += entry.length;
+    }
+    writePosition = offset;
+    buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+  }
+
+  private int entrySize(int offset) {
+    return ENTRY_OVERHEAD + buffer.getInt(offset + ContentHash.LENGTH_BYTES) * Float.BYTES;
+  }
+
+  /** Reads the vector at {@code offset}, or returns {@code null} if the entry there is not {@code key}. */
+  private float[] readVector(int offset, byte[] key) {
+    byte[] stored = new byte[ContentHash.LENGTH_BYTES];
+    buffer.get(offset, stored);
+    int dims = buffer.getInt(offset + ContentHash.LENGTH_BYTES);
+    if (!Arrays.equals(stored, key)
+        || dims < 0
+        || offset + ENTRY_OVERHEAD + (long) dims * Float.BYTES > writePosition) {
+      return null;
+    }
+    float[] vector = new float[dims];
+    int p = offset + ENTRY_OVERHEAD;
+    for (int i = 0; i < dims; i++) {
+      vector[i] = buffer.getFloat(p);
+      p += Float.BYTES;
+    }
+    return vector;
+  }
+}
@@ -0,0 +1,109 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/** Float rows of equal length kept in a memory-mapped temporary file instead of on the heap.
+ *
+ * <p>The rows are written once and mapped in segments of whole rows. The file is deleted right
+ * after mapping (or when the JVM exits, on platforms that do not delete mapped files), so it lives
+ * as long as the mapping, i.e. as long as this object is reachable. The rows are paged in by the
+ * operating system on access and cost {@code 4 * dims} bytes of disk and page cache each.
+ */
+public final class MappedFloatRows {
+
+  private static final long SEGMENT_BYTES = 1L << 30;
+
+  private final MappedByteBuffer[] segments;
+  private final int rows;
+  private final int dims;
+  private final int rowsPerSegment;
+
+  private MappedFloatRows(MappedByteBuffer[] segments, int rows, int dims, int rowsPerSegment) {
+    this.segments = segments;
+    this.rows = rows;
+    this.dims = dims;
+    this.rowsPerSegment = rowsPerSegment;
+  }
+
+  public static MappedFloatRows of(List<float[]> rows) {
+    return of(rows, SEGMENT_BYTES);
+  }
+
+  static MappedFloatRows of(List<float[]> rows, long segmentBytes) {
+    int dims = rows.get(0).length;
+    long rowBytes = (long) dims * Float.BYTES;
+    int rowsPerSegment = (int) Math.min(rows.size(), Math.max(1, segmentBytes / Math.max(1, rowBytes)));
+    MappedByteBuffer[] segments = new MappedByteBuffer[(rows.size() + rowsPerSegment - 1) / rowsPerSegment];
+    try {
+      Path file = Files.createTempFile("camunda-ai-corpus", ".f32");
+      try (FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        for (int s = 0; s < segments.length; s++) {
+          int first = s * rowsPerSegment;
+          int count = Math.min(rowsPerSegment, rows.size() - first);
+          MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, first * rowBytes, count * rowBytes);
+          int p = 0;
+          for (int r = first; r < first + count; r++) {
+            float[] row = rows.get(r);
+            if (row.length != dims) {
+              throw new IllegalArgumentException("vector dimensions differ: " + dims + " vs " + row.length);
+            }
+            for (float f : row) {
+              segment.putFloat(p, f);
+              p += Float.BYTES;
+            }
+          }
+          segments[s] = segment;
+        }
+      } finally {
+        delete(file);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to map the float rows of a reference corpus", e);
+    }
+    return new MappedFloatRows(segments, rows.size(), dims, rowsPerSegment);
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      file.toFile().deleteOnExit(); // still mapped on Windows
+    }
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  public int dims() {
+    return dims;
+  }
+
+  /** Bytes of the mapped file. */
+  public long bytes() {
+    return (long) rows * dims * Float.BYTES;
+  }
+
+  /** Copies row {@code r} out of the mapping. */
+  public float[] row(int r) {
+    if (r < 0 || r >= rows) {
+      throw new IndexOutOfBoundsException("row " + r + " of " + rows);
+    }
+    MappedByteBuffer segment = segments[r / rowsPerSegment];
+    int p = (r % rowsPerSegment) * dims * Float.BYTES;
+    float[] row = new float[dims];
+    for (int i = 0; i < dims; i++) {
+      row[i] = segment.getFloat(p);
+      p += Float.BYTES;
+    }
+    return row;
+  }
+}
@@ -0,0 +1,18 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Shared executor for model calls that run off the test thread. */
+public final class ModelExecutors {
+
+  private static final ExecutorService VIRTUAL_THREADS =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("camunda-ai-assert-", 0).factory());
+
+  private ModelExecutors() {}
+
+  /** One virtual thread per task; model calls are I/O bound and may block freely. */
+  public static ExecutorService virtualThreads() {
+    return VIRTUAL_THREADS;
+  }
+}
@@ -0,0 +1,9 @@
+package io.camunda.dev.assertions.ai.internal;
+
+/** Accelerated inner loops for {@link CosineSimilarity}, loaded reflectively if available. */
+interface SimilarityKernel {
+
+  double cosine(float[] a, float[] b);
+
+  double dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+}
@@ -0,0 +1,89 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.security.CodeSource;
+import java.util.function.Supplier;
+
+/** Resolves the id ({@code Class#method}) of the test that runs an assertion.
+ *
+ * <p>An id set for the thread with {@link #callAs} wins; otherwise the stack is searched for a method carrying
+ * a JUnit annotation (e.g. {@code @Test}, {@code @ParameterizedTest}).
+ */
+public final class TestIds {
+
+  public static final String UNKNOWN = "unknown";
+
+  private static final ThreadLocal<String> EXPLICIT = new ThreadLocal<>();
+  private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+  /** Where the library's classes are loaded from, e.g. its jar or {@code target/classes}. */
+  private static final String LIBRARY = location(TestIds.class);
+
+  private TestIds() {}
+
+  public static String current() {
+    String explicit = EXPLICIT.get();
+    if (explicit != null) {
+      return explicit;
+    }
+    return WALKER.walk(
+        frames ->
+            frames
+                .filter(TestIds::isTestMethod)
+                .findFirst()
+                .map(frame -> frame.getClassName() + "#" + frame.getMethodName())
+                .orElse(UNKNOWN));
+  }
+
+  /** Sets the id for the current thread; {@code null} clears it. */
+  private static void set(String testId) {
+    if (testId == null) {
+      EXPLICIT.remove();
+    } else {
+      EXPLICIT.set(testId);
+    }
+  }
+
+  /** Runs the call with the given id, e.g. on a worker thread that ran outside the test's stack. */
+  public static <T> T callAs(String testId, Supplier<T> call) {
+    String previous = EXPLICIT.get();
+    set(testId);
+    try {
+      return call.get();
+    } finally {
+      set(previous);
+    }
+  }
+
+  private static boolean isTestMethod(StackWalker.StackFrame frame) {
+    String className = frame.getClassName();
+    if (className.startsWith("java.")
+        || className.startsWith("jdk.")
+        || className.startsWith("org.junit.")
+        || isLibraryClass(frame.getDeclaringClass())) {
+      return false;
+    }
+    try {
+      Method method =
+          frame.getDeclaringClass().getDeclaredMethod(frame.getMethodName(), frame.getMethodType().parameterArray());
+      for (Annotation annotation : method.getAnnotations()) {
+        if (annotation.annotationType().getName().startsWith("org.junit.")) {
+          return true;
+        }
+      }
+    } catch (NoSuchMethodException | SecurityException e) {
+      // synthetic or inaccessible frame
+    }
+    return false;
+  }
+
+  /** Whether the class is part of this library (not its tests, which share its packages). */
+  private static boolean isLibraryClass(Class<?> type) {
+    return LIBRARY != null && LIBRARY.equals(location(type));
+  }
+
+  private static String location(Class<?> type) {
+    CodeSource source = type.getProtectionDomain().getCodeSource();
+    return source == null || source.getLocation() == null ? null : source.getLocation().toExternalForm();
+  }
+}
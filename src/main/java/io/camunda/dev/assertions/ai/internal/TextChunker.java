@@ -0,0 +1,178 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import io.camunda.dev.assertions.ai.Chunking;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/** Splits long texts into overlapping windows and pools per-chunk scores. */
+public final class TextChunker {
+
+  private TextChunker() {}
+
+  /** Estimated tokens (about four characters per token). */
+  public static int estimateTokens(CharSequence text) {
+    return text == null ? 0 : (text.length() + 3) / 4;
+  }
+
+  public static List<String> chunk(String text, Chunking chunking) {
+    if (text == null
+        || chunking.strategy() == Chunking.Strategy.NONE
+        || estimateTokens(text) <= chunking.windowTokens()) {
+      return List.of(text);
+    }
+    int window = chunking.windowTokens();
+    return switch (chunking.strategy()) {
+      case SENTENCES -> pack(fitSentences(sentences(text), window), window, chunking.overlap(), false);
+      case TOKENS -> pack(fitWords(words(text), window), window, chunking.overlap(), true);
+      case NONE -> List.of(text);
+    };
+  }
+
+  /** Aggregates chunk scores according to the pooling of the chunking. */
+  public static double pool(double[] scores, Chunking chunking) {
+    if (scores.length == 1) {
+      return scores[0];
+    }
+    double[] sorted = scores.clone();
+    Arrays.sort(sorted);
+    return switch (chunking.pooling()) {
+      case MAX -> sorted[sorted.length - 1];
+      case MEAN -> Arrays.stream(sorted).average().orElse(0.0);
+      case TOP_K -> {
+        int k = Math.min(chunking.topK(), sorted.length);
+        double sum = 0.0;
+        for (int i = sorted.length - k; i < sorted.length; i++) {
+          sum += sorted[i];
+        }
+        yield sum / k;
+      }
+    };
+  }
+
+  /** Keeps head and tail of the text within the token budget and marks the omitted middle. */
+  public static String trimToTokens(String text, int maxTokens) {
+    if (text == null || maxTokens <= 0 || estimateTokens(text) <= maxTokens) {
+      return text;
+    }
+    int maxChars = maxTokens * 4;
+    // cut on code point boundaries, so no surrogate pair is split
+    int head = codePointBoundary(text, maxChars * 2 / 3);
+    int tail = codePointBoundary(text, text.length() - (maxChars - maxChars * 2 / 3));
+    int omitted = estimateTokens(text.substring(head, tail));
+    return text.substring(0, head)
+        + "\n[... about " + omitted + " tokens omitted ...]\n"
+        + text.substring(tail);
+  }
+
+  /** Moves {@code index} back to the start of the code point it falls into. */
+  private static int codePointBoundary(String text, int index) {
+    if (index > 0 && index < text.length() && Character.isLowSurrogate(text.charAt(index))
+        && Character.isHighSurrogate(text.charAt(index - 1))) {
+      return index - 1;
+    }
+    return index;
+  }
+
+  /** Splits sentences longer than the window into word windows, so that no chunk exceeds it. */
+  private static List<String> fitSentences(List<String> sentences, int windowTokens) {
+    List<String> units = new ArrayList<>(sentences.size());
+    for (String sentence : sentences) {
+      if (estimateTokens(sentence) <= windowTokens) {
+        units.add(sentence);
+      } else {
+        units.addAll(pack(fitWords(words(sentence), windowTokens), windowTokens, 0, true));
+      }
+    }
+    return units;
+  }
+
+  /** Splits words longer than the window (e.g. URLs or encoded blobs) into pieces that fit. */
+  private static List<String> fitWords(List<String> words, int windowTokens) {
+    int maxChars = windowTokens * 4;
+    List<String> units = new ArrayList<>(words.size());
+    for (String word : words) {
+      int start = 0;
+      while (word.length() - start > maxChars) {
+        int end = codePointBoundary(word, start + maxChars);
+        units.add(word.substring(start, end));
+        start = end;
+      }
+      units.add(word.substring(start));
+    }
+    return units;
+  }
+
+  /**
+   * Packs units into windows of at most {@code windowTokens}. Consecutive windows share
+   * {@code overlap} units (sentences) or {@code overlap} tokens worth of units (words).
+   */
+  private static List<String> pack(List<String> units, int windowTokens, int overlap, boolean overlapInTokens) {
+    List<String> chunks = new ArrayList<>();
+    int start = 0;
+    while (start < units.size()) {
+      StringBuilder window = new StringBuilder();
+      int end = start;
+      while (end < units.size()
+          && (end == start || estimateTokens(window) + estimateTokens(units.get(end)) + 1 <= windowTokens)) {
+        if (window.length() > 0) {
+          window.append(' ');
+        }
+        window.append(units.get(end));
+        end++;
+      }
+      chunks.add(window.toString());
+      if (end >= units.size()) {
+        break;
+      }
+      int next = end - overlapUnits(units, start, end, overlap, overlapInTokens);
+      start = Math.max(start + 1, next);
+    }
+    return chunks;
+  }
+
+  private static int overlapUnits(List<String> units, int start, int end, int overlap, boolean inTokens) {
+    if (!inTokens) {
+      return Math.min(overlap, end - start - 1);
+    }
+    int count = 0;
+    int tokens = 0;
+    for (int i = end - 1; i > start && tokens < overlap; i--) {
+      tokens += estimateTokens(units.get(i)) + 1;
+      count++;
+    }
+    return count;
+  }
+
+  private static List<String> sentences(String text) {
+    BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.ROOT);
+    iterator.setText(text);
+    List<String> sentences = new ArrayList<>();
+    for (int start = iterator.first(), end = iterator.next();
+        end != BreakIterator.DONE;
+        start = end, end = iterator.next()) {
+      String sentence = text.substring(start, end).strip();
+      if (!sentence.isEmpty()) {
+        sentences.add(sentence);
+      }
+    }
+    return sentences;
+  }
+
+  private static List<String> words(String text) {
+    List<String> words = new ArrayList<>();
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean boundary = i == text.length() || Character.isWhitespace(text.charAt(i));
+      if (boundary && start >= 0) {
+        words.add(text.substring(start, i));
+        start = -1;
+      } else if (!boundary && start < 0) {
+        start = i;
+      }
+    }
+    return words;
+  }
+}
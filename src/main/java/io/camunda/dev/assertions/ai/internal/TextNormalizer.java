@@ -1,22 +1,100 @@
 package io.camunda.dev.assertions.ai.internal;
 
 import io.camunda.dev.assertions.ai.SemanticOptions;
+import java.text.Normalizer;
 
+/** Single-pass text normalizer.
+ *
+ * <p>Trims and collapses whitespace, lowercases and strips punctuation in one pass over the code
+ * points, writing into a per-thread buffer. Returns the input instance if nothing changes.
+ */
 public final class TextNormalizer {
 
+  /** Buffers larger than this are not kept for reuse. */
+  private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
   private TextNormalizer() {}
 
   public static String normalize(String in, SemanticOptions options) {
     if (in == null) {
       return null;
     }
-    String out = in;
-    if (options.normalizeWhitespace()) {
-      out = out.trim().replaceAll("\\s+", " ");
+    String source = in;
+    if (options.unicodeNormalization() && !Normalizer.isNormalized(source, Normalizer.Form.NFC)) {
+      source = Normalizer.normalize(source, Normalizer.Form.NFC);
+    }
+    boolean collapse = options.normalizeWhitespace();
+    boolean lowercase = options.normalizeToLowercase();
+    boolean stripPunctuation = options.stripPunctuation();
+    if (!collapse && !lowercase && !stripPunctuation) {
+      return source;
+    }
+    boolean unicodeWhitespace = options.unicodeWhitespace();
+
+    StringBuilder out = BUFFER.get();
+    out.setLength(0);
+    boolean changed = false;
+    boolean pendingSpace = false;
+    int length = source.length();
+    for (int i = 0; i < length; ) {
+      int cp = source.codePointAt(i);
+      i += Character.charCount(cp);
+
+      if (stripPunctuation && isPunctuation(cp)) {
+        changed = true;
+        continue;
+      }
+      if (collapse && isWhitespace(cp, unicodeWhitespace)) {
+        // a single ' ' between two words is kept as is; everything else is a change
+        if (pendingSpace || out.isEmpty() || cp != ' ') {
+          changed = true;
+        }
+        pendingSpace = !out.isEmpty();
+        continue;
+      }
+      if (pendingSpace) {
+        out.append(' ');
+        pendingSpace = false;
+      }
+      int mapped = lowercase ? Character.toLowerCase(cp) : cp;
+      if (mapped != cp) {
+        changed = true;
+      }
+      out.appendCodePoint(mapped);
+    }
+    if (pendingSpace) {
+      changed = true; // trailing whitespace is trimmed
     }
-    if (options.normalizeToLowercase()) {
-      out = out.toLowerCase();
+
+    String result = changed ? out.toString() : source;
+    if (out.capacity() > MAX_RETAINED_CAPACITY) {
+      BUFFER.remove();
+    }
+    return result;
+  }
+
+  private static boolean isWhitespace(int cp, boolean unicode) {
+    if (unicode) {
+      return Character.isWhitespace(cp) || Character.isSpaceChar(cp);
+    }
+    // same set as the regex class \s
+    return cp == ' ' || cp == '\t' || cp == '\n' || cp == '\u000B' || cp == '\f' || cp == '\r';
+  }
+
+  private static boolean isPunctuation(int cp) {
+    switch (Character.getType(cp)) {
+      case Character.CONNECTOR_PUNCTUATION:
+      case Character.DASH_PUNCTUATION:
+      case Character.START_PUNCTUATION:
+      case Character.END_PUNCTUATION:
+      case Character.INITIAL_QUOTE_PUNCTUATION:
+      case Character.FINAL_QUOTE_PUNCTUATION:
+      case Character.OTHER_PUNCTUATION:
+        return true;
+      default:
+        return false;
     }
-    return out;
   }
 }
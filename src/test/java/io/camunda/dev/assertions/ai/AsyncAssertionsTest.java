@@ -0,0 +1,98 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.dev.assertions.ai.internal.TestIds;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncAssertionsTest {
+
+  private final CamundaAiAssertionDefaults previous = CamundaAiAssertions.defaults();
+
+  @AfterEach
+  void restoreDefaults() {
+    CamundaAiAssertions.configureDefaults(previous);
+  }
+
+  @Test
+  void runs_assertions_concurrently() {
+    useJudge(ScriptedChatModel.always("judge", ScriptedChatModel.PASS).withLatency(Duration.ofMillis(300)));
+
+    long start = System.nanoTime();
+    List<SemanticResult> results =
+        CamundaAiAssertions.awaitAll(
+            CamundaAiAssertions.assertThatAsync("email 1", a -> a.matchesExpectationWithJudge("asks about income")),
+            CamundaAiAssertions.assertThatAsync("email 2", a -> a.matchesExpectationWithJudge("asks about stocks")),
+            CamundaAiAssertions.assertThatAsync("email 3", a -> a.matchesExpectationWithJudge("asks about taxes")),
+            CamundaAiAssertions.assertThatJsonAsync(
+                "{\"body\":\"email 4\"}", a -> a.matchesDescriptionWithJudge("asks about rent")));
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+    assertThat(results).hasSize(4).allSatisfy(result -> assertThat(result.passed()).isTrue());
+  }
+
+  @Test
+  void aggregates_all_failures() {
+    useJudge(
+        ScriptedChatModel.byPrompt(
+            "judge", prompt -> prompt.contains("stocks") ? ScriptedChatModel.PASS : ScriptedChatModel.FAIL));
+
+    assertThatThrownBy(
+            () ->
+                CamundaAiAssertions.awaitAll(
+                    CamundaAiAssertions.assertThatAsync("email 1", a -> a.matchesExpectationWithJudge("income")),
+                    CamundaAiAssertions.assertThatAsync("email 2", a -> a.matchesExpectationWithJudge("stocks")),
+                    CamundaAiAssertions.assertThatJsonAsync("{}", a -> a.matchesDescriptionWithJudge("taxes"))))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("2 of 3 semantic assertions failed")
+        .satisfies(e -> assertThat(e.getSuppressed()).hasSize(2).allMatch(AssertionError.class::isInstance));
+  }
+
+  @Test
+  void unwraps_exceptions_of_the_model() {
+    useJudge(
+        ScriptedChatModel.byPrompt(
+            "judge",
+            prompt -> {
+              if (prompt.contains("income")) {
+                throw new IllegalStateException("judge unavailable");
+              }
+              return ScriptedChatModel.PASS;
+            }));
+    CompletableFuture<SemanticResult> failing =
+        CamundaAiAssertions.assertThatAsync("email 1", a -> a.matchesExpectationWithJudge("income"));
+    CompletableFuture<SemanticResult> passing =
+        CamundaAiAssertions.assertThatAsync("email 2", a -> a.matchesExpectationWithJudge("stocks"));
+
+    assertThatThrownBy(() -> CamundaAiAssertions.awaitAll(failing, passing))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("1 of 2 semantic assertions failed")
+        .hasMessageContaining("IllegalStateException: judge unavailable")
+        .satisfies(e -> assertThat(e.getSuppressed()).singleElement().isInstanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void passes_the_test_id_to_the_virtual_thread() {
+    useJudge(ScriptedChatModel.always("judge", ScriptedChatModel.PASS));
+    AtomicReference<String> text = new AtomicReference<>();
+    AtomicReference<String> json = new AtomicReference<>();
+
+    CamundaAiAssertions.awaitAll(
+        CamundaAiAssertions.assertThatAsync("email", a -> text.set(TestIds.current())),
+        CamundaAiAssertions.assertThatJsonAsync("{}", a -> json.set(TestIds.current())));
+
+    assertThat(text.get()).isEqualTo(getClass().getName() + "#passes_the_test_id_to_the_virtual_thread");
+    assertThat(json.get()).isEqualTo(text.get());
+  }
+
+  private static void useJudge(ScriptedChatModel judge) {
+    CamundaAiAssertions.configureDefaults(
+        CamundaAiAssertionDefaults.builder().judgeModel(judge).verdictMemoTtl(Duration.ZERO).build());
+  }
+}
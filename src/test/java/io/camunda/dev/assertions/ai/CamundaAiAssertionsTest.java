@@ -104,11 +104,15 @@ class CamundaAiAssertionsTest {
       return new float[] {1f, 1f};
     }
 
-    // Unused by our code paths; keep minimal implementations.
+    // Batched embeddings (EmbeddingModel#embed(List)) end up here.
     @Override
     public org.springframework.ai.embedding.EmbeddingResponse call(
         org.springframework.ai.embedding.EmbeddingRequest request) {
-      throw new UnsupportedOperationException();
+      java.util.List<org.springframework.ai.embedding.Embedding> embeddings = new java.util.ArrayList<>();
+      for (String text : request.getInstructions()) {
+        embeddings.add(new org.springframework.ai.embedding.Embedding(embed(text), embeddings.size()));
+      }
+      return new org.springframework.ai.embedding.EmbeddingResponse(embeddings);
     }
   }
 
@@ -127,7 +131,10 @@ class CamundaAiAssertionsTest {
     @Override
     public org.springframework.ai.chat.model.ChatResponse call(
         org.springframework.ai.chat.prompt.Prompt prompt) {
-      throw new UnsupportedOperationException();
+      return new org.springframework.ai.chat.model.ChatResponse(
+          java.util.List.of(
+              new org.springframework.ai.chat.model.Generation(
+                  new org.springframework.ai.chat.messages.AssistantMessage(response))));
     }
   }
 }
@@ -0,0 +1,131 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.dev.assertions.ai.CassetteChatModel.Mode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+
+class CassetteChatModelTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void record_missing_calls_the_delegate_once_per_prompt() {
+    ScriptedChatModel judge = new ScriptedChatModel("gpt-4.1", n -> "answer " + n);
+    CassetteChatModel cassette = cassette(judge, Mode.RECORD_MISSING);
+
+    assertThat(text(cassette, "is it fraud?")).isEqualTo("answer 0");
+    assertThat(text(cassette, "is it fraud?")).isEqualTo("answer 0");
+    assertThat(text(cassette, "is it a refund?")).isEqualTo("answer 1");
+
+    assertThat(judge.calls()).isEqualTo(2);
+  }
+
+  @Test
+  void strict_replays_recordings_and_rejects_new_prompts() {
+    text(cassette(ScriptedChatModel.always("gpt-4.1", "recorded"), Mode.RECORD_MISSING), "is it fraud?");
+    ScriptedChatModel judge = ScriptedChatModel.always("gpt-4.1", "live");
+    CassetteChatModel strict = cassette(judge, Mode.STRICT);
+
+    assertThat(text(strict, "is it fraud?")).isEqualTo("recorded");
+    assertThatThrownBy(() -> text(strict, "is it a refund?"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("No recorded response");
+    assertThat(judge.calls()).isZero();
+  }
+
+  @Test
+  void re_record_ignores_existing_recordings() {
+    text(cassette(ScriptedChatModel.always("gpt-4.1", "old"), Mode.RECORD_MISSING), "is it fraud?");
+    ScriptedChatModel judge = ScriptedChatModel.always("gpt-4.1", "new");
+    CassetteChatModel reRecord = cassette(judge, Mode.RE_RECORD);
+
+    assertThat(text(reRecord, "is it fraud?")).isEqualTo("new");
+    assertThat(text(reRecord, "is it fraud?")).isEqualTo("new");
+    assertThat(judge.calls()).isEqualTo(1);
+    assertThat(text(cassette(judge, Mode.STRICT), "is it fraud?")).isEqualTo("new");
+  }
+
+  @Test
+  void recordings_are_keyed_by_model() {
+    text(cassette(ScriptedChatModel.always("gpt-4.1", "recorded"), Mode.RECORD_MISSING), "is it fraud?");
+    CassetteChatModel otherModel = cassette(ScriptedChatModel.always("claude", "live"), Mode.STRICT);
+
+    assertThatThrownBy(() -> text(otherModel, "is it fraud?")).isInstanceOf(IllegalStateException.class);
+    assertThat(otherModel.getDefaultOptions().getModel()).isEqualTo("claude");
+  }
+
+  @Test
+  void quorum_samples_are_recorded_separately() {
+    ScriptedChatModel judge = new ScriptedChatModel("gpt-4.1", n -> "sample " + n);
+    CassetteChatModel cassette = cassette(judge, Mode.RECORD_MISSING);
+    cassette.call(new Prompt("is it fraud?"), 0);
+    cassette.call(new Prompt("is it fraud?"), 1);
+
+    CassetteChatModel strict = cassette(judge, Mode.STRICT);
+    assertThat(strict.call(new Prompt("is it fraud?"), 0).getResult().getOutput().getText()).isEqualTo("sample 0");
+    assertThat(strict.call(new Prompt("is it fraud?"), 1).getResult().getOutput().getText()).isEqualTo("sample 1");
+    assertThat(judge.calls()).isEqualTo(2);
+  }
+
+  @Test
+  void concurrent_cassettes_merge_their_recordings() {
+    ScriptedChatModel judge = new ScriptedChatModel("gpt-4.1", n -> "answer " + n);
+    CassetteChatModel first = cassette(judge, Mode.RECORD_MISSING);
+    CassetteChatModel second = cassette(judge, Mode.RECORD_MISSING); // e.g. another test fork
+    text(first, "is it fraud?");
+    text(second, "is it a refund?");
+
+    CassetteChatModel strict = cassette(judge, Mode.STRICT);
+    assertThat(text(strict, "is it fraud?")).isEqualTo("answer 0");
+    assertThat(text(strict, "is it a refund?")).isEqualTo("answer 1");
+  }
+
+  @Test
+  void recordings_are_journaled_and_compacted_when_a_recording_cassette_is_opened() throws IOException {
+    ScriptedChatModel judge = new ScriptedChatModel("gpt-4.1", n -> "answer " + n);
+    CassetteChatModel cassette = cassette(judge, Mode.RECORD_MISSING);
+    text(cassette, "is it fraud?");
+    text(cassette, "is it a refund?");
+
+    Path journal = dir.resolve("judge.json.journal");
+    assertThat(dir.resolve("judge.json")).doesNotExist();
+    assertThat(Files.readAllLines(journal)).hasSize(2);
+    assertThat(text(cassette(judge, Mode.STRICT), "is it a refund?")).isEqualTo("answer 1");
+
+    Files.writeString(journal, "{\"promptHash\":\"torn", StandardOpenOption.APPEND); // e.g. a killed fork
+    cassette(judge, Mode.RECORD_MISSING);
+
+    assertThat(journal).doesNotExist();
+    assertThat(dir.resolve("judge.json")).content().contains("answer 0", "answer 1");
+    assertThat(text(cassette(judge, Mode.STRICT), "is it fraud?")).isEqualTo("answer 0");
+    assertThat(judge.calls()).isEqualTo(2);
+  }
+
+  @Test
+  void parses_mode_names_with_dashes_or_underscores() {
+    assertThat(CassetteChatModel.Builder.parseMode("strict")).isEqualTo(Mode.STRICT);
+    assertThat(CassetteChatModel.Builder.parseMode("record-missing")).isEqualTo(Mode.RECORD_MISSING);
+    assertThat(CassetteChatModel.Builder.parseMode(" RE_RECORD ")).isEqualTo(Mode.RE_RECORD);
+    assertThat(CassetteChatModel.Builder.parseMode("re-record")).isEqualTo(Mode.RE_RECORD);
+    assertThatThrownBy(() -> CassetteChatModel.Builder.parseMode("replay"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("record-missing");
+  }
+
+  private CassetteChatModel cassette(ChatModel delegate, Mode mode) {
+    return CassetteChatModel.builder().delegate(delegate).cassette(dir.resolve("judge.json")).mode(mode).build();
+  }
+
+  private static String text(ChatModel model, String prompt) {
+    return model.call(new Prompt(prompt)).getResult().getOutput().getText();
+  }
+}
@@ -0,0 +1,40 @@
+package io.camunda.dev.assertions.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/** Counts embedding requests and embedded texts; vectors come from the local model. */
+final class CountingEmbeddingModel implements EmbeddingModel {
+
+  private final LocalEmbeddingModel delegate = LocalEmbeddingModel.create();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicInteger texts = new AtomicInteger();
+
+  @Override
+  public EmbeddingResponse call(EmbeddingRequest request) {
+    calls.incrementAndGet();
+    texts.addAndGet(request.getInstructions().size());
+    return delegate.call(request);
+  }
+
+  @Override
+  public float[] embed(Document document) {
+    return delegate.embed(document);
+  }
+
+  @Override
+  public int dimensions() {
+    return delegate.dimensions();
+  }
+
+  int calls() {
+    return calls.get();
+  }
+
+  int texts() {
+    return texts.get();
+  }
+}
@@ -0,0 +1,183 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.dev.assertions.ai.internal.AssertionMetrics;
+import io.camunda.dev.assertions.ai.internal.EmbeddingClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+class EmbeddingCacheTest {
+
+  // 16 byte header, then [32 byte key][int dimensions][4 floats] per entry
+  private static final int HEADER_BYTES = 16;
+  private static final int ENTRY_BYTES = 32 + 4 + 4 * 4;
+
+  @TempDir Path dir;
+
+  @Test
+  void vectors_survive_a_reopen() {
+    Path file = dir.resolve("cache.bin");
+    try (EmbeddingCache cache = EmbeddingCache.open(file)) {
+      cache.put("local", "fraud detected", vector(1));
+      cache.put("local", "transaction blocked", vector(2));
+    }
+
+    try (EmbeddingCache cache = EmbeddingCache.open(file)) {
+      assertThat(cache.size()).isEqualTo(2);
+      assertThat(cache.get("local", "fraud detected")).containsExactly(vector(1));
+      assertThat(cache.get("local", "transaction blocked")).containsExactly(vector(2));
+      assertThat(cache.get("local", "unknown")).isNull();
+    }
+  }
+
+  @Test
+  void entries_are_isolated_by_model_id() {
+    try (EmbeddingCache cache = EmbeddingCache.open(dir.resolve("cache.bin"))) {
+      cache.put("openai/text-embedding-3-small", "fraud detected", vector(1));
+
+      assertThat(cache.get("openai/text-embedding-3-large", "fraud detected")).isNull();
+      assertThat(cache.get("openai/text-embedding-3-small", "fraud detected")).containsExactly(vector(1));
+    }
+  }
+
+  @Test
+  void evicts_least_recently_used_entries_when_full() {
+    try (EmbeddingCache cache = EmbeddingCache.open(dir.resolve("cache.bin"), HEADER_BYTES + 4 * ENTRY_BYTES)) {
+      for (int i = 0; i < 4; i++) {
+        cache.put("local", "text " + i, vector(i));
+      }
+      cache.get("local", "text 0"); // most recently used now
+
+      cache.put("local", "text 4", vector(4));
+
+      assertThat(cache.size()).isLessThanOrEqualTo(4);
+      assertThat(cache.get("local", "text 0")).containsExactly(vector(0));
+      assertThat(cache.get("local", "text 4")).containsExactly(vector(4));
+      assertThat(cache.get("local", "text 1")).isNull();
+    }
+  }
+
+  @Test
+  void drops_a_corrupted_entry_and_everything_after_it() throws IOException {
+    Path file = dir.resolve("cache.bin");
+    try (EmbeddingCache cache = EmbeddingCache.open(file)) {
+      for (int i = 0; i < 3; i++) {
+        cache.put("local", "text " + i, vector(i));
+      }
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.seek(HEADER_BYTES + ENTRY_BYTES + 32); // dimensions of the second entry
+      raf.writeInt(Integer.MAX_VALUE);
+    }
+
+    try (EmbeddingCache cache = EmbeddingCache.open(file)) {
+      assertThat(cache.size()).isEqualTo(1);
+      assertThat(cache.get("local", "text 0")).containsExactly(vector(0));
+      assertThat(cache.get("local", "text 1")).isNull();
+
+      cache.put("local", "text 1", vector(1));
+      assertThat(cache.get("local", "text 1")).containsExactly(vector(1));
+    }
+  }
+
+  @Test
+  void starts_empty_on_a_foreign_or_truncated_file() throws IOException {
+    Path file = dir.resolve("cache.bin");
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.writeBytes("not an embedding cache");
+    }
+
+    try (EmbeddingCache cache = EmbeddingCache.open(file)) {
+      assertThat(cache.size()).isZero();
+      cache.put("local", "fraud detected", vector(1));
+      assertThat(cache.get("local", "fraud detected")).containsExactly(vector(1));
+    }
+  }
+
+  @Test
+  void file_is_locked_while_open() {
+    Path file = dir.resolve("cache.bin");
+    try (EmbeddingCache cache = EmbeddingCache.open(file)) {
+      assertThatThrownBy(() -> EmbeddingCache.open(file))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("in use");
+    }
+    EmbeddingCache.open(file).close();
+  }
+
+  @Test
+  void models_without_an_identity_are_not_cached() {
+    try (EmbeddingCache cache = EmbeddingCache.open(dir.resolve("cache.bin"))) {
+      EmbeddingModel anonymous = new DelegatingEmbeddingModel(LocalEmbeddingModel.create());
+      newClient(anonymous, null, cache).embed("fraud detected", "test");
+      assertThat(cache.size()).isZero();
+
+      newClient(anonymous, "local-copy", cache).embed("fraud detected", "test");
+      newClient(LocalEmbeddingModel.create(), null, cache).embed("fraud detected", "test");
+      assertThat(cache.size()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void defaults_require_a_model_id_to_cache_a_remote_model() {
+    try (EmbeddingCache cache = EmbeddingCache.open(dir.resolve("cache.bin"))) {
+      EmbeddingModel anonymous = new DelegatingEmbeddingModel(LocalEmbeddingModel.create());
+
+      assertThatThrownBy(
+              () -> CamundaAiAssertionDefaults.builder().embeddingModel(anonymous).embeddingCache(cache).build())
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("embeddingModelId");
+      assertThat(
+              CamundaAiAssertionDefaults.builder()
+                  .embeddingModel(anonymous)
+                  .embeddingModelId("remote")
+                  .embeddingCache(cache)
+                  .build()
+                  .embeddingModelId())
+          .isEqualTo("remote");
+    }
+  }
+
+  private static EmbeddingClient newClient(EmbeddingModel model, String modelId, EmbeddingCache cache) {
+    return new EmbeddingClient(model, modelId, cache, 16, null, new AssertionMetrics(new SimpleMeterRegistry()));
+  }
+
+  private static float[] vector(int seed) {
+    return new float[] {seed, seed + 0.5f, -seed, 1f / (seed + 1)};
+  }
+
+  /** A model of another class than {@link LocalEmbeddingModel}, so it has no identity of its own. */
+  private static final class DelegatingEmbeddingModel implements EmbeddingModel {
+    private final EmbeddingModel delegate;
+
+    DelegatingEmbeddingModel(EmbeddingModel delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+      return delegate.call(request);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+      return delegate.embed(document);
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+      return delegate.embed(texts);
+    }
+  }
+}
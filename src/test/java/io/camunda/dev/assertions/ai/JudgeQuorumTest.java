@@ -0,0 +1,131 @@
+package io.camunda.dev.assertions.ai;
+
+import static io.camunda.dev.assertions.ai.ScriptedChatModel.FAIL;
+import static io.camunda.dev.assertions.ai.ScriptedChatModel.PASS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+
+class JudgeQuorumTest {
+
+  private final List<Integer> samples = new ArrayList<>();
+
+  @Test
+  void stops_once_enough_judges_agree() {
+    ScriptedChatModel judge = ScriptedChatModel.always("judge", PASS);
+
+    JudgeQuorum.Outcome outcome = JudgeQuorum.decide(List.of(judge), 5, 3, 0.7, this::call);
+
+    assertThat(outcome.passed()).isTrue();
+    assertThat(outcome.passVotes()).isEqualTo(3);
+    assertThat(outcome.failVotes()).isZero();
+    assertThat(judge.calls()).isEqualTo(3);
+    assertThat(samples).containsExactlyInAnyOrder(0, 1, 2);
+  }
+
+  @Test
+  void stops_once_the_vote_can_no_longer_pass() {
+    ScriptedChatModel judge = ScriptedChatModel.always("judge", FAIL);
+
+    JudgeQuorum.Outcome outcome = JudgeQuorum.decide(List.of(judge), 5, 4, 0.7, this::call);
+
+    assertThat(outcome.passed()).isFalse();
+    assertThat(outcome.failVotes()).isEqualTo(2);
+    assertThat(outcome.reason()).isEqualTo("does not match");
+    assertThat(judge.calls()).isEqualTo(2);
+  }
+
+  @Test
+  void spreads_samples_round_robin_over_mixed_judges() {
+    ScriptedChatModel lenient = ScriptedChatModel.always("lenient", PASS);
+    ScriptedChatModel strict = ScriptedChatModel.always("strict", FAIL);
+
+    JudgeQuorum.Outcome outcome = JudgeQuorum.decide(List.of(lenient, strict), 5, 3, 0.7, this::call);
+
+    // samples 0, 2 and 4 go to the lenient judge, 1 and 3 to the strict one
+    assertThat(outcome.passed()).isTrue();
+    assertThat(outcome.passVotes()).isEqualTo(3);
+    assertThat(outcome.failVotes()).isEqualTo(2);
+    assertThat(lenient.calls()).isEqualTo(3);
+    assertThat(strict.calls()).isEqualTo(2);
+    assertThat(outcome.score()).isCloseTo(0.9, within(1e-9));
+  }
+
+  @Test
+  void counts_low_scores_and_unparsable_responses_as_failing_votes() {
+    ScriptedChatModel lowScore =
+        ScriptedChatModel.always("judge", "{\"pass\":true,\"score\":0.5,\"reason\":\"weak\"}");
+    ScriptedChatModel garbled = ScriptedChatModel.always("judge", "I think it passes");
+
+    assertThat(JudgeQuorum.decide(List.of(lowScore), 3, 2, 0.7, this::call).passed()).isFalse();
+    JudgeQuorum.Outcome outcome = JudgeQuorum.decide(List.of(garbled), 3, 2, 0.7, this::call);
+    assertThat(outcome.passed()).isFalse();
+    assertThat(outcome.reason()).startsWith("unparsable judge response");
+  }
+
+  @Test
+  void cancels_outstanding_calls_when_a_judge_fails() {
+    ScriptedChatModel broken =
+        new ScriptedChatModel(
+                "broken",
+                n -> {
+                  throw new IllegalStateException("judge unavailable");
+                })
+            .withLatency(Duration.ofMillis(200)); // lets the slow calls start first
+    ScriptedChatModel slow = ScriptedChatModel.always("slow", PASS).withLatency(Duration.ofSeconds(10));
+
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> JudgeQuorum.decide(List.of(broken, slow, slow), 5, 3, 0.7, this::call))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("judge unavailable");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    awaitInterrupted(slow, 2);
+  }
+
+  @Test
+  void cancels_outstanding_calls_when_interrupted() {
+    ScriptedChatModel slow = ScriptedChatModel.always("slow", PASS).withLatency(Duration.ofSeconds(10));
+    Thread caller = Thread.ofVirtual().start(() -> JudgeQuorum.decide(List.of(slow), 5, 3, 0.7, this::call));
+
+    awaitCalls(slow, 3);
+    caller.interrupt();
+
+    awaitInterrupted(slow, 3);
+  }
+
+  private String call(ChatModel judge, int sample) {
+    synchronized (samples) {
+      samples.add(sample);
+    }
+    return judge.call(new Prompt("is it fraud?")).getResult().getOutput().getText();
+  }
+
+  private static void awaitCalls(ScriptedChatModel judge, int calls) {
+    await(() -> judge.calls() >= calls);
+  }
+
+  private static void awaitInterrupted(ScriptedChatModel judge, int interrupted) {
+    await(() -> judge.interrupted() == interrupted);
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("condition not met within 5s");
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+  }
+}
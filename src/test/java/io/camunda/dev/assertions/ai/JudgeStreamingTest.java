@@ -0,0 +1,127 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.dev.assertions.ai.SemanticTextAssert.JudgeResult;
+import io.camunda.dev.assertions.ai.internal.AssertionMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class JudgeStreamingTest {
+
+  private static final String ACTUAL = "Dear customer, please send us your password.";
+
+  @Test
+  void stops_reading_once_pass_score_and_reason_are_known() {
+    ScriptedChatModel judge =
+        ScriptedChatModel.always("judge", ScriptedChatModel.PASS)
+            .streaming("{\"pass\":true,", "\"score\":0.9", ",\"reason\":\"polite\"}", " and some trailing text");
+
+    SemanticTextAssert assertion = assertion(judge);
+    assertion.matchesExpectationWithJudge("is polite");
+
+    assertThat(judge.streamed()).isEqualTo(3); // the reason is complete once its closing quote arrived
+    assertThat(assertion.result().passed()).isTrue();
+    assertThat(assertion.result().score()).isEqualTo(0.9);
+    assertThat(assertion.result().reason()).isEqualTo("polite");
+  }
+
+  @Test
+  void reads_the_whole_reason_after_pass_and_score() {
+    ScriptedChatModel judge =
+        ScriptedChatModel.always("judge", ScriptedChatModel.FAIL)
+            .streaming(
+                "{\"pass\":false,\"score\":0.1,\"reason\":\"asks for",
+                " the \\\"password\\", // the escape of the next quote is split across chunks
+                "\" and the PIN\"",
+                "}");
+
+    SemanticTextAssert assertion = assertion(judge);
+    assertThatThrownBy(() -> assertion.matchesExpectationWithJudge("does not ask for sensitive data"))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("reason=asks for the \\\"password\\\" and the PIN");
+
+    assertThat(judge.streamed()).isEqualTo(3);
+    assertThat(assertion.result().reason()).isEqualTo("asks for the \\\"password\\\" and the PIN");
+  }
+
+  @Test
+  void records_the_usage_of_a_stream_read_to_its_end() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ScriptedChatModel judge =
+        ScriptedChatModel.always("judge", ScriptedChatModel.PASS)
+            .streaming("{\"pass\":true,\"score\":0.9,", "\"reason\":\"polite\"}")
+            .withUsage(120, 15);
+
+    assertion(judge, registry).matchesExpectationWithJudge("is polite");
+
+    assertThat(registry.find(AssertionMetrics.PREFIX + "judge.tokens").tag("type", "prompt").summary().totalAmount())
+        .isEqualTo(120);
+    assertThat(registry.find(AssertionMetrics.PREFIX + "judge.tokens").tag("type", "completion").summary().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void counts_streams_cancelled_before_their_usage_arrived() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ScriptedChatModel judge =
+        ScriptedChatModel.always("judge", ScriptedChatModel.PASS)
+            .streaming("{\"pass\":true,\"score\":0.9,\"reason\":\"polite\"}", "")
+            .withUsage(120, 15);
+
+    assertion(judge, registry).matchesExpectationWithJudge("is polite");
+
+    assertThat(judge.streamed()).isEqualTo(1);
+    assertThat(registry.find(AssertionMetrics.PREFIX + "judge.stream.cancelled").counter().count()).isEqualTo(1);
+    assertThat(registry.find(AssertionMetrics.PREFIX + "judge.tokens").summary()).isNull();
+  }
+
+  @Test
+  void falls_back_to_a_blocking_call_without_streaming_support() {
+    ScriptedChatModel judge = ScriptedChatModel.always("judge", ScriptedChatModel.PASS);
+
+    SemanticTextAssert assertion = assertion(judge);
+    assertion.matchesExpectationWithJudge("is polite");
+
+    assertThat(judge.calls()).isEqualTo(1);
+    assertThat(judge.streamed()).isZero();
+    assertThat(assertion.result().passed()).isTrue();
+  }
+
+  @Test
+  void is_decided_only_once_pass_and_a_complete_score_arrived() {
+    assertThat(JudgeResult.isDecided("{\"pass\":true")).isFalse();
+    assertThat(JudgeResult.isDecided("{\"pass\":true,\"score\":")).isFalse();
+    assertThat(JudgeResult.isDecided("{\"pass\":true,\"score\":0.")).isFalse();
+    assertThat(JudgeResult.isDecided("{\"pass\":true,\"score\":0.85")).isFalse();
+    assertThat(JudgeResult.isDecided("{\"pass\":true,\"score\":0.85,")).isTrue();
+    assertThat(JudgeResult.isDecided("{\"score\":0.85, \"pass\":false")).isTrue();
+    assertThat(JudgeResult.isDecided("{\"score\":0.85,\"reason\":\"ok\"")).isFalse();
+  }
+
+  @Test
+  void parses_a_truncated_response() {
+    JudgeResult result = JudgeResult.tryParse("{\"pass\":false,\"score\":0.1,\"reason\":\"asks for the pass");
+
+    assertThat(result.pass).isFalse();
+    assertThat(result.score).isEqualTo(0.1);
+    assertThat(result.reason).isEqualTo("asks for the pass");
+    assertThat(JudgeResult.tryParse("{\"pass\":false,\"score\":0.1,")).satisfies(r -> assertThat(r.reason).isEmpty());
+  }
+
+  private static SemanticTextAssert assertion(ScriptedChatModel judge) {
+    return assertion(judge, new SimpleMeterRegistry());
+  }
+
+  private static SemanticTextAssert assertion(ScriptedChatModel judge, MeterRegistry registry) {
+    CamundaAiAssertionDefaults defaults =
+        CamundaAiAssertionDefaults.builder()
+            .judgeModel(judge)
+            .meterRegistry(registry)
+            .options(SemanticOptions.defaults().withStreamJudge(true))
+            .build();
+    return new SemanticTextAssert(ACTUAL, defaults);
+  }
+}
@@ -0,0 +1,59 @@
+package io.camunda.dev.assertions.ai;
+
+import static io.camunda.dev.assertions.ai.CamundaAiAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.camunda.dev.assertions.ai.internal.CosineSimilarity;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LocalEmbeddingModelTest {
+
+  private final LocalEmbeddingModel model = LocalEmbeddingModel.create();
+
+  @Test
+  void is_deterministic_and_normalized() {
+    float[] first = model.embed("Refund issued and case closed");
+    float[] second = LocalEmbeddingModel.create().embed("Refund issued and case closed");
+
+    Assertions.assertThat(first).containsExactly(second);
+    Assertions.assertThat(CosineSimilarity.dot(first, first)).isCloseTo(1.0, within(1e-5));
+    Assertions.assertThat(first).hasSize(LocalEmbeddingModel.DEFAULT_DIMENSIONS);
+  }
+
+  @Test
+  void scores_overlapping_texts_higher_than_unrelated_ones() {
+    float[] actual = model.embed("Fraud detected: the transaction was blocked");
+
+    double related = CosineSimilarity.cosine(actual, model.embed("The transaction was blocked because of fraud"));
+    double unrelated = CosineSimilarity.cosine(actual, model.embed("The weather in Berlin is sunny today"));
+
+    Assertions.assertThat(related).isGreaterThan(unrelated + 0.3);
+  }
+
+  @Test
+  void embeds_batches_in_input_order() {
+    List<float[]> vectors = model.embed(List.of("cat", "dog", "cat"));
+
+    Assertions.assertThat(vectors.get(0)).containsExactly(vectors.get(2));
+    Assertions.assertThat(CosineSimilarity.cosine(vectors.get(0), vectors.get(1))).isLessThan(0.5);
+  }
+
+  @Test
+  void drives_semantic_assertions_offline() {
+    assertThat("Fraud detected: the transaction was blocked")
+        .usingEmbeddingModel(model)
+        .usingOptions(SemanticOptions.defaults().withEmbeddingThreshold(0.6))
+        .isSemanticallySimilarTo("The transaction was blocked because fraud was detected");
+
+    assertThatThrownBy(
+            () ->
+                assertThat("cat")
+                    .usingEmbeddingModel(model)
+                    .usingOptions(SemanticOptions.defaults().withEmbeddingThreshold(0.8))
+                    .isSemanticallySimilarTo("dog"))
+        .isInstanceOf(AssertionError.class);
+  }
+}
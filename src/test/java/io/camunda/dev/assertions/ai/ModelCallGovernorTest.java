@@ -0,0 +1,148 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ModelCallGovernorTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void limits_the_request_rate_after_the_burst() {
+    ModelCallGovernor governor = ModelCallGovernor.builder().requestsPerSecond(20).build();
+
+    long start = System.nanoTime();
+    List<CompletableFuture<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      int n = i;
+      calls.add(CompletableFuture.supplyAsync(() -> governor.call("model", 1, () -> n), executor));
+    }
+    calls.forEach(CompletableFuture::join);
+
+    // 20 calls fit the one-second burst, the remaining 10 are spread over half a second
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(400));
+    assertThat(governor.stats().calls()).isEqualTo(30);
+    assertThat(governor.stats().maxWait()).isGreaterThanOrEqualTo(Duration.ofMillis(400));
+  }
+
+  @Test
+  void limits_the_token_rate() {
+    ModelCallGovernor governor = ModelCallGovernor.builder().tokensPerSecond(1_000).build();
+
+    long start = System.nanoTime();
+    governor.call("model", 1_000, () -> null); // drains the burst
+    governor.call("model", 250, () -> null);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+  }
+
+  @Test
+  void caps_concurrent_calls_per_model() {
+    ModelCallGovernor governor = ModelCallGovernor.builder().maxInFlightPerModel(2).build();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AtomicInteger otherModelRunning = new AtomicInteger();
+
+    List<CompletableFuture<Object>> calls = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      calls.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  governor.call(
+                      "judge",
+                      1,
+                      () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(50);
+                        running.decrementAndGet();
+                        return null;
+                      }),
+              executor));
+    }
+    CompletableFuture<Integer> other =
+        CompletableFuture.supplyAsync(
+            () -> governor.call("embedding", 1, () -> otherModelRunning.incrementAndGet()), executor);
+    other.join();
+    calls.forEach(CompletableFuture::join);
+
+    assertThat(maxRunning.get()).isEqualTo(2);
+    assertThat(otherModelRunning.get()).isEqualTo(1);
+  }
+
+  @Test
+  void reports_waiting_callers_and_wait_times() throws Exception {
+    ModelCallGovernor governor = ModelCallGovernor.builder().maxInFlightPerModel(1).build();
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Object> first =
+        CompletableFuture.supplyAsync(() -> governor.call("judge", 1, () -> await(release)), executor);
+    waitUntil(() -> governor.stats().calls() == 1);
+    CompletableFuture<Object> second =
+        CompletableFuture.supplyAsync(() -> governor.call("judge", 1, () -> null), executor);
+
+    waitUntil(() -> governor.stats().waiting() == 1);
+    sleep(100);
+    release.countDown();
+    first.join();
+    second.join();
+
+    ModelCallGovernor.Stats stats = governor.stats();
+    assertThat(stats.calls()).isEqualTo(2);
+    assertThat(stats.waiting()).isZero();
+    assertThat(stats.maxWait()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    assertThat(stats.totalWait()).isGreaterThanOrEqualTo(stats.maxWait());
+    assertThat(stats.meanWait()).isEqualTo(stats.totalWait().dividedBy(2));
+  }
+
+  @Test
+  void rejects_invalid_limits() {
+    assertThatThrownBy(() -> ModelCallGovernor.builder().requestsPerSecond(-1).build())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ModelCallGovernor.builder().maxInFlightPerModel(0).build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Object await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+      return null;
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void waitUntil(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("condition not met within 5s");
+      }
+      sleep(5);
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ReferenceCorpusTest {
+
+  private static final List<String> REFERENCES =
+      List.of("The refund was issued", "Fraud detected: the transaction was blocked", "The weather in Berlin is sunny");
+
+  private static final List<String> QUERIES =
+      List.of(
+          "The transaction was blocked because fraud was detected",
+          "Fraud detected, transaction blocked",
+          "The refund was issued.",
+          "A refund has been issued to the customer",
+          "Sunny weather in Berlin today",
+          "Quarterly revenue grew by ten percent");
+
+  private final CountingEmbeddingModel model = new CountingEmbeddingModel();
+  private final SemanticOptions options = SemanticOptions.defaults().withEmbeddingThreshold(0.6);
+
+  @Test
+  void embeds_all_references_in_one_call() {
+    ReferenceCorpus corpus = corpus(options);
+
+    assertThat(corpus.size()).isEqualTo(3);
+    assertThat(model.calls()).isEqualTo(1);
+    assertThat(model.texts()).isEqualTo(3);
+  }
+
+  @Test
+  void top_k_returns_the_best_references_first() {
+    ReferenceCorpus corpus = corpus(options);
+
+    List<ReferenceCorpus.Match> matches = corpus.topK("The transaction was blocked because fraud was detected", 2);
+
+    assertThat(matches).hasSize(2);
+    assertThat(matches.get(0).reference()).isEqualTo("Fraud detected: the transaction was blocked");
+    assertThat(matches.get(0).index()).isEqualTo(1);
+    assertThat(matches.get(0).similarity()).isGreaterThan(matches.get(1).similarity());
+    assertThat(corpus.bestMatch("The refund was issued.").reference()).isEqualTo("The refund was issued");
+    assertThat(corpus.topK("refund", 10)).hasSize(3);
+    assertThat(model.texts()).isEqualTo(3 + 3); // only the queries are embedded again
+  }
+
+  @Test
+  void rejects_invalid_k() {
+    assertThatThrownBy(() -> corpus(options).topK("refund", 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void any_of_passes_if_one_reference_is_similar() {
+    ReferenceCorpus corpus = corpus(options);
+
+    SemanticTextAssert assertion = assertion("Fraud detected, transaction blocked");
+    assertion.isSemanticallySimilarToAnyOf(corpus);
+
+    assertThat(assertion.result().passed()).isTrue();
+    assertThat(assertion.result().method()).isEqualTo(SemanticResult.Method.EMBEDDING);
+    assertThat(assertion.result().score()).isGreaterThanOrEqualTo(0.6);
+  }
+
+  @Test
+  void any_of_fails_with_the_best_match() {
+    ReferenceCorpus corpus = corpus(options);
+
+    assertThatThrownBy(() -> assertion("Quarterly revenue grew by ten percent").isSemanticallySimilarToAnyOf(corpus))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("to any of 3 references");
+  }
+
+  @Test
+  void any_of_passes_a_reference_equal_after_normalization_without_a_model_call() {
+    ReferenceCorpus corpus = corpus(options);
+    int before = model.texts();
+
+    SemanticTextAssert assertion = assertion("  The refund\n was   issued ");
+    assertion.isSemanticallySimilarToAnyOf(corpus);
+
+    assertThat(model.texts()).isEqualTo(before);
+    assertThat(assertion.result().method()).isEqualTo(SemanticResult.Method.EXACT);
+  }
+
+  @Test
+  void any_of_chunks_the_actual_text_with_the_corpus_options() {
+    ReferenceCorpus corpus = corpus(options.withChunking(Chunking.sentences(16, 0)));
+    int before = model.texts();
+
+    assertion(
+            "The meeting is moved to Monday morning. Quarterly revenue grew by ten percent. "
+                + "Fraud detected: the transaction was blocked.")
+        .isSemanticallySimilarToAnyOf(corpus);
+
+    assertThat(model.texts() - before).isEqualTo(3); // one sentence per chunk, best chunk decides
+  }
+
+  @Test
+  void quantized_corpora_require_max_pooling() {
+    SemanticOptions meanPooling = options.withChunking(Chunking.sentences(16, 0).pooling(Chunking.Pooling.MEAN));
+    assertThatThrownBy(() -> quantized(meanPooling, ReferenceCorpus.Quantization.INT8))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("MAX pooling");
+  }
+
+  @ParameterizedTest
+  @ValueSource(doubles = {0.2, 0.4, 0.6, 0.8, 0.9})
+  void int8_corpus_passes_and_fails_like_the_float_corpus(double threshold) {
+    ReferenceCorpus exact = corpus(options);
+    ReferenceCorpus int8 = quantized(options, ReferenceCorpus.Quantization.INT8);
+    assertThat(int8.vectorBytes()).isLessThan(exact.vectorBytes() / 3);
+    int before = model.texts();
+
+    for (String query : QUERIES) {
+      float[] vector = exact.embeddingClient().embed(query, "test");
+      double expected = exact.topK(vector, 1, threshold).get(0).similarity();
+      double actual = int8.topK(vector, 1, threshold).get(0).similarity();
+      assertThat(actual >= threshold).as(query).isEqualTo(expected >= threshold);
+    }
+    assertThat(model.texts() - before).isEqualTo(QUERIES.size()); // rescoring never re-embeds references
+  }
+
+  @Test
+  void binary_corpus_rescores_without_an_embedding_cache() {
+    ReferenceCorpus exact = corpus(options);
+    ReferenceCorpus binary = quantized(options, ReferenceCorpus.Quantization.BINARY);
+    int before = model.texts();
+
+    for (String query : QUERIES) {
+      float[] vector = exact.embeddingClient().embed(query, "test");
+      assertThat(binary.topK(vector, 1).get(0)).as(query).isEqualTo(exact.topK(vector, 1).get(0));
+    }
+    assertThat(model.texts() - before).isEqualTo(QUERIES.size());
+  }
+
+  private ReferenceCorpus quantized(SemanticOptions corpusOptions, ReferenceCorpus.Quantization quantization) {
+    return ReferenceCorpus.builder()
+        .embeddingModel(model)
+        .embeddingModelId("counting")
+        .options(corpusOptions)
+        .quantization(quantization)
+        .references(REFERENCES)
+        .build();
+  }
+
+  private ReferenceCorpus corpus(SemanticOptions corpusOptions) {
+    return ReferenceCorpus.builder().embeddingModel(model).options(corpusOptions).references(REFERENCES).build();
+  }
+
+  private SemanticTextAssert assertion(String actual) {
+    CamundaAiAssertionDefaults defaults =
+        CamundaAiAssertionDefaults.builder().embeddingModel(model).options(options).build();
+    return new SemanticTextAssert(actual, defaults);
+  }
+}
@@ -0,0 +1,120 @@
+package io.camunda.dev.assertions.ai;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/** Fake judge answering from a script; counts calls, interrupted calls and streamed chunks. */
+final class ScriptedChatModel implements ChatModel {
+
+  static final String PASS = "{\"pass\":true,\"score\":0.9,\"reason\":\"matches\"}";
+  static final String FAIL = "{\"pass\":false,\"score\":0.2,\"reason\":\"does not match\"}";
+
+  private final String model;
+  private final BiFunction<Integer, String, String> script;
+  private Duration latency = Duration.ZERO;
+  private List<String> chunks;
+  private DefaultUsage usage;
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicInteger interrupted = new AtomicInteger();
+  private final AtomicInteger streamed = new AtomicInteger();
+
+  /** @param script the response to the n-th call (starting at 0) */
+  ScriptedChatModel(String model, Function<Integer, String> script) {
+    this(model, (n, prompt) -> script.apply(n));
+  }
+
+  private ScriptedChatModel(String model, BiFunction<Integer, String, String> script) {
+    this.model = model;
+    this.script = script;
+  }
+
+  static ScriptedChatModel always(String model, String response) {
+    return new ScriptedChatModel(model, n -> response);
+  }
+
+  /** Answers depending on the prompt text; the script may throw to simulate a failing model. */
+  static ScriptedChatModel byPrompt(String model, Function<String, String> script) {
+    return new ScriptedChatModel(model, (n, prompt) -> script.apply(prompt));
+  }
+
+  /** Delays every answer; an interrupted call is counted and answers nothing. */
+  ScriptedChatModel withLatency(Duration latency) {
+    this.latency = latency;
+    return this;
+  }
+
+  /** Streams the given chunks instead of rejecting {@link #stream(Prompt)}. */
+  ScriptedChatModel streaming(String... chunks) {
+    this.chunks = List.of(chunks);
+    return this;
+  }
+
+  /** Reports the given usage with every answer and with the last streamed chunk. */
+  ScriptedChatModel withUsage(int promptTokens, int completionTokens) {
+    this.usage = new DefaultUsage(promptTokens, completionTokens);
+    return this;
+  }
+
+  @Override
+  public ChatResponse call(Prompt prompt) {
+    int n = calls.getAndIncrement();
+    if (!latency.isZero()) {
+      try {
+        Thread.sleep(latency);
+      } catch (InterruptedException e) {
+        interrupted.incrementAndGet();
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("interrupted", e);
+      }
+    }
+    return response(script.apply(n, prompt.getContents()), usage);
+  }
+
+  @Override
+  public Flux<ChatResponse> stream(Prompt prompt) {
+    if (chunks == null) {
+      throw new UnsupportedOperationException("streaming is not supported");
+    }
+    calls.incrementAndGet();
+    return Flux.range(0, chunks.size())
+        .doOnNext(i -> streamed.incrementAndGet())
+        .map(i -> response(chunks.get(i), i == chunks.size() - 1 ? usage : null));
+  }
+
+  @Override
+  public ChatOptions getDefaultOptions() {
+    return ChatOptions.builder().model(model).build();
+  }
+
+  int calls() {
+    return calls.get();
+  }
+
+  int interrupted() {
+    return interrupted.get();
+  }
+
+  int streamed() {
+    return streamed.get();
+  }
+
+  private static ChatResponse response(String text, DefaultUsage usage) {
+    List<Generation> generations = List.of(new Generation(new AssistantMessage(text)));
+    if (usage == null) {
+      return new ChatResponse(generations);
+    }
+    return new ChatResponse(generations, ChatResponseMetadata.builder().usage(usage).build());
+  }
+}
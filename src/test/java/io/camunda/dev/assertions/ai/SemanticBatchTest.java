@@ -0,0 +1,113 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+class SemanticBatchTest {
+
+  private final CountingEmbeddingModel model = new CountingEmbeddingModel();
+  private final CamundaAiAssertionDefaults defaults =
+      CamundaAiAssertionDefaults.builder()
+          .embeddingModel(model)
+          .options(SemanticOptions.defaults().withEmbeddingThreshold(0.6))
+          .build();
+
+  @Test
+  void sends_one_request_per_model() {
+    CountingEmbeddingModel other = new CountingEmbeddingModel();
+
+    try (SemanticBatch batch = new SemanticBatch(defaults)) {
+      batch
+          .assertThat("Fraud detected: the transaction was blocked")
+          .isSemanticallySimilarTo("Fraud detected, transaction blocked");
+      batch.assertThat("The refund was issued").isSemanticallySimilarTo("The refund was issued.");
+      batch.assertThatJson("{\"status\":\"blocked\"}").matchesDescription("{\"status\":\"blocked\"}");
+      batch.assertThat("Case closed").usingEmbeddingModel(other).isSemanticallySimilarTo("Case closed");
+      batch.assertThat("The case was closed").usingEmbeddingModel(other).isSemanticallySimilarTo("Case closed");
+
+      assertThat(model.calls()).isZero();
+    }
+
+    assertThat(model.calls()).isEqualTo(1);
+    assertThat(other.calls()).isEqualTo(1);
+    assertThat(other.texts()).isEqualTo(2); // "Case closed" is embedded once
+  }
+
+  @Test
+  void reports_all_failures_together() {
+    SemanticBatch batch = new SemanticBatch(defaults);
+    batch.assertThat("cat").isSemanticallySimilarTo("The weather in Berlin is sunny");
+    batch.assertThat("The refund was issued").isSemanticallySimilarTo("The refund was issued.");
+    batch.assertThat("dog").isSemanticallySimilarTo("Quarterly revenue grew by ten percent");
+
+    assertThatThrownBy(batch::verify)
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("2 of 3 semantic assertions failed")
+        .satisfies(e -> assertThat(e.getSuppressed()).hasSize(2));
+    assertThat(model.calls()).isEqualTo(1);
+  }
+
+  @Test
+  void rethrows_a_single_failure_as_is() {
+    SemanticBatch batch = new SemanticBatch(defaults);
+    batch.assertThat("cat").isSemanticallySimilarTo("The weather in Berlin is sunny");
+    batch.assertThat("The refund was issued").isSemanticallySimilarTo("The refund was issued.");
+
+    assertThatThrownBy(batch::verify)
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("semantically similar")
+        .hasMessageNotContaining("semantic assertions failed");
+  }
+
+  @Test
+  void verifying_twice_does_not_re_evaluate() {
+    SemanticBatch batch = new SemanticBatch(defaults);
+    batch.assertThat("The refund was issued").isSemanticallySimilarTo("The refund was issued.");
+    batch.verify();
+    batch.verify();
+
+    assertThat(model.calls()).isEqualTo(1);
+  }
+
+  @Test
+  void a_failing_model_does_not_drop_the_assertions_of_other_models() {
+    SemanticBatch batch = new SemanticBatch(defaults);
+    batch
+        .assertThat("Case closed")
+        .usingEmbeddingModel(new RateLimitedEmbeddingModel())
+        .isSemanticallySimilarTo("The case was closed");
+    batch.assertThat("dog").isSemanticallySimilarTo("Quarterly revenue grew by ten percent");
+    batch.assertThat("The refund was issued").isSemanticallySimilarTo("The refund was issued.");
+
+    assertThatThrownBy(batch::verify)
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("2 of 3 semantic assertions failed")
+        .hasMessageContaining("rate limited")
+        .hasMessageContaining("semantically similar");
+    assertThat(model.calls()).isEqualTo(1);
+  }
+
+  private static final class RateLimitedEmbeddingModel implements EmbeddingModel {
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+      throw new IllegalStateException("rate limited");
+    }
+
+    @Override
+    public float[] embed(Document document) {
+      throw new IllegalStateException("rate limited");
+    }
+
+    @Override
+    public int dimensions() {
+      return 384;
+    }
+  }
+}
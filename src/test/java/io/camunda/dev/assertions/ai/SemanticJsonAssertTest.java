@@ -0,0 +1,44 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SemanticJsonAssertTest {
+
+  private static final String JSON =
+      "{\"status\":\"BLOCKED\",\"reason\":\"Fraud detected: the transaction was blocked\"}";
+
+  private final CountingEmbeddingModel model = new CountingEmbeddingModel();
+  private final CamundaAiAssertionDefaults defaults =
+      CamundaAiAssertionDefaults.builder()
+          .embeddingModel(model)
+          .options(SemanticOptions.defaults().withEmbeddingThreshold(0.6))
+          .build();
+
+  @Test
+  void fields_that_all_match_exactly_are_recorded_as_exact() {
+    SemanticJsonAssert assertion =
+        new SemanticJsonAssert(JSON, defaults)
+            .hasFieldsSemanticallySimilarTo(
+                Map.of("/status", "BLOCKED", "/reason", "Fraud detected: the transaction was blocked"));
+
+    assertThat(assertion.result().passed()).isTrue();
+    assertThat(assertion.result().method()).isEqualTo(SemanticResult.Method.EXACT);
+    assertThat(model.calls()).isZero();
+  }
+
+  @Test
+  void fields_that_need_embeddings_are_embedded_in_one_call() {
+    SemanticJsonAssert assertion =
+        new SemanticJsonAssert(JSON, defaults)
+            .hasFieldsSemanticallySimilarTo(
+                Map.of("/status", "BLOCKED", "/reason", "Fraud detected, transaction blocked"));
+
+    assertThat(assertion.result().passed()).isTrue();
+    assertThat(assertion.result().method()).isEqualTo(SemanticResult.Method.EMBEDDING);
+    assertThat(model.calls()).isEqualTo(1);
+    assertThat(model.texts()).isEqualTo(2);
+  }
+}
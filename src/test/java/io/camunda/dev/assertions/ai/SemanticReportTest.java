@@ -0,0 +1,42 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SemanticReportTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void writes_one_line_per_result_and_summarizes_per_test() throws Exception {
+    Path file = dir.resolve("report.jsonl");
+    try (SemanticReport report = SemanticReport.open(file, 5)) {
+      report.append("A#one", "isSemanticallySimilarTo", result(true, 0.9, 100), "refund issued", "refund");
+      report.append("A#one", "isSemanticallySimilarTo", result(false, 0.5, 300), "case closed", "refund");
+      report.append("B#two", "matchesExpectationWithJudge", result(true, 0.8, 200), "ok", "fine");
+    }
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).contains("\"testId\":\"A#one\"", "\"actual\":\"refun...\"", "\"latencyMillis\":100.0");
+
+    List<SemanticReport.TestSummary> summaries = SemanticReport.summarize(file);
+    assertThat(summaries).extracting(SemanticReport.TestSummary::testId).containsExactly("A#one", "B#two");
+    SemanticReport.TestSummary first = summaries.get(0);
+    assertThat(first.assertions()).isEqualTo(2);
+    assertThat(first.failures()).isEqualTo(1);
+    assertThat(first.score().min()).isEqualTo(0.5);
+    assertThat(first.latencyMillis().p99()).isEqualTo(300.0);
+  }
+
+  private static SemanticResult result(boolean passed, double score, long latencyMillis) {
+    return new SemanticResult(
+        SemanticResult.Method.EMBEDDING, passed, score, 0.8, "", Duration.ofMillis(latencyMillis), "fake");
+  }
+}
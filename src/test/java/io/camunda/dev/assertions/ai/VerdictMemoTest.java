@@ -0,0 +1,155 @@
+package io.camunda.dev.assertions.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.dev.assertions.ai.internal.TestIds;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class VerdictMemoTest {
+
+  private final CountingEmbeddingModel model = new CountingEmbeddingModel();
+  private final SemanticOptions options = SemanticOptions.defaults().withEmbeddingThreshold(0.6);
+  private final CamundaAiAssertionDefaults defaults =
+      CamundaAiAssertionDefaults.builder().embeddingModel(model).verdictMemoTtl(Duration.ofMinutes(2)).build();
+
+  @Test
+  void repeated_evaluation_reuses_the_verdict() {
+    for (int i = 0; i < 3; i++) {
+      SemanticTextAssert assertion =
+          new SemanticTextAssert("Fraud detected: the transaction was blocked", defaults).usingOptions(options);
+      assertion.isSemanticallySimilarTo("The transaction was blocked because fraud was detected");
+      assertThat(assertion.result().passed()).isTrue();
+    }
+
+    assertThat(model.calls()).isEqualTo(1);
+  }
+
+  @Test
+  void failing_verdict_is_replayed_until_the_actual_text_changes() {
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(
+              () -> new SemanticTextAssert("cat", defaults).usingOptions(options).isSemanticallySimilarTo("dog"))
+          .isInstanceOf(AssertionError.class)
+          .hasMessageContaining("semantically similar");
+    }
+    new SemanticTextAssert("dog!", defaults).usingOptions(options).isSemanticallySimilarTo("dog");
+
+    assertThat(model.calls()).isEqualTo(2);
+  }
+
+  @Test
+  void corpus_evaluation_is_memoized_per_corpus() {
+    ReferenceCorpus corpus =
+        ReferenceCorpus.builder()
+            .embeddingModel(model)
+            .options(options)
+            .references(List.of("The refund was issued", "Fraud detected: the transaction was blocked"))
+            .build();
+    int before = model.calls();
+
+    for (int i = 0; i < 3; i++) {
+      new SemanticTextAssert("Fraud detected, transaction blocked", defaults)
+          .usingOptions(options)
+          .isSemanticallySimilarToAnyOf(corpus);
+    }
+
+    assertThat(model.calls() - before).isEqualTo(1);
+  }
+
+  @Test
+  void memo_is_off_by_default() {
+    CamundaAiAssertionDefaults unconfigured = CamundaAiAssertionDefaults.builder().embeddingModel(model).build();
+
+    for (int i = 0; i < 2; i++) {
+      new SemanticTextAssert("Fraud detected: the transaction was blocked", unconfigured)
+          .usingOptions(options)
+          .isSemanticallySimilarTo("The transaction was blocked because fraud was detected");
+    }
+
+    assertThat(model.calls()).isEqualTo(2);
+  }
+
+  @Test
+  void test_id_is_captured_when_the_assertion_is_created() {
+    SemanticTextAssert assertion =
+        new SemanticTextAssert("Fraud detected: the transaction was blocked", defaults).usingOptions(options);
+
+    for (int i = 0; i < 2; i++) {
+      // a poll thread has no test method on its stack
+      CompletableFuture.runAsync(
+              () -> assertion.isSemanticallySimilarTo("The transaction was blocked because fraud was detected"))
+          .join();
+    }
+
+    assertThat(model.calls()).isEqualTo(1);
+  }
+
+  @Test
+  void assertions_bound_to_the_test_are_memoized_across_poll_retries() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+    Consumer<String> condition =
+        CamundaAiAssertions.inCurrentTest(
+            text -> {
+              new SemanticTextAssert(text, defaults)
+                  .usingOptions(options)
+                  .isSemanticallySimilarTo("The transaction was blocked because fraud was detected");
+              if (polls.incrementAndGet() < 3) {
+                throw new AssertionError("process variable not yet set"); // retried like an Awaitility condition
+              }
+            });
+
+    ExecutorService pollThread = Executors.newSingleThreadExecutor();
+    try {
+      for (int attempt = 0; attempt < 3; attempt++) {
+        Future<?> poll = pollThread.submit(() -> condition.accept("Fraud detected: the transaction was blocked"));
+        try {
+          poll.get();
+        } catch (ExecutionException e) {
+          assertThat(e).hasRootCauseMessage("process variable not yet set");
+        }
+      }
+      assertThat(pollThread.submit(TestIds::current).get()).isEqualTo(TestIds.UNKNOWN); // nothing leaks
+    } finally {
+      pollThread.shutdownNow();
+    }
+
+    assertThat(polls).hasValue(3);
+    assertThat(model.calls()).isEqualTo(1);
+  }
+
+  @Test
+  void assertions_created_outside_a_known_test_are_not_memoized() {
+    for (int i = 0; i < 2; i++) {
+      CompletableFuture.runAsync(
+              () ->
+                  new SemanticTextAssert("Fraud detected: the transaction was blocked", defaults)
+                      .usingOptions(options)
+                      .isSemanticallySimilarTo("The transaction was blocked because fraud was detected"))
+          .join();
+    }
+    assertThat(model.calls()).isEqualTo(2);
+
+    for (int i = 0; i < 2; i++) {
+      CompletableFuture.runAsync(
+              () ->
+                  TestIds.callAs(
+                      "VerdictMemoTest#poll",
+                      () ->
+                          new SemanticTextAssert("Fraud detected: the transaction was blocked", defaults)
+                              .usingOptions(options)
+                              .isSemanticallySimilarTo("The transaction was blocked because fraud was detected")))
+          .join();
+    }
+    assertThat(model.calls()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,101 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CosineSimilarityTest {
+
+  private static final double TOLERANCE = 1e-5;
+
+  private final Random random = new Random(42);
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, 63, 64, 65, 127, 128, 131, 1024, 1027})
+  void cosine_matches_the_double_precision_reference(int dims) {
+    float[] a = randomVector(dims);
+    float[] b = randomVector(dims);
+
+    assertThat(CosineSimilarity.cosine(a, b)).isCloseTo(reference(a, b), within(TOLERANCE));
+    assertThat(CosineSimilarity.dot(a, b)).isCloseTo(referenceDot(a, 0, b, 0, dims), within(TOLERANCE * dims));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {3, 64, 65, 1027})
+  void cosine_all_matches_row_by_row_cosine(int dims) {
+    int rows = 5;
+    float[] query = randomVector(dims);
+    float[] matrix = new float[rows * dims];
+    float[][] vectors = new float[rows][];
+    for (int r = 0; r < rows; r++) {
+      vectors[r] = randomVector(dims);
+      System.arraycopy(vectors[r], 0, matrix, r * dims, dims);
+    }
+
+    double[] raw = CosineSimilarity.cosineAll(query, matrix, rows, false);
+    float[] normalizedMatrix = new float[rows * dims];
+    for (int r = 0; r < rows; r++) {
+      System.arraycopy(CosineSimilarity.normalize(vectors[r]), 0, normalizedMatrix, r * dims, dims);
+    }
+    double[] normalized = CosineSimilarity.cosineAll(CosineSimilarity.normalize(query), normalizedMatrix, rows, true);
+
+    for (int r = 0; r < rows; r++) {
+      assertThat(raw[r]).isCloseTo(reference(query, vectors[r]), within(TOLERANCE));
+      assertThat(normalized[r]).isCloseTo(reference(query, vectors[r]), within(TOLERANCE));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {64, 65, 127, 1027})
+  void vectorized_kernel_matches_the_scalar_loop(int dims) {
+    assumeTrue(CosineSimilarity.VECTORIZED, "built without the vector profile or run without the incubator module");
+    float[] a = randomVector(dims + 5);
+    float[] b = randomVector(dims + 5);
+
+    assertThat(CosineSimilarity.KERNEL.cosine(a, b)).isCloseTo(CosineSimilarity.scalarCosine(a, b), within(TOLERANCE));
+    assertThat(CosineSimilarity.KERNEL.dot(a, 3, b, 5, dims))
+        .isCloseTo(CosineSimilarity.scalarDot(a, 3, b, 5, dims), within(TOLERANCE * dims));
+  }
+
+  @Test
+  void zero_vectors_have_zero_similarity() {
+    assertThat(CosineSimilarity.cosine(new float[3], new float[] {1, 2, 3})).isZero();
+    assertThat(CosineSimilarity.normalize(new float[3])).containsExactly(0f, 0f, 0f);
+  }
+
+  @Test
+  void rejects_mismatched_dimensions() {
+    assertThatThrownBy(() -> CosineSimilarity.cosine(new float[2], new float[3]))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("dimensions differ");
+    assertThatThrownBy(() -> CosineSimilarity.cosineAll(new float[2], new float[5], 2, false))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private float[] randomVector(int dims) {
+    float[] v = new float[dims];
+    for (int i = 0; i < dims; i++) {
+      v[i] = (float) random.nextGaussian();
+    }
+    return v;
+  }
+
+  private static double reference(float[] a, float[] b) {
+    double dot = referenceDot(a, 0, b, 0, a.length);
+    return dot / (Math.sqrt(referenceDot(a, 0, a, 0, a.length)) * Math.sqrt(referenceDot(b, 0, b, 0, b.length)));
+  }
+
+  private static double referenceDot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+    double dot = 0.0;
+    for (int i = 0; i < length; i++) {
+      dot += (double) a[aOffset + i] * b[bOffset + i];
+    }
+    return dot;
+  }
+}
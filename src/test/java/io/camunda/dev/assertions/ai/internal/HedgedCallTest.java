@@ -0,0 +1,68 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class HedgedCallTest {
+
+  @Test
+  void hedge_answers_when_the_first_call_stalls() {
+    AtomicInteger calls = new AtomicInteger();
+    HedgedCall.Answer<String> answer =
+        HedgedCall.call(
+            () -> {
+              int call = calls.getAndIncrement();
+              sleep(call == 0 ? 5_000 : 10);
+              return "call " + call;
+            },
+            Duration.ofSeconds(2),
+            Duration.ofMillis(50));
+
+    assertThat(answer.value()).isEqualTo("call 1");
+    assertThat(answer.hedged()).isTrue();
+    assertThat(answer.hedgeWon()).isTrue();
+  }
+
+  @Test
+  void deadline_cancels_the_call() throws InterruptedException {
+    CountDownLatch cancelled = new CountDownLatch(1);
+    assertThatThrownBy(
+            () ->
+                HedgedCall.call(
+                    () -> {
+                      try {
+                        Thread.sleep(5_000);
+                      } catch (InterruptedException e) {
+                        cancelled.countDown();
+                      }
+                      return "late";
+                    },
+                    Duration.ofMillis(50),
+                    null))
+        .isInstanceOf(HedgedCall.DeadlineExceeded.class);
+    assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void runs_on_the_caller_thread_without_deadline_and_hedge() {
+    Thread caller = Thread.currentThread();
+    HedgedCall.Answer<Thread> answer = HedgedCall.call(Thread::currentThread, Duration.ZERO, null);
+
+    assertThat(answer.value()).isSameAs(caller);
+    assertThat(answer.hedged()).isFalse();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Int8VectorsTest {
+
+  private final Random random = new Random(42);
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 8, 64, 384, 1536})
+  void error_bound_holds_for_every_row(int dims) {
+    List<float[]> rows = new ArrayList<>();
+    for (int r = 0; r < 200; r++) {
+      rows.add(r % 10 == 0 ? spikyUnitVector(dims) : unitVector(dims));
+    }
+    Int8Vectors corpus = Int8Vectors.quantize(rows);
+
+    for (int q = 0; q < 20; q++) {
+      float[] query = unitVector(dims);
+      Int8Vectors quantizedQuery = Int8Vectors.quantize(List.of(query));
+      double[] approximate = corpus.dotAll(quantizedQuery);
+      for (int r = 0; r < rows.size(); r++) {
+        double exact = CosineSimilarity.dot(rows.get(r), query);
+        assertThat(Math.abs(exact - approximate[r])).isLessThanOrEqualTo(corpus.errorBound(r, quantizedQuery));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {64, 1536})
+  void is_about_four_times_smaller_than_floats(int dims) {
+    Int8Vectors corpus = Int8Vectors.quantize(List.of(unitVector(dims), unitVector(dims)));
+
+    assertThat(corpus.rows()).isEqualTo(2);
+    assertThat(corpus.bytes()).isEqualTo(2L * dims + 2L * 4);
+  }
+
+  @Test
+  void rejects_mixed_dimensions() {
+    assertThatThrownBy(() -> Int8Vectors.quantize(List.of(unitVector(3), unitVector(4))))
+        .isInstanceOf(IllegalArgumentException.class);
+    Int8Vectors corpus = Int8Vectors.quantize(List.of(unitVector(3)));
+    assertThatThrownBy(() -> corpus.dotAll(Int8Vectors.quantize(List.of(unitVector(4)))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private float[] unitVector(int dims) {
+    float[] v = new float[dims];
+    for (int i = 0; i < dims; i++) {
+      v[i] = (float) random.nextGaussian();
+    }
+    return CosineSimilarity.normalize(v);
+  }
+
+  /** One dominant component, so the scale is large and most other components round to zero. */
+  private float[] spikyUnitVector(int dims) {
+    float[] v = new float[dims];
+    for (int i = 0; i < dims; i++) {
+      v[i] = (float) (random.nextGaussian() * 0.01);
+    }
+    v[random.nextInt(dims)] = 1f;
+    return CosineSimilarity.normalize(v);
+  }
+}
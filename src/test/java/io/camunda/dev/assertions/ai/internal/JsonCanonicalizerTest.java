@@ -0,0 +1,33 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class JsonCanonicalizerTest {
+
+  @Test
+  void sorts_keys_and_normalizes_numbers() {
+    String canonical =
+        JsonCanonicalizer.canonicalize("{\n  \"status\": \"RESOLVED\",\n  \"amount\": 1.50,\n  \"count\": 1e1\n}");
+
+    assertThat(canonical).isEqualTo("{\"amount\":1.5,\"count\":10,\"status\":\"RESOLVED\"}");
+  }
+
+  @Test
+  void produces_same_text_for_different_key_order() {
+    assertThat(JsonCanonicalizer.canonicalize("{\"a\":{\"y\":1,\"x\":2},\"b\":[3]}"))
+        .isEqualTo(JsonCanonicalizer.canonicalize("{ \"b\": [3], \"a\": { \"x\": 2, \"y\": 1.0 } }"));
+  }
+
+  @Test
+  void preserves_whitespace_inside_strings() {
+    assertThat(JsonCanonicalizer.canonicalize("{ \"emailBody\" : \"Hi  John,\\n\\nthanks\" }"))
+        .isEqualTo("{\"emailBody\":\"Hi  John,\\n\\nthanks\"}");
+  }
+
+  @Test
+  void collapses_whitespace_of_non_json_input() {
+    assertThat(JsonCanonicalizer.canonicalize("  status:   resolved \n")).isEqualTo("status: resolved");
+  }
+}
@@ -0,0 +1,33 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonFieldsTest {
+
+  private static final String JSON =
+      "{\"status\":\"resolved\",\"customer\":{\"name\":\"Jane\",\"tags\":[\"vip\",1]},\"a/b\":true}";
+
+  @Test
+  void extracts_scalars_as_text_and_containers_as_canonical_json() {
+    assertThat(JsonFields.extract(JSON, List.of("/status", "/customer/tags/1", "/customer/tags", "/a~1b")))
+        .containsEntry("/status", "resolved")
+        .containsEntry("/customer/tags/1", "1")
+        .containsEntry("/customer/tags", "[\"vip\",1]")
+        .containsEntry("/a~1b", "true");
+  }
+
+  @Test
+  void omits_missing_pointers() {
+    assertThat(JsonFields.extract(JSON, List.of("/status", "/missing"))).containsOnlyKeys("/status");
+  }
+
+  @Test
+  void rejects_invalid_json() {
+    assertThatThrownBy(() -> JsonFields.extract("{\"status\":", List.of("/status")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,23 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LexicalSimilarityTest {
+
+  @Test
+  void token_jaccard_counts_shared_tokens() {
+    assertThat(LexicalSimilarity.tokenJaccard("refund issued case closed", "case closed refund issued"))
+        .isEqualTo(1.0);
+    assertThat(LexicalSimilarity.tokenJaccard("refund issued", "refund denied")).isCloseTo(1.0 / 3, within(1e-9));
+  }
+
+  @Test
+  void shingle_jaccard_tolerates_small_edits() {
+    assertThat(LexicalSimilarity.shingleJaccard("transaction blocked", "transaction blocked."))
+        .isGreaterThan(0.9);
+    assertThat(LexicalSimilarity.shingleJaccard("transaction blocked", "weather is sunny")).isLessThan(0.1);
+  }
+}
@@ -0,0 +1,47 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MappedFloatRowsTest {
+
+  private final Random random = new Random(42);
+
+  @Test
+  void reads_back_every_row_across_segments() {
+    List<float[]> rows = new ArrayList<>();
+    for (int r = 0; r < 10; r++) {
+      rows.add(vector(6));
+    }
+
+    MappedFloatRows mapped = MappedFloatRows.of(rows, 3 * 6 * Float.BYTES); // 3 rows per segment
+
+    assertThat(mapped.rows()).isEqualTo(10);
+    assertThat(mapped.bytes()).isEqualTo(10 * 6 * Float.BYTES);
+    for (int r = 0; r < rows.size(); r++) {
+      assertThat(mapped.row(r)).containsExactly(rows.get(r));
+    }
+  }
+
+  @Test
+  void rejects_rows_of_other_lengths_and_out_of_range_reads() {
+    assertThatThrownBy(() -> MappedFloatRows.of(List.of(vector(4), vector(5))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("dimensions differ");
+    assertThatThrownBy(() -> MappedFloatRows.of(List.of(vector(4))).row(1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  private float[] vector(int dims) {
+    float[] v = new float[dims];
+    for (int i = 0; i < dims; i++) {
+      v[i] = (float) random.nextGaussian();
+    }
+    return v;
+  }
+}
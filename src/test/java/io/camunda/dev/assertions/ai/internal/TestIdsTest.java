@@ -0,0 +1,34 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TestIdsTest {
+
+  @Test
+  void finds_the_test_method_in_the_library_packages() {
+    assertThat(TestIds.current())
+        .isEqualTo(TestIdsTest.class.getName() + "#finds_the_test_method_in_the_library_packages");
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = 1)
+  void finds_a_parameterized_test_method(int ignored) {
+    assertThat(helper()).isEqualTo(TestIdsTest.class.getName() + "#finds_a_parameterized_test_method");
+  }
+
+  @Test
+  void is_unknown_outside_a_test_unless_set() {
+    assertThat(CompletableFuture.supplyAsync(TestIds::current).join()).isEqualTo(TestIds.UNKNOWN);
+    assertThat(CompletableFuture.supplyAsync(() -> TestIds.callAs("Poll#test", TestIds::current)).join())
+        .isEqualTo("Poll#test");
+  }
+
+  private static String helper() {
+    return TestIds.current();
+  }
+}
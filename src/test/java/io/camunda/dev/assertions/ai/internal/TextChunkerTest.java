@@ -0,0 +1,119 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.camunda.dev.assertions.ai.Chunking;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextChunkerTest {
+
+  private static final String TEXT =
+      "The customer asked for a refund. The agent checked the order. The payment was flagged as fraud. "
+          + "The transaction was blocked. The customer was informed by email.";
+
+  @Test
+  void keeps_short_texts_whole() {
+    assertThat(TextChunker.chunk("The refund was issued.", Chunking.sentences(64, 1)))
+        .containsExactly("The refund was issued.");
+    assertThat(TextChunker.chunk(TEXT, Chunking.none())).containsExactly(TEXT);
+  }
+
+  @Test
+  void packs_whole_sentences_into_windows() {
+    List<String> chunks = TextChunker.chunk(TEXT, Chunking.sentences(20, 0));
+
+    assertThat(chunks)
+        .hasSizeGreaterThan(1)
+        .allSatisfy(chunk -> assertThat(TextChunker.estimateTokens(chunk)).isLessThanOrEqualTo(20));
+    assertThat(String.join(" ", chunks)).isEqualTo(TEXT);
+  }
+
+  @Test
+  void repeats_overlapping_sentences() {
+    List<String> chunks = TextChunker.chunk(TEXT, Chunking.sentences(20, 1));
+
+    for (int i = 1; i < chunks.size(); i++) {
+      String previous = chunks.get(i - 1);
+      String lastSentence = previous.substring(previous.lastIndexOf(". ", previous.length() - 2) + 2);
+      assertThat(chunks.get(i)).startsWith(lastSentence);
+    }
+  }
+
+  @Test
+  void splits_sentences_longer_than_the_window_into_word_windows() {
+    String longSentence = "word ".repeat(200).strip() + ".";
+
+    List<String> chunks = TextChunker.chunk("Short one. " + longSentence, Chunking.sentences(16, 0));
+
+    assertThat(chunks).hasSizeGreaterThan(10);
+    assertThat(chunks).allSatisfy(chunk -> assertThat(TextChunker.estimateTokens(chunk)).isLessThanOrEqualTo(16));
+  }
+
+  @Test
+  void splits_words_longer_than_the_window() {
+    String blob = "a".repeat(1000);
+
+    List<String> chunks = TextChunker.chunk("see " + blob, Chunking.tokens(32, 0));
+
+    assertThat(chunks).allSatisfy(chunk -> assertThat(TextChunker.estimateTokens(chunk)).isLessThanOrEqualTo(32));
+    assertThat(String.join("", chunks).replace(" ", "")).isEqualTo("see" + blob);
+  }
+
+  @Test
+  void word_windows_overlap_by_tokens() {
+    String text = "alpha beta gamma delta epsilon zeta eta theta iota kappa lambda mu nu xi omicron pi";
+
+    List<String> chunks = TextChunker.chunk(text, Chunking.tokens(8, 3));
+
+    assertThat(chunks).hasSizeGreaterThan(1);
+    for (int i = 1; i < chunks.size(); i++) {
+      // the overlap may span several short words: the previous window ends where this one starts
+      String previous = chunks.get(i - 1);
+      String first = chunks.get(i).split(" ")[0];
+      assertThat(previous).contains(" " + first);
+      assertThat(chunks.get(i)).startsWith(previous.substring(previous.lastIndexOf(" " + first) + 1));
+    }
+    assertThat(chunks.get(chunks.size() - 1)).endsWith("pi");
+  }
+
+  @Test
+  void pools_chunk_scores() {
+    double[] scores = {0.2, 0.9, 0.5, 0.7};
+
+    assertThat(TextChunker.pool(scores, Chunking.sentences(64, 0))).isEqualTo(0.9);
+    assertThat(TextChunker.pool(scores, Chunking.sentences(64, 0).pooling(Chunking.Pooling.MEAN)))
+        .isCloseTo(0.575, within(1e-9));
+    assertThat(TextChunker.pool(scores, Chunking.sentences(64, 0).poolingTopK(2))).isCloseTo(0.8, within(1e-9));
+    assertThat(TextChunker.pool(new double[] {0.4}, Chunking.sentences(64, 0).poolingTopK(3))).isEqualTo(0.4);
+  }
+
+  @Test
+  void trims_the_middle_of_long_texts() {
+    String text = "head ".repeat(100) + "tail";
+
+    String trimmed = TextChunker.trimToTokens(text, 40);
+
+    assertThat(trimmed).startsWith("head head").endsWith("tail").contains("tokens omitted");
+    assertThat(TextChunker.trimToTokens("short", 40)).isEqualTo("short");
+  }
+
+  @Test
+  void trimming_keeps_surrogate_pairs_intact() {
+    String emojis = "😀".repeat(200); // 400 chars, every cut point falls between pairs or inside one
+
+    for (int maxTokens = 10; maxTokens < 20; maxTokens++) {
+      String trimmed = TextChunker.trimToTokens(emojis, maxTokens);
+      for (int i = 0; i < trimmed.length(); i++) {
+        char c = trimmed.charAt(i);
+        if (Character.isHighSurrogate(c)) {
+          assertThat(Character.isLowSurrogate(trimmed.charAt(i + 1))).isTrue();
+          i++;
+        } else {
+          assertThat(Character.isLowSurrogate(c)).as("lone low surrogate at %d", i).isFalse();
+        }
+      }
+    }
+  }
+}
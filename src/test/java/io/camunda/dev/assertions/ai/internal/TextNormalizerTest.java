@@ -0,0 +1,43 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.dev.assertions.ai.SemanticOptions;
+import org.junit.jupiter.api.Test;
+
+class TextNormalizerTest {
+
+  @Test
+  void collapses_and_trims_ascii_whitespace() {
+    assertThat(TextNormalizer.normalize("  Refund\t issued \r\n and  closed ", SemanticOptions.defaults()))
+        .isEqualTo("Refund issued and closed");
+  }
+
+  @Test
+  void returns_same_instance_when_already_normalized() {
+    String text = "Refund issued and closed";
+
+    assertThat(TextNormalizer.normalize(text, SemanticOptions.defaults())).isSameAs(text);
+  }
+
+  @Test
+  void keeps_unicode_spaces_unless_enabled() {
+    String text = "Refund\u00A0 issued";
+
+    assertThat(TextNormalizer.normalize(text, SemanticOptions.defaults())).isEqualTo("Refund\u00A0 issued");
+    assertThat(TextNormalizer.normalize(text, SemanticOptions.builder().unicodeWhitespace(true).build()))
+        .isEqualTo("Refund issued");
+  }
+
+  @Test
+  void applies_nfc_lowercase_and_punctuation_stripping() {
+    SemanticOptions options =
+        SemanticOptions.builder()
+            .normalizeToLowercase(true)
+            .unicodeNormalization(true)
+            .stripPunctuation(true)
+            .build();
+
+    assertThat(TextNormalizer.normalize("Cafe\u0301: Don't, STOP!", options)).isEqualTo("caf\u00E9 dont stop");
+  }
+}
@@ -11,6 +11,8 @@ import io.camunda.client.api.response.ProcessInstanceEvent;
 import io.camunda.dev.frauddetection.cpt.extensions.AiAgentProcessInstance;
 import io.camunda.dev.frauddetection.cpt.extensions.AiAgentResultHandler;
 import io.camunda.dev.frauddetection.cpt.extensions.FluentVariableYield;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioCondition;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioExtension;
 import io.camunda.process.test.api.CamundaAssert;
 import io.camunda.process.test.api.CamundaProcessTestContext;
 import io.camunda.process.test.api.CamundaSpringProcessTest;
@@ -21,15 +23,16 @@ import java.util.Map;
 
 import io.camunda.process.test.api.CptAssertHelper;
 import io.camunda.process.test.api.assertions.JobSelectors;
-import io.camunda.process.test.api.assertions.ProcessInstanceSelectors;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.ThrowingConsumer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest(properties = {"camunda.client.worker.defaults.enabled=false"})
 @CamundaSpringProcessTest
+@ExtendWith(ScenarioExtension.class)
 public class FraudDetectionTest {
 
   private static final String PROCESS_DEFINITION_ID = "fraud-detection-process";
@@ -304,10 +307,7 @@ public class FraudDetectionTest {
   @Test
   void shouldDetectFraud_scenarioStyle() {
     CptAssertHelper.scenario(client)
-        .when(
-            () -> {
-              CamundaAssert.assertThatUserTask(byElementId("CallOnExternalAdvisor")).isCreated();
-            })
+        .when(ScenarioCondition.userTaskCreated("CallOnExternalAdvisor"))
         .then(
             () -> {
               processTestContext.completeUserTask(
@@ -330,12 +330,7 @@ public class FraudDetectionTest {
                         "Dear user, we have detected fraud in your submission. Please state your opinion!"))));
 
     CptAssertHelper.scenario(client)
-        .when(
-            () -> {
-              CamundaAssert.assertThatProcessInstance(
-                      ProcessInstanceSelectors.byProcessId(PROCESS_DEFINITION_ID))
-                  .hasActiveElements(byName("User response received"));
-            })
+        .when(ScenarioCondition.elementActive(PROCESS_DEFINITION_ID, "User response received"))
         .then(
             () -> {
               client
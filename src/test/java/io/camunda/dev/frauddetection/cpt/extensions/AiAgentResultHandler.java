@@ -4,10 +4,15 @@ import io.camunda.client.api.command.CompleteJobCommandStep1;
 import io.camunda.client.api.command.CompleteJobResult;
 import io.camunda.client.api.worker.JobHandler;
 
-import java.util.LinkedList;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 
+/**
+ * Scripts the results of an AI agent job: the n-th job of a process instance (or, with {@link
+ * #perElementInstance()}, of an agent element instance) is completed with the n-th step. Failures
+ * are reported by {@link #failures()} and fail tests that use {@link ScenarioExtension}.
+ */
 public class AiAgentResultHandler {
 
   public static AiAgentResultHandler with(
@@ -17,9 +22,13 @@ public class AiAgentResultHandler {
     return resultHandler.then(handler);
   }
 
-  private final LinkedList<
+  private final List<
           Function<CompleteJobCommandStep1.CompleteJobCommandJobResultStep, CompleteJobResult>>
-      resultHandlers = new LinkedList<>();
+      resultHandlers = new CopyOnWriteArrayList<>();
+
+  private final ScriptFailures failures = new ScriptFailures();
+  private InstanceCursors.Scope scope = InstanceCursors.Scope.PROCESS_INSTANCE;
+  private int maxInstances = InstanceCursors.MAX_INSTANCES;
 
   public AiAgentResultHandler then(
       Function<CompleteJobCommandStep1.CompleteJobCommandJobResultStep, CompleteJobResult>
@@ -28,14 +37,51 @@ public class AiAgentResultHandler {
     return this;
   }
 
+  /** Keeps one script position per agent element instance instead of per process instance. */
+  public AiAgentResultHandler perElementInstance() {
+    scope = InstanceCursors.Scope.ELEMENT_INSTANCE;
+    return this;
+  }
+
+  /**
+   * Keeps the script positions of at most this many most recently active instances (default {@value
+   * InstanceCursors#MAX_INSTANCES}); a job of an instance that was dropped fails.
+   */
+  public AiAgentResultHandler maxInstances(int maxInstances) {
+    this.maxInstances = maxInstances;
+    return this;
+  }
+
+  /** Jobs that asked for more steps than scripted, and commands that could not be sent or were rejected. */
+  public List<Throwable> failures() {
+    return failures.list();
+  }
+
   public JobHandler wire() {
-    var callCounter = new AtomicInteger(0);
+    var cursors = new InstanceCursors(scope, maxInstances);
+    failures.watch();
     return (jobClient, job) -> {
+      int step;
+      try {
+        step = cursors.next(job);
+      } catch (IllegalStateException e) {
+        failures.failJob(jobClient, job, e.getMessage());
+        return;
+      }
+      if (step >= resultHandlers.size()) {
+        failures.failJob(
+            jobClient,
+            job,
+            String.format(
+                "AI agent script exhausted: %s requested step %d but only %d steps are scripted",
+                cursors.describe(job), step + 1, resultHandlers.size()));
+        return;
+      }
       jobClient
           .newCompleteCommand(job)
-          .withResult(result -> resultHandlers.get(callCounter.getAndIncrement()).apply(result))
+          .withResult(result -> resultHandlers.get(step).apply(result))
           .send()
-          .join();
+          .whenComplete((response, failure) -> failures.record(failure));
     };
   }
 }
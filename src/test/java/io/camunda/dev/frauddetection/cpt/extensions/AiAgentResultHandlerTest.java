@@ -0,0 +1,170 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.client.api.command.CompleteJobResult;
+import io.camunda.client.api.worker.JobHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class AiAgentResultHandlerTest {
+
+  private static final int STEPS = 3;
+  private static final int INSTANCES = 8;
+
+  private final RecordingJobClient jobClient = RecordingJobClient.accepting();
+
+  @Test
+  void concurrent_instances_run_through_their_own_script() throws Exception {
+    JobHandler handler = script().wire();
+    CyclicBarrier everyStep = new CyclicBarrier(INSTANCES);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(INSTANCES)) {
+      List<CompletableFuture<Void>> instances = new ArrayList<>();
+      for (int instance = 1; instance <= INSTANCES; instance++) {
+        long processInstanceKey = instance;
+        instances.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (int step = 0; step < STEPS; step++) {
+                    try {
+                      everyStep.await(); // all instances ask for the same step at once
+                      handler.handle(jobClient.client(), job(processInstanceKey, step, 100));
+                    } catch (Exception e) {
+                      throw new IllegalStateException(e);
+                    }
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(instances.toArray(CompletableFuture[]::new)).join();
+    }
+
+    for (long instance = 1; instance <= INSTANCES; instance++) {
+      for (int step = 0; step < STEPS; step++) {
+        String expected = "step " + (step + 1);
+        assertThat(jobClient.sentFor(jobKey(instance, step)))
+            .singleElement()
+            .satisfies(command -> assertThat(command.isComplete()).isTrue())
+            .satisfies(command -> assertThat(command.result).hasToString(expected));
+      }
+    }
+  }
+
+  @Test
+  void fails_a_job_beyond_the_script_and_reports_it() throws Exception {
+    AiAgentResultHandler script = script();
+    JobHandler handler = script.wire();
+    for (int step = 0; step <= STEPS; step++) {
+      handler.handle(jobClient.client(), job(7, step, 100));
+    }
+
+    RecordingJobClient.Command failed = jobClient.sentFor(jobKey(7, STEPS)).get(0);
+    assertThat(failed.isComplete()).isFalse();
+    assertThat(failed.retries).isZero();
+    assertThat(failed.errorMessage).contains("process instance 7 requested step 4 but only 3 steps are scripted");
+    assertThat(script.failures()).singleElement().satisfies(e -> assertThat(e).hasMessage(failed.errorMessage));
+  }
+
+  @Test
+  void per_element_instance_starts_over_in_each_agent_element() throws Exception {
+    JobHandler handler = script().perElementInstance().wire();
+
+    handler.handle(jobClient.client(), job(7, 0, 100));
+    handler.handle(jobClient.client(), job(7, 1, 200));
+
+    assertThat(jobClient.sentFor(jobKey(7, 1)).get(0).result).hasToString("step 1");
+  }
+
+  @Test
+  void reports_rejected_commands() throws Exception {
+    RecordingJobClient rejecting = RecordingJobClient.rejecting();
+    AiAgentResultHandler script = script();
+
+    script.wire().handle(rejecting.client(), job(7, 0, 100));
+
+    assertThat(script.failures()).singleElement().satisfies(e -> assertThat(e).hasMessage("rejected complete"));
+  }
+
+  @Test
+  void failures_fail_the_test_with_scenario_extension() throws Exception {
+    ScenarioExtension extension = new ScenarioExtension();
+    extension.beforeEach(null);
+    JobHandler handler = AiAgentResultHandler.with(result -> step(1)).wire();
+
+    handler.handle(jobClient.client(), job(7, 0, 100));
+    handler.handle(jobClient.client(), job(7, 1, 100));
+
+    assertThatThrownBy(() -> extension.afterEach(null))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("AI agent script exhausted");
+  }
+
+  @Test
+  void failures_are_reported_once_to_the_test_they_occurred_in() throws Exception {
+    AiAgentResultHandler script = AiAgentResultHandler.with(result -> step(1));
+    ScenarioExtension extension = new ScenarioExtension();
+
+    extension.beforeEach(null);
+    JobHandler handler = script.wire();
+    script.wire(); // wired twice in the same test
+    handler.handle(jobClient.client(), job(7, 0, 100));
+    handler.handle(jobClient.client(), job(7, 1, 100));
+    assertThatThrownBy(() -> extension.afterEach(null))
+        .isInstanceOf(AssertionError.class)
+        .satisfies(e -> assertThat(e.getSuppressed()).isEmpty());
+
+    extension.beforeEach(null); // the next test shares the handler
+    script.wire();
+    handler.handle(jobClient.client(), job(8, 0, 100));
+    extension.afterEach(null);
+  }
+
+  @Test
+  void fails_the_jobs_of_instances_whose_position_was_dropped() throws Exception {
+    InstanceCursors cursors = new InstanceCursors(InstanceCursors.Scope.PROCESS_INSTANCE, 2);
+
+    assertThat(cursors.next(job(1, 0, 100))).isZero();
+    assertThat(cursors.next(job(2, 0, 100))).isZero();
+    assertThat(cursors.next(job(1, 1, 100))).isEqualTo(1);
+    assertThat(cursors.next(job(3, 0, 100))).isZero(); // drops instance 2
+    assertThat(cursors.next(job(1, 2, 100))).isEqualTo(2);
+    assertThatThrownBy(() -> cursors.next(job(2, 1, 100)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("process instance 2 is active again");
+
+    AiAgentResultHandler script = script().maxInstances(1);
+    JobHandler handler = script.wire();
+    handler.handle(jobClient.client(), job(1, 0, 100));
+    handler.handle(jobClient.client(), job(2, 0, 100));
+    handler.handle(jobClient.client(), job(1, 1, 100));
+
+    RecordingJobClient.Command failed = jobClient.sentFor(jobKey(1, 1)).get(0);
+    assertThat(failed.isComplete()).isFalse();
+    assertThat(failed.retries).isZero();
+    assertThat(script.failures()).singleElement().satisfies(e -> assertThat(e).hasMessage(failed.errorMessage));
+  }
+
+  private static AiAgentResultHandler script() {
+    return AiAgentResultHandler.with(result -> step(1)).then(result -> step(2)).then(result -> step(3));
+  }
+
+  private static CompleteJobResult step(int step) {
+    return RecordingJobClient.named(CompleteJobResult.class, "step " + step);
+  }
+
+  private static io.camunda.client.api.response.ActivatedJob job(
+      long processInstanceKey, int step, long elementInstanceKey) {
+    return RecordingJobClient.job(jobKey(processInstanceKey, step), processInstanceKey, elementInstanceKey);
+  }
+
+  private static long jobKey(long processInstanceKey, int step) {
+    return processInstanceKey * 1000 + step;
+  }
+}
@@ -4,20 +4,116 @@ import io.camunda.client.api.worker.JobHandler;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Completes jobs with the next value of a sequence for one variable. Every process instance (or,
+ * with {@link #perElementInstance()}, every element instance) runs through the sequence
+ * independently, and jobs are completed asynchronously. Failures are reported by {@link #failures()}
+ * and fail tests that use {@link ScenarioExtension}.
+ *
+ * <pre>{@code
+ * mockAiAgentTask(processTestContext)
+ *     .withHandler(FluentVariableYield.sequence("finalCheck", "no", "no").thenDefault("yes").wire());
+ * }</pre>
+ */
 public class FluentVariableYield {
 
+  /**
+   * Yields the assignments in order per process instance; further jobs fail with an incident and
+   * fail tests that use {@link ScenarioExtension}.
+   */
   public static JobHandler yieldingVariables(String variableName, String... assignments) {
-    var list = List.of(assignments);
-    var counter = new AtomicInteger(0);
+    return sequence(variableName, (Object[]) assignments).wire();
+  }
+
+  public static FluentVariableYield sequence(String variableName, Object... values) {
+    if (values.length == 0) {
+      throw new IllegalArgumentException("at least one value is required");
+    }
+    return new FluentVariableYield(variableName, List.of(values));
+  }
+
+  private final String variableName;
+  private final List<Object> values;
+  private final ScriptFailures failures = new ScriptFailures();
+  private boolean cycling;
+  private Object tail;
+  private InstanceCursors.Scope scope = InstanceCursors.Scope.PROCESS_INSTANCE;
+  private int maxInstances = InstanceCursors.MAX_INSTANCES;
+
+  private FluentVariableYield(String variableName, List<Object> values) {
+    this.variableName = variableName;
+    this.values = values;
+  }
+
+  /** Starts over with the first value once the sequence is exhausted. */
+  public FluentVariableYield cycling() {
+    this.cycling = true;
+    this.tail = null;
+    return this;
+  }
+
+  /** Yields {@code value} for every job after the sequence is exhausted. */
+  public FluentVariableYield thenDefault(Object value) {
+    this.tail = value;
+    this.cycling = false;
+    return this;
+  }
+
+  /** Keeps one position per element instance instead of per process instance. */
+  public FluentVariableYield perElementInstance() {
+    this.scope = InstanceCursors.Scope.ELEMENT_INSTANCE;
+    return this;
+  }
+
+  /**
+   * Keeps the positions of at most this many most recently active instances (default {@value
+   * InstanceCursors#MAX_INSTANCES}); a job of an instance that was dropped fails.
+   */
+  public FluentVariableYield maxInstances(int maxInstances) {
+    this.maxInstances = maxInstances;
+    return this;
+  }
+
+  /** Jobs that asked for more values than given, and commands that could not be sent or were rejected. */
+  public List<Throwable> failures() {
+    return failures.list();
+  }
+
+  public JobHandler wire() {
+    var cursors = new InstanceCursors(scope, maxInstances);
+    boolean cycle = cycling;
+    Object defaultValue = tail;
+    failures.watch();
     return (client, job) -> {
-      var nextValue = list.get(counter.getAndIncrement());
+      int step;
+      try {
+        step = cursors.next(job);
+      } catch (IllegalStateException e) {
+        failures.failJob(client, job, e.getMessage());
+        return;
+      }
+      Object value;
+      if (step < values.size()) {
+        value = values.get(step);
+      } else if (cycle) {
+        value = values.get(step % values.size());
+      } else if (defaultValue != null) {
+        value = defaultValue;
+      } else {
+        failures.failJob(
+            client,
+            job,
+            String.format(
+                "Sequence of '%s' exhausted: %s requested value %d but only %d are given",
+                variableName, cursors.describe(job), step + 1, values.size()));
+        return;
+      }
       client
           .newCompleteCommand(job.getKey())
-          .variables(Map.of(variableName, nextValue))
+          .variables(Map.of(variableName, value))
           .send()
-          .join();
+          .whenComplete((response, failure) -> failures.record(failure));
     };
   }
 }
@@ -0,0 +1,156 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.client.api.response.ActivatedJob;
+import io.camunda.client.api.worker.JobHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class FluentVariableYieldTest {
+
+  private static final int INSTANCES = 8;
+
+  private final RecordingJobClient jobClient = RecordingJobClient.accepting();
+
+  @Test
+  void judge_agent_mock_runs_through_the_sequence_in_every_concurrent_instance() throws Exception {
+    // as mocked for the Judge_Agent in FraudDetectionTest
+    JobHandler handler = FluentVariableYield.yieldingVariables("finalCheck", "no", "no", "yes");
+    CyclicBarrier everyJob = new CyclicBarrier(INSTANCES);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(INSTANCES)) {
+      List<CompletableFuture<Void>> instances = new ArrayList<>();
+      for (int instance = 1; instance <= INSTANCES; instance++) {
+        long processInstanceKey = instance;
+        instances.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (int n = 0; n < 3; n++) {
+                    try {
+                      everyJob.await(); // all instances ask for the same value at once
+                      handler.handle(jobClient.client(), job(processInstanceKey, n, 100));
+                    } catch (Exception e) {
+                      throw new IllegalStateException(e);
+                    }
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(instances.toArray(CompletableFuture[]::new)).join();
+    }
+
+    for (long instance = 1; instance <= INSTANCES; instance++) {
+      assertThat(finalChecks(instance, 3)).containsExactly("no", "no", "yes");
+    }
+  }
+
+  @Test
+  void fails_a_job_beyond_the_sequence_and_reports_it() throws Exception {
+    FluentVariableYield sequence = FluentVariableYield.sequence("finalCheck", "no", "yes");
+    JobHandler handler = sequence.wire();
+    for (int n = 0; n < 3; n++) {
+      handler.handle(jobClient.client(), job(7, n, 100));
+    }
+
+    RecordingJobClient.Command failed = jobClient.sentFor(jobKey(7, 2)).get(0);
+    assertThat(failed.isComplete()).isFalse();
+    assertThat(failed.retries).isZero();
+    assertThat(failed.errorMessage)
+        .isEqualTo(
+            "Sequence of 'finalCheck' exhausted: process instance 7 requested value 3 but only 2 are given");
+    assertThat(sequence.failures()).singleElement().satisfies(e -> assertThat(e).hasMessage(failed.errorMessage));
+  }
+
+  @Test
+  void cycling_starts_over_with_the_first_value() throws Exception {
+    handle(FluentVariableYield.sequence("finalCheck", "no", "yes").cycling().wire(), 7, 5);
+
+    assertThat(finalChecks(7, 5)).containsExactly("no", "yes", "no", "yes", "no");
+  }
+
+  @Test
+  void then_default_yields_the_default_after_the_sequence() throws Exception {
+    handle(FluentVariableYield.sequence("finalCheck", "no").thenDefault("yes").wire(), 7, 3);
+
+    assertThat(finalChecks(7, 3)).containsExactly("no", "yes", "yes");
+  }
+
+  @Test
+  void the_last_of_cycling_and_then_default_wins() throws Exception {
+    handle(FluentVariableYield.sequence("finalCheck", "no").thenDefault("yes").cycling().wire(), 7, 2);
+    handle(FluentVariableYield.sequence("finalCheck", "no").cycling().thenDefault("yes").wire(), 8, 2);
+
+    assertThat(finalChecks(7, 2)).containsExactly("no", "no");
+    assertThat(finalChecks(8, 2)).containsExactly("no", "yes");
+  }
+
+  @Test
+  void per_element_instance_starts_over_in_each_element() throws Exception {
+    JobHandler handler = FluentVariableYield.sequence("finalCheck", "no", "yes").perElementInstance().wire();
+
+    handler.handle(jobClient.client(), job(7, 0, 100));
+    handler.handle(jobClient.client(), job(7, 1, 200));
+    handler.handle(jobClient.client(), job(7, 2, 100));
+
+    assertThat(finalChecks(7, 3)).containsExactly("no", "no", "yes");
+  }
+
+  @Test
+  void reports_rejected_commands() throws Exception {
+    FluentVariableYield sequence = FluentVariableYield.sequence("finalCheck", "no");
+
+    sequence.wire().handle(RecordingJobClient.rejecting().client(), job(7, 0, 100));
+
+    assertThat(sequence.failures()).singleElement().satisfies(e -> assertThat(e).hasMessage("rejected complete"));
+  }
+
+  @Test
+  void failures_fail_the_test_with_scenario_extension() throws Exception {
+    ScenarioExtension extension = new ScenarioExtension();
+    extension.beforeEach(null);
+    handle(FluentVariableYield.yieldingVariables("finalCheck", "yes"), 7, 2);
+
+    assertThatThrownBy(() -> extension.afterEach(null))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("Sequence of 'finalCheck' exhausted");
+  }
+
+  @Test
+  void rejects_an_empty_sequence() {
+    assertThatThrownBy(() -> FluentVariableYield.sequence("finalCheck"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void handle(JobHandler handler, long processInstanceKey, int jobs) throws Exception {
+    for (int n = 0; n < jobs; n++) {
+      handler.handle(jobClient.client(), job(processInstanceKey, n, 100));
+    }
+  }
+
+  /** The {@code finalCheck} values the first {@code jobs} jobs of the instance were completed with. */
+  private List<Object> finalChecks(long processInstanceKey, int jobs) {
+    List<Object> values = new ArrayList<>();
+    for (int n = 0; n < jobs; n++) {
+      for (RecordingJobClient.Command command : jobClient.sentFor(jobKey(processInstanceKey, n))) {
+        assertThat(command.isComplete()).isTrue();
+        values.add(command.variables.get("finalCheck"));
+      }
+    }
+    return values;
+  }
+
+  private static ActivatedJob job(long processInstanceKey, int n, long elementInstanceKey) {
+    return RecordingJobClient.job(jobKey(processInstanceKey, n), processInstanceKey, elementInstanceKey);
+  }
+
+  private static long jobKey(long processInstanceKey, int n) {
+    return processInstanceKey * 1000 + n;
+  }
+}
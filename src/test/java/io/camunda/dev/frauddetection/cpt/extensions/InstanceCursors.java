@@ -0,0 +1,84 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import io.camunda.client.api.response.ActivatedJob;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Independent positions in a scripted sequence of job results, one per process instance (or per
+ * element instance), so that concurrent instances do not consume each other's steps. Only the
+ * positions of the most recently active instances ({@link #MAX_INSTANCES} by default) are kept; an
+ * instance whose position was dropped cannot continue its script, so its next job fails loudly
+ * instead of starting over.
+ */
+public final class InstanceCursors {
+
+  public static final int MAX_INSTANCES = 1024;
+
+  public enum Scope {
+    PROCESS_INSTANCE,
+    ELEMENT_INSTANCE;
+
+    long keyOf(ActivatedJob job) {
+      return this == PROCESS_INSTANCE ? job.getProcessInstanceKey() : job.getElementInstanceKey();
+    }
+  }
+
+  private final Scope scope;
+  private final int maxInstances;
+  private final Map<Long, Integer> cursors;
+  /** Keys whose positions were dropped, to detect that their instance is active again. */
+  private final Set<Long> dropped = new HashSet<>();
+
+  public InstanceCursors(Scope scope) {
+    this(scope, MAX_INSTANCES);
+  }
+
+  public InstanceCursors(Scope scope, int maxInstances) {
+    if (maxInstances < 1) {
+      throw new IllegalArgumentException("maxInstances must be >= 1");
+    }
+    this.scope = scope;
+    this.maxInstances = maxInstances;
+    this.cursors =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+            if (size() > maxInstances) {
+              dropped.add(eldest.getKey());
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  public Scope scope() {
+    return scope;
+  }
+
+  /**
+   * Returns the job's current position and advances it.
+   *
+   * @throws IllegalStateException if the position of the job's instance was dropped
+   */
+  public synchronized int next(ActivatedJob job) {
+    long key = scope.keyOf(job);
+    if (dropped.contains(key)) {
+      throw new IllegalStateException(
+          String.format(
+              "%s is active again but its script position was dropped to keep only the %d most recently"
+                  + " active instances; raise maxInstances",
+              describe(job), maxInstances));
+    }
+    return cursors.merge(key, 1, Integer::sum) - 1;
+  }
+
+  /** Describes the job's instance for diagnostics, e.g. {@code process instance 2251799813685249}. */
+  public String describe(ActivatedJob job) {
+    return (scope == Scope.PROCESS_INSTANCE ? "process instance " : "element instance ") + scope.keyOf(job);
+  }
+}
@@ -0,0 +1,171 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import io.camunda.client.api.response.ActivatedJob;
+import io.camunda.client.api.worker.JobClient;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * A {@link JobClient} for unit tests of job handlers: records the complete and fail commands sent
+ * through it and answers them immediately, or rejects them all.
+ */
+final class RecordingJobClient {
+
+  /** A command sent for a job. */
+  static final class Command {
+    final String type;
+    final long jobKey;
+    volatile Map<?, ?> variables;
+    volatile Object result;
+    volatile Integer retries;
+    volatile String errorMessage;
+
+    private Command(String type, long jobKey) {
+      this.type = type;
+      this.jobKey = jobKey;
+    }
+
+    boolean isComplete() {
+      return type.equals("complete");
+    }
+  }
+
+  private final List<Command> sent = new CopyOnWriteArrayList<>();
+  private final boolean rejecting;
+  private final JobClient client;
+
+  private RecordingJobClient(boolean rejecting) {
+    this.rejecting = rejecting;
+    this.client = proxy(JobClient.class, this::newCommand);
+  }
+
+  static RecordingJobClient accepting() {
+    return new RecordingJobClient(false);
+  }
+
+  /** Every command fails with an exception, as if the broker rejected it. */
+  static RecordingJobClient rejecting() {
+    return new RecordingJobClient(true);
+  }
+
+  JobClient client() {
+    return client;
+  }
+
+  List<Command> sent() {
+    return List.copyOf(sent);
+  }
+
+  List<Command> sentFor(long jobKey) {
+    return sent.stream().filter(command -> command.jobKey == jobKey).toList();
+  }
+
+  /** A job of the given process and element instance. */
+  static ActivatedJob job(long key, long processInstanceKey, long elementInstanceKey) {
+    return proxy(
+        ActivatedJob.class,
+        (method, args) ->
+            switch (method.getName()) {
+              case "getKey" -> key;
+              case "getProcessInstanceKey" -> processInstanceKey;
+              case "getElementInstanceKey" -> elementInstanceKey;
+              default -> throw new UnsupportedOperationException(method.getName());
+            });
+  }
+
+  /** An instance of the interface that only identifies itself by {@code name}. */
+  static <T> T named(Class<T> type, String name) {
+    return proxy(
+        type,
+        (method, args) -> {
+          throw new UnsupportedOperationException(method.getName());
+        },
+        name);
+  }
+
+  private Object newCommand(Method method, Object[] args) {
+    String type =
+        switch (method.getName()) {
+          case "newCompleteCommand" -> "complete";
+          case "newFailCommand" -> "fail";
+          default -> throw new UnsupportedOperationException(method.getName());
+        };
+    long jobKey = args[0] instanceof ActivatedJob job ? job.getKey() : (Long) args[0];
+    return step(method.getReturnType(), new Command(type, jobKey));
+  }
+
+  /** One step of a fluent command builder; every step records into the same command. */
+  private Object step(Class<?> type, Command command) {
+    return proxy(
+        type,
+        (method, args) -> {
+          switch (method.getName()) {
+            case "variables" -> command.variables = args[0] instanceof Map<?, ?> map ? map : null;
+            case "withResult" -> {
+              if (args[0] instanceof Function<?, ?> result) {
+                @SuppressWarnings("unchecked")
+                Function<Object, Object> apply = (Function<Object, Object>) result;
+                command.result = apply.apply(null);
+              }
+            }
+            case "retries" -> command.retries = (Integer) args[0];
+            case "errorMessage" -> command.errorMessage = (String) args[0];
+            case "send" -> {
+              sent.add(command);
+              return future(
+                  method.getReturnType(),
+                  rejecting
+                      ? CompletableFuture.failedFuture(new IllegalStateException("rejected " + command.type))
+                      : CompletableFuture.completedFuture(null));
+            }
+            default -> {
+              // requestTimeout and the like
+            }
+          }
+          return step(method.getReturnType(), command);
+        });
+  }
+
+  /** The client's future type, answered by a {@link CompletableFuture}. */
+  private static Object future(Class<?> type, CompletableFuture<Object> delegate) {
+    return proxy(
+        type,
+        (method, args) -> {
+          try {
+            return CompletableFuture.class
+                .getMethod(method.getName(), method.getParameterTypes())
+                .invoke(delegate, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+
+  private interface Handler {
+    Object handle(Method method, Object[] args) throws Throwable;
+  }
+
+  private static <T> T proxy(Class<T> type, Handler handler) {
+    return proxy(type, handler, type.getSimpleName());
+  }
+
+  private static <T> T proxy(Class<T> type, Handler handler, String name) {
+    InvocationHandler invocation =
+        (proxy, method, args) ->
+            switch (method.getName()) {
+              case "toString" -> name;
+              case "hashCode" -> System.identityHashCode(proxy);
+              case "equals" -> proxy == args[0];
+              default -> handler.handle(method, args);
+            };
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocation));
+  }
+}
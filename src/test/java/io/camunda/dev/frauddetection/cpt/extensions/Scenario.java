@@ -2,10 +2,22 @@ package io.camunda.dev.frauddetection.cpt.extensions;
 
 import org.awaitility.core.ThrowingRunnable;
 
-public interface Scenario {
+import java.util.List;
+
+public interface Scenario extends AutoCloseable {
 
     ScenarioInstruction when(final ThrowingRunnable condition);
 
+    /** Like {@link #when(ThrowingRunnable)}, but evaluated against the shared snapshot of each tick. */
+    ScenarioInstruction when(final ScenarioCondition condition);
+
+    /** Failed reactions and conditions that threw something other than an {@link AssertionError}. */
+    List<Throwable> failures();
+
+    /** Stops evaluating the conditions whose reactions have not run yet. */
+    @Override
+    void close();
+
     interface ScenarioInstruction {
         void then(final ThrowingRunnable action);
     }
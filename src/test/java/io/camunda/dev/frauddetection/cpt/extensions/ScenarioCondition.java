@@ -0,0 +1,96 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import java.util.EnumSet;
+import java.util.function.Predicate;
+
+/**
+ * A {@code when} condition that is evaluated against a {@link ScenarioSnapshot} instead of issuing
+ * its own search requests, so that all pending conditions of a tick share one query per kind.
+ *
+ * <pre>{@code
+ * CptAssertHelper.scenario(client)
+ *     .when(ScenarioCondition.userTaskCreated("CallOnExternalAdvisor"))
+ *     .then(() -> processTestContext.completeUserTask(...));
+ * }</pre>
+ */
+public interface ScenarioCondition {
+
+  /** The kinds of data the condition reads from the snapshot. */
+  EnumSet<ScenarioSnapshot.Kind> needs();
+
+  /** The process instances the condition watches; searches are restricted to them. */
+  default ScenarioSnapshot.Scope scope() {
+    return ScenarioSnapshot.Scope.ALL;
+  }
+
+  boolean isFulfilled(ScenarioSnapshot snapshot);
+
+  /** Restricts the condition to one process instance, e.g. the one the test started. */
+  default ScenarioCondition inInstance(long processInstanceKey) {
+    ScenarioCondition condition = this;
+    ScenarioSnapshot.Scope scope =
+        new ScenarioSnapshot.Scope(processInstanceKey, condition.scope().processDefinitionId());
+    return of(condition.needs(), scope, condition::isFulfilled);
+  }
+
+  /** A user task of the element is created (and not completed yet). */
+  static ScenarioCondition userTaskCreated(String elementId) {
+    return of(
+        EnumSet.of(ScenarioSnapshot.Kind.CREATED_USER_TASKS),
+        ScenarioSnapshot.Scope.ALL,
+        snapshot ->
+            snapshot.createdUserTasks().stream().anyMatch(task -> elementId.equals(task.elementId())));
+  }
+
+  /** A user task with the name is created (and not completed yet). */
+  static ScenarioCondition userTaskCreatedWithName(String name) {
+    return of(
+        EnumSet.of(ScenarioSnapshot.Kind.CREATED_USER_TASKS),
+        ScenarioSnapshot.Scope.ALL,
+        snapshot -> snapshot.createdUserTasks().stream().anyMatch(task -> name.equals(task.name())));
+  }
+
+  /** An element with the name is active in an instance of the process. */
+  static ScenarioCondition elementActive(String processDefinitionId, String elementName) {
+    return of(
+        EnumSet.of(ScenarioSnapshot.Kind.ACTIVE_ELEMENTS),
+        ScenarioSnapshot.Scope.processDefinition(processDefinitionId),
+        snapshot ->
+            snapshot.activeElements().stream().anyMatch(element -> elementName.equals(element.elementName())));
+  }
+
+  /** An instance of the process waits for the message with the correlation key. */
+  static ScenarioCondition waitingForMessage(
+      String processDefinitionId, String messageName, String correlationKey) {
+    return of(
+        EnumSet.of(ScenarioSnapshot.Kind.OPEN_MESSAGE_SUBSCRIPTIONS),
+        ScenarioSnapshot.Scope.processDefinition(processDefinitionId),
+        snapshot ->
+            snapshot.openMessageSubscriptions().stream()
+                .anyMatch(
+                    subscription ->
+                        messageName.equals(subscription.messageName())
+                            && ScenarioSnapshot.matches(correlationKey, subscription.correlationKey())));
+  }
+
+  /** A condition whose predicate only sees the part of the snapshot within the scope. */
+  private static ScenarioCondition of(
+      EnumSet<ScenarioSnapshot.Kind> needs, ScenarioSnapshot.Scope scope, Predicate<ScenarioSnapshot> predicate) {
+    return new ScenarioCondition() {
+      @Override
+      public EnumSet<ScenarioSnapshot.Kind> needs() {
+        return EnumSet.copyOf(needs);
+      }
+
+      @Override
+      public ScenarioSnapshot.Scope scope() {
+        return scope;
+      }
+
+      @Override
+      public boolean isFulfilled(ScenarioSnapshot snapshot) {
+        return predicate.test(snapshot.within(scope));
+      }
+    };
+  }
+}
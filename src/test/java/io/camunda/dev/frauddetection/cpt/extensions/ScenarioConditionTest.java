@@ -0,0 +1,73 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.Element;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.Kind;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.MessageSubscription;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.Scope;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.UserTask;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ScenarioConditionTest {
+
+  private static final String PROCESS = "fraud-detection";
+
+  private final ScenarioSnapshot snapshot =
+      new ScenarioSnapshot(
+          List.of(
+              new Element(1L, PROCESS, "UserResponseReceived", "User response received"),
+              new Element(2L, "other-process", "Review", "Review")),
+          List.of(new UserTask(1L, PROCESS, "CallOnExternalAdvisor", "Call On External Advisor")),
+          List.of(new MessageSubscription(2L, PROCESS, "email-received", "message-1")));
+
+  @Test
+  void user_task_conditions_match_element_id_or_name() {
+    assertThat(ScenarioCondition.userTaskCreated("CallOnExternalAdvisor").isFulfilled(snapshot)).isTrue();
+    assertThat(ScenarioCondition.userTaskCreated("Review").isFulfilled(snapshot)).isFalse();
+    assertThat(ScenarioCondition.userTaskCreatedWithName("Call On External Advisor").isFulfilled(snapshot))
+        .isTrue();
+    assertThat(ScenarioCondition.userTaskCreated("CallOnExternalAdvisor").needs())
+        .containsExactly(Kind.CREATED_USER_TASKS);
+  }
+
+  @Test
+  void element_active_is_restricted_to_the_process_definition() {
+    ScenarioCondition condition = ScenarioCondition.elementActive(PROCESS, "User response received");
+
+    assertThat(condition.isFulfilled(snapshot)).isTrue();
+    assertThat(condition.scope()).isEqualTo(Scope.processDefinition(PROCESS));
+    assertThat(ScenarioCondition.elementActive(PROCESS, "Review").isFulfilled(snapshot)).isFalse();
+    assertThat(ScenarioCondition.elementActive(null, "Review").isFulfilled(snapshot)).isTrue();
+    assertThat(ScenarioCondition.elementActive(null, "Review").scope()).isEqualTo(Scope.ALL);
+  }
+
+  @Test
+  void waiting_for_message_matches_name_and_correlation_key() {
+    assertThat(ScenarioCondition.waitingForMessage(PROCESS, "email-received", "message-1").isFulfilled(snapshot))
+        .isTrue();
+    assertThat(ScenarioCondition.waitingForMessage(PROCESS, "email-received", null).isFulfilled(snapshot))
+        .isTrue();
+    assertThat(ScenarioCondition.waitingForMessage(PROCESS, "email-received", "message-2").isFulfilled(snapshot))
+        .isFalse();
+    assertThat(ScenarioCondition.waitingForMessage("other-process", "email-received", null).isFulfilled(snapshot))
+        .isFalse();
+  }
+
+  @Test
+  void in_instance_ignores_other_instances() {
+    ScenarioCondition inFirst = ScenarioCondition.userTaskCreated("CallOnExternalAdvisor").inInstance(1L);
+    ScenarioCondition inSecond = ScenarioCondition.userTaskCreated("CallOnExternalAdvisor").inInstance(2L);
+
+    assertThat(inFirst.isFulfilled(snapshot)).isTrue();
+    assertThat(inSecond.isFulfilled(snapshot)).isFalse();
+    assertThat(inSecond.scope()).isEqualTo(new Scope(2L, null));
+    assertThat(inSecond.needs()).containsExactly(Kind.CREATED_USER_TASKS);
+
+    ScenarioCondition message = ScenarioCondition.waitingForMessage(PROCESS, "email-received", null);
+    assertThat(message.inInstance(2L).isFulfilled(snapshot)).isTrue();
+    assertThat(message.inInstance(1L).isFulfilled(snapshot)).isFalse();
+    assertThat(message.inInstance(2L).scope()).isEqualTo(new Scope(2L, PROCESS));
+  }
+}
@@ -0,0 +1,95 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Closes all scenarios opened by a test method (including its {@code @BeforeEach} methods and the
+ * reactions of its scenarios) when it ends, and fails the test if one of their reactions or one of
+ * the scripted job handlers it wired failed.
+ */
+public class ScenarioExtension implements BeforeEachCallback, AfterEachCallback {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ScenarioExtension.class);
+
+  private static final ThreadLocal<List<Scenario>> OPENED = new ThreadLocal<>();
+  /** The script failures watched by the test of the thread, with their count when it started watching. */
+  private static final ThreadLocal<Map<ScriptFailures, Integer>> WATCHED = new ThreadLocal<>();
+
+  /** Tracks the scenario with the test of the current thread; returns the test's scenarios, or {@code null}. */
+  static List<Scenario> opened(Scenario scenario) {
+    List<Scenario> opened = OPENED.get();
+    if (opened == null) {
+      LOG.warn(
+          "Scenario opened outside of a test with @ExtendWith(ScenarioExtension.class): it is not closed"
+              + " when the test ends and failed reactions do not fail the test");
+      return null;
+    }
+    opened.add(scenario);
+    return opened;
+  }
+
+  /** Fails the test of the current thread, if it uses the extension, with the failures recorded from now on. */
+  static void watch(ScriptFailures failures) {
+    Map<ScriptFailures, Integer> watched = WATCHED.get();
+    if (watched != null) {
+      watched.putIfAbsent(failures, failures.size());
+    }
+  }
+
+  /** Runs a reaction so that the scenarios it opens are tracked with the given test's scenarios. */
+  static void runTracked(List<Scenario> opened, Runnable reaction) {
+    List<Scenario> previous = OPENED.get();
+    OPENED.set(opened);
+    try {
+      reaction.run();
+    } finally {
+      if (previous == null) {
+        OPENED.remove();
+      } else {
+        OPENED.set(previous);
+      }
+    }
+  }
+
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    OPENED.set(new CopyOnWriteArrayList<>());
+    WATCHED.set(new LinkedHashMap<>());
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    List<Scenario> opened = OPENED.get();
+    Map<ScriptFailures, Integer> watched = WATCHED.get();
+    OPENED.remove();
+    WATCHED.remove();
+    List<Throwable> causes = new ArrayList<>();
+    if (opened != null) {
+      // by index: reactions still running may open further scenarios while earlier ones are closed
+      for (int i = 0; i < opened.size(); i++) {
+        Scenario scenario = opened.get(i);
+        scenario.close();
+        causes.addAll(scenario.failures());
+      }
+    }
+    if (watched != null) {
+      watched.forEach((failures, before) -> causes.addAll(failures.since(before)));
+    }
+    if (causes.isEmpty()) {
+      return;
+    }
+    AssertionError failure = new AssertionError("Scenario failed: " + causes.get(0).getMessage(), causes.get(0));
+    causes.subList(1, causes.size()).forEach(failure::addSuppressed);
+    throw failure;
+  }
+}
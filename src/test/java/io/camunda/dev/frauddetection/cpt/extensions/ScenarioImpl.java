@@ -1,58 +1,88 @@
 package io.camunda.dev.frauddetection.cpt.extensions;
 
-import org.awaitility.Awaitility;
+import io.camunda.client.CamundaClient;
 import org.awaitility.core.ThrowingRunnable;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.function.Consumer;
-import java.util.function.UnaryOperator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ScenarioImpl implements Scenario {
 
-  private final ExecutorService executorService = Executors.newSingleThreadExecutor();
-
+  private final ScenarioScheduler scheduler;
+  private final CamundaClient client;
   private final Runnable beforeHook;
+  private final List<ScenarioScheduler.Registration> registrations = new CopyOnWriteArrayList<>();
+  private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+  private final List<Scenario> opened;
+  private volatile boolean closed;
+
+  public ScenarioImpl(CamundaClient client, Runnable beforeHook) {
+    this(ScenarioScheduler.shared(), client, beforeHook);
+  }
 
-  public ScenarioImpl(Runnable beforeHook) {
+  public ScenarioImpl(ScenarioScheduler scheduler, CamundaClient client, Runnable beforeHook) {
+    this.scheduler = scheduler;
+    this.client = client;
     this.beforeHook = beforeHook;
+    this.opened = ScenarioExtension.opened(this);
   }
 
   @Override
   public ScenarioInstruction when(ThrowingRunnable condition) {
-    return new ScenarioInstructionImpl(
-        executorService,
-        () -> {
-          beforeHook.run();
-          condition.run();
-        });
+    checkOpen();
+    return action ->
+        registrations.add(
+            scheduler.register(
+                () -> {
+                  beforeHook.run();
+                  condition.run();
+                },
+                action,
+                this));
   }
 
-  private static class ScenarioInstructionImpl implements ScenarioInstruction {
+  @Override
+  public ScenarioInstruction when(ScenarioCondition condition) {
+    checkOpen();
+    return action -> registrations.add(scheduler.register(client, condition, action, this));
+  }
 
-    private final ExecutorService executorService;
-    private final ThrowingRunnable condition;
+  @Override
+  public List<Throwable> failures() {
+    return List.copyOf(failures);
+  }
 
-    public ScenarioInstructionImpl(ExecutorService executorService, ThrowingRunnable condition) {
-      this.executorService = executorService;
-      this.condition = condition;
+  @Override
+  public void close() {
+    closed = true;
+    registrations.forEach(scheduler::cancel);
+    registrations.clear();
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Scenario is closed");
     }
+  }
 
-    @Override
-    public void then(ThrowingRunnable action) {
-      executorService.execute(
-          () -> {
-            Awaitility.await("Wait until scenario condition is fulfilled")
-                .pollInSameThread()
-                .forever()
-                .untilAsserted(condition);
-
-            try {
-              action.run();
-            } catch (Throwable e) {
-              throw new RuntimeException("Failed to execute scenario action", e);
-            }
-          });
+  void failed(Throwable failure) {
+    failures.add(failure);
+  }
+
+  /** Runs a reaction; scenarios it opens are closed with the test that opened this one. */
+  void react(ThrowingRunnable reaction) {
+    Runnable run =
+        () -> {
+          try {
+            reaction.run();
+          } catch (Throwable e) {
+            failed(new RuntimeException("Failed to execute scenario action", e));
+          }
+        };
+    if (opened == null) {
+      run.run();
+    } else {
+      ScenarioExtension.runTracked(opened, run);
     }
   }
 }
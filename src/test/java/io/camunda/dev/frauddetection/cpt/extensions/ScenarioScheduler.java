@@ -0,0 +1,275 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import io.camunda.client.CamundaClient;
+import org.awaitility.core.ThrowingRunnable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Evaluates the pending {@code when} conditions of all scenarios on one shared timer.
+ *
+ * <p>Every tick evaluates all pending conditions in parallel on virtual threads and starts the
+ * reactions of the fulfilled ones. Declarative {@link ScenarioCondition}s do not query on their own:
+ * per client, one {@link ScenarioSnapshot} restricted to the watched scopes is fetched and all of
+ * them are evaluated against it; a condition whose searches keep failing fails its scenario. A tick
+ * waits at most {@link #MAX_INTERVAL} for evaluations and searches; those still running are carried
+ * over to the next tick, so one hanging condition does not stall the others. The interval between
+ * ticks doubles while no condition is fulfilled, up to {@link #MAX_INTERVAL}, and is reset when a
+ * condition is fulfilled or a new one is registered. The timer only runs while conditions are
+ * pending.
+ */
+public final class ScenarioScheduler {
+
+  public static final Duration MIN_INTERVAL = Duration.ofMillis(50);
+  public static final Duration MAX_INTERVAL = Duration.ofSeconds(1);
+
+  /** Consecutive failed snapshot searches after which a declarative condition fails its scenario. */
+  static final int MAX_SEARCH_FAILURES = 10;
+
+  private static final ScenarioScheduler SHARED = new ScenarioScheduler();
+
+  private final ScheduledExecutorService timer =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("scenario-scheduler").daemon().factory());
+  private final ExecutorService workers =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scenario-", 0).factory());
+  private final Set<Registration> pending = ConcurrentHashMap.newKeySet();
+  /** Snapshot searches per client, carried over while they run. Only accessed by the timer thread. */
+  private final Map<CamundaClient, SnapshotFetch> fetches = new HashMap<>();
+
+  private boolean tickScheduled;
+  private long intervalMillis = MIN_INTERVAL.toMillis();
+
+  ScenarioScheduler() {}
+
+  public static ScenarioScheduler shared() {
+    return SHARED;
+  }
+
+  /** Runs the reaction once the condition no longer throws an {@link AssertionError}. */
+  Registration register(ThrowingRunnable condition, ThrowingRunnable reaction, ScenarioImpl scenario) {
+    return register(new Registration(condition, null, null, reaction, scenario));
+  }
+
+  /** Runs the reaction once the condition holds in a snapshot of the client's process instances. */
+  Registration register(
+      CamundaClient client, ScenarioCondition condition, ThrowingRunnable reaction, ScenarioImpl scenario) {
+    return register(new Registration(null, client, condition, reaction, scenario));
+  }
+
+  private Registration register(Registration registration) {
+    pending.add(registration);
+    synchronized (this) {
+      intervalMillis = MIN_INTERVAL.toMillis();
+      scheduleTick();
+    }
+    return registration;
+  }
+
+  void cancel(Registration registration) {
+    pending.remove(registration);
+  }
+
+  int pendingConditions() {
+    return pending.size();
+  }
+
+  /** The delay before the next tick. */
+  synchronized long intervalMillis() {
+    return intervalMillis;
+  }
+
+  private void scheduleTick() {
+    if (!tickScheduled && !pending.isEmpty()) {
+      tickScheduled = true;
+      timer.schedule(this::tick, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void tick() {
+    boolean fulfilled = false;
+    try {
+      fulfilled = evaluatePending();
+    } finally {
+      synchronized (this) {
+        tickScheduled = false;
+        intervalMillis =
+            fulfilled ? MIN_INTERVAL.toMillis() : Math.min(intervalMillis * 2, MAX_INTERVAL.toMillis());
+        scheduleTick();
+        if (!tickScheduled) {
+          // the timer stops; a search finishing later would be stale when it restarts
+          fetches.values().forEach(fetch -> fetch.future().cancel(true));
+          fetches.clear();
+        }
+      }
+    }
+  }
+
+  /** Evaluates all pending conditions and starts the reactions of the fulfilled ones. */
+  private boolean evaluatePending() {
+    long deadline = System.nanoTime() + MAX_INTERVAL.toNanos();
+    List<Registration> due = new ArrayList<>();
+    Map<CamundaClient, Map<ScenarioSnapshot.Kind, Set<ScenarioSnapshot.Scope>>> needs = new HashMap<>();
+    for (Registration registration : pending) {
+      due.add(registration);
+      if (registration.declarative != null) {
+        Map<ScenarioSnapshot.Kind, Set<ScenarioSnapshot.Scope>> scopes =
+            needs.computeIfAbsent(registration.client, c -> new EnumMap<>(ScenarioSnapshot.Kind.class));
+        for (ScenarioSnapshot.Kind kind : registration.declarative.needs()) {
+          scopes.computeIfAbsent(kind, k -> new HashSet<>()).add(registration.declarative.scope());
+        }
+      }
+    }
+    needs.forEach(
+        (client, scopes) ->
+            fetches.computeIfAbsent(
+                client,
+                c -> new SnapshotFetch(workers.submit(() -> ScenarioSnapshot.fetch(c, scopes)), scopes)));
+    for (Registration registration : due) {
+      if (registration.condition != null && registration.evaluation == null) {
+        registration.evaluation = workers.submit(registration::isFulfilled);
+      }
+    }
+
+    boolean fulfilled = false;
+    for (Registration registration : due) {
+      boolean holds =
+          registration.condition != null
+              ? awaitEvaluation(registration, deadline)
+              : holdsIn(fetches.get(registration.client), registration, deadline);
+      if (holds && pending.remove(registration)) {
+        workers.execute(registration::react);
+        fulfilled = true;
+      }
+    }
+    fetches.values().removeIf(fetch -> fetch.future().isDone());
+    return fulfilled;
+  }
+
+  private static long remainingNanos(long deadline) {
+    return Math.max(0, deadline - System.nanoTime());
+  }
+
+  private boolean holdsIn(SnapshotFetch fetch, Registration registration, long deadline) {
+    if (!fetch.covers(registration.declarative)) {
+      return false; // started before the condition was registered; the next search includes it
+    }
+    ScenarioSnapshot fetched;
+    try {
+      fetched = fetch.future().get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      return false; // still searching: carried over to the next tick
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      // e.g. the runtime is not ready yet: retry on the next tick, unless it keeps failing
+      if (++registration.searchFailures >= MAX_SEARCH_FAILURES) {
+        pending.remove(registration);
+        registration.scenario.failed(
+            new IllegalStateException(
+                "Scenario search failed " + registration.searchFailures + " times in a row", e.getCause()));
+      }
+      return false;
+    }
+    registration.searchFailures = 0;
+    try {
+      return registration.declarative.isFulfilled(fetched);
+    } catch (RuntimeException e) {
+      pending.remove(registration);
+      registration.scenario.failed(e);
+      return false;
+    }
+  }
+
+  private boolean awaitEvaluation(Registration registration, long deadline) {
+    try {
+      boolean holds = registration.evaluation.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+      registration.evaluation = null;
+      return holds;
+    } catch (TimeoutException e) {
+      return false; // still running: carried over to the next tick
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      // not an assertion failure: the condition can never be fulfilled
+      registration.evaluation = null;
+      pending.remove(registration);
+      registration.scenario.failed(e.getCause());
+      return false;
+    }
+  }
+
+  /** A snapshot search and the scopes it was started for. */
+  private record SnapshotFetch(
+      Future<ScenarioSnapshot> future, Map<ScenarioSnapshot.Kind, Set<ScenarioSnapshot.Scope>> scopes) {
+
+    boolean covers(ScenarioCondition condition) {
+      for (ScenarioSnapshot.Kind kind : condition.needs()) {
+        Set<ScenarioSnapshot.Scope> searched = scopes.get(kind);
+        if (searched == null || !searched.contains(condition.scope())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  static final class Registration {
+    private final ThrowingRunnable condition;
+    private final CamundaClient client;
+    private final ScenarioCondition declarative;
+    private final ThrowingRunnable reaction;
+    private final ScenarioImpl scenario;
+    /** Only accessed by the timer thread. */
+    private int searchFailures;
+    /** The evaluation carried over from an earlier tick, if any. Only accessed by the timer thread. */
+    private Future<Boolean> evaluation;
+
+    private Registration(
+        ThrowingRunnable condition,
+        CamundaClient client,
+        ScenarioCondition declarative,
+        ThrowingRunnable reaction,
+        ScenarioImpl scenario) {
+      this.condition = condition;
+      this.client = client;
+      this.declarative = declarative;
+      this.reaction = reaction;
+      this.scenario = scenario;
+    }
+
+    private boolean isFulfilled() throws Exception {
+      try {
+        condition.run();
+        return true;
+      } catch (AssertionError e) {
+        return false;
+      } catch (Exception e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException("Scenario condition failed", e);
+      }
+    }
+
+    private void react() {
+      scenario.react(reaction);
+    }
+  }
+}
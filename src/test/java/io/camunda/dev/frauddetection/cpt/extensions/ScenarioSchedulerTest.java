@@ -0,0 +1,171 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ScenarioSchedulerTest {
+
+  private final ScenarioScheduler scheduler = new ScenarioScheduler();
+
+  @Test
+  void backs_off_while_no_condition_is_fulfilled() throws InterruptedException {
+    AtomicInteger evaluations = new AtomicInteger();
+    Scenario scenario = scenario();
+    scenario
+        .when(
+            () -> {
+              evaluations.incrementAndGet();
+              throw new AssertionError("not yet");
+            })
+        .then(() -> {});
+
+    // ticks after 50, 150, 350, 750 and 1550 ms instead of every 50 ms
+    Thread.sleep(1_200);
+
+    assertThat(evaluations.get()).isBetween(2, 6);
+    assertThat(scheduler.intervalMillis()).isGreaterThanOrEqualTo(800);
+
+    scenario.when(() -> {}).then(() -> {});
+    assertThat(scheduler.intervalMillis()).isEqualTo(ScenarioScheduler.MIN_INTERVAL.toMillis());
+    scenario.close();
+  }
+
+  @Test
+  void runs_the_reaction_once_the_condition_holds() {
+    AtomicBoolean ready = new AtomicBoolean();
+    AtomicInteger reactions = new AtomicInteger();
+    scenario()
+        .when(() -> assertThat(ready).isTrue())
+        .then(reactions::incrementAndGet);
+
+    ready.set(true);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> reactions.get() == 1);
+    assertThat(scheduler.pendingConditions()).isZero();
+  }
+
+  @Test
+  void a_hanging_condition_does_not_hold_up_the_others() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger hangingEvaluations = new AtomicInteger();
+    AtomicBoolean slowReacted = new AtomicBoolean();
+    AtomicBoolean ready = new AtomicBoolean();
+    AtomicBoolean reacted = new AtomicBoolean();
+    Scenario scenario = scenario();
+    scenario
+        .when(
+            () -> {
+              hangingEvaluations.incrementAndGet();
+              release.await();
+            })
+        .then(() -> slowReacted.set(true));
+    scenario.when(() -> assertThat(ready).isTrue()).then(() -> reacted.set(true));
+
+    Thread.sleep(200);
+    ready.set(true);
+
+    await().atMost(Duration.ofSeconds(5)).until(reacted::get);
+    assertThat(hangingEvaluations).hasValue(1); // carried over, not evaluated again every tick
+    release.countDown();
+    await().atMost(Duration.ofSeconds(5)).until(slowReacted::get);
+    scenario.close();
+  }
+
+  @Test
+  void close_cancels_pending_conditions() throws InterruptedException {
+    AtomicBoolean ready = new AtomicBoolean();
+    AtomicBoolean reacted = new AtomicBoolean();
+    Scenario scenario = scenario();
+    scenario.when(() -> assertThat(ready).isTrue()).then(() -> reacted.set(true));
+
+    scenario.close();
+    ready.set(true);
+    Thread.sleep(200);
+
+    assertThat(scheduler.pendingConditions()).isZero();
+    assertThat(reacted).isFalse();
+  }
+
+  @Test
+  void collects_failed_conditions_and_reactions() {
+    Scenario scenario = scenario();
+    scenario
+        .when(
+            () -> {
+              throw new IllegalStateException("broken condition");
+            })
+        .then(() -> {});
+    scenario
+        .when(() -> {})
+        .then(
+            () -> {
+              throw new IllegalStateException("broken reaction");
+            });
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> scenario.failures().size() == 2);
+    assertThat(scenario.failures())
+        .anySatisfy(e -> assertThat(e).hasMessage("broken condition"))
+        .anySatisfy(e -> assertThat(e).hasRootCauseMessage("broken reaction"));
+    assertThat(scheduler.pendingConditions()).isZero();
+  }
+
+  @Test
+  void fails_a_declarative_condition_whose_searches_keep_failing() {
+    Scenario scenario = scenario(); // without a client every snapshot search fails
+    scenario.when(ScenarioCondition.userTaskCreated("CallOnExternalAdvisor")).then(() -> {});
+
+    await().atMost(Duration.ofSeconds(15)).until(() -> !scenario.failures().isEmpty());
+    assertThat(scenario.failures())
+        .singleElement()
+        .satisfies(
+            e ->
+                assertThat(e)
+                    .hasMessageContaining(ScenarioScheduler.MAX_SEARCH_FAILURES + " times in a row"));
+    assertThat(scheduler.pendingConditions()).isZero();
+  }
+
+  @Test
+  void extension_closes_scenarios_opened_by_reactions_and_reports_their_failures() throws InterruptedException {
+    ScenarioExtension extension = new ScenarioExtension();
+    extension.beforeEach(null);
+    CountDownLatch nestedOpened = new CountDownLatch(1);
+    AtomicReference<Scenario> nestedScenario = new AtomicReference<>();
+    scenario()
+        .when(() -> {})
+        .then(
+            () -> {
+              Scenario nested = scenario();
+              nested.when(() -> assertThat(false).isTrue()).then(() -> {});
+              nested
+                  .when(() -> {})
+                  .then(
+                      () -> {
+                        throw new IllegalStateException("broken nested reaction");
+                      });
+              nestedScenario.set(nested);
+              nestedOpened.countDown();
+            });
+
+    assertThat(nestedOpened.await(5, TimeUnit.SECONDS)).isTrue();
+    await().atMost(Duration.ofSeconds(5)).until(() -> nestedScenario.get().failures().size() == 1);
+    assertThat(scheduler.pendingConditions()).isEqualTo(1);
+
+    assertThatThrownBy(() -> extension.afterEach(null))
+        .isInstanceOf(AssertionError.class)
+        .hasRootCauseMessage("broken nested reaction");
+    assertThat(scheduler.pendingConditions()).isZero();
+  }
+
+  private Scenario scenario() {
+    return new ScenarioImpl(scheduler, null, () -> {});
+  }
+}
@@ -0,0 +1,251 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.enums.ElementInstanceState;
+import io.camunda.client.api.search.enums.MessageSubscriptionState;
+import io.camunda.client.api.search.enums.UserTaskState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * What the declarative {@link ScenarioCondition}s of one tick need to know about the process
+ * instances of a {@link CamundaClient}. Per {@link Kind}, the searches are restricted to the
+ * {@link Scope}s the conditions watch and page through all results.
+ */
+public final class ScenarioSnapshot {
+
+  /** Items fetched per search request; further pages are fetched until one is not full. */
+  static final int PAGE_SIZE = 100;
+
+  public enum Kind {
+    ACTIVE_ELEMENTS,
+    CREATED_USER_TASKS,
+    OPEN_MESSAGE_SUBSCRIPTIONS
+  }
+
+  /**
+   * The process instances a condition watches: one instance, the instances of one process
+   * definition, or every instance if both are {@code null}.
+   */
+  public record Scope(Long processInstanceKey, String processDefinitionId) {
+
+    public static final Scope ALL = new Scope(null, null);
+
+    public static Scope processDefinition(String processDefinitionId) {
+      return new Scope(null, processDefinitionId);
+    }
+
+    boolean includes(Long processInstanceKey, String processDefinitionId) {
+      return (this.processInstanceKey == null || this.processInstanceKey.equals(processInstanceKey))
+          && matches(this.processDefinitionId, processDefinitionId);
+    }
+  }
+
+  public record Element(
+      Long processInstanceKey, String processDefinitionId, String elementId, String elementName) {}
+
+  public record UserTask(
+      Long processInstanceKey, String processDefinitionId, String elementId, String name) {}
+
+  public record MessageSubscription(
+      Long processInstanceKey, String processDefinitionId, String messageName, String correlationKey) {}
+
+  private final List<Element> activeElements;
+  private final List<UserTask> createdUserTasks;
+  private final List<MessageSubscription> openMessageSubscriptions;
+
+  ScenarioSnapshot(
+      List<Element> activeElements,
+      List<UserTask> createdUserTasks,
+      List<MessageSubscription> openMessageSubscriptions) {
+    this.activeElements = activeElements;
+    this.createdUserTasks = createdUserTasks;
+    this.openMessageSubscriptions = openMessageSubscriptions;
+  }
+
+  /** Queries only the kinds the pending conditions need, within their scopes; the others stay empty. */
+  static ScenarioSnapshot fetch(CamundaClient client, Map<Kind, Set<Scope>> scopes) {
+    return new ScenarioSnapshot(
+        search(scopes.get(Kind.ACTIVE_ELEMENTS), scope -> activeElements(client, scope)),
+        search(scopes.get(Kind.CREATED_USER_TASKS), scope -> createdUserTasks(client, scope)),
+        search(scopes.get(Kind.OPEN_MESSAGE_SUBSCRIPTIONS), scope -> openMessageSubscriptions(client, scope)));
+  }
+
+  /**
+   * The searches that cover all scopes: a single unrestricted one if any scope is unrestricted,
+   * otherwise one per process definition and one per instance not covered by those.
+   */
+  static Set<Scope> searches(Set<Scope> scopes) {
+    if (scopes.contains(Scope.ALL)) {
+      return Set.of(Scope.ALL);
+    }
+    Set<String> definitions =
+        scopes.stream()
+            .filter(scope -> scope.processInstanceKey() == null)
+            .map(Scope::processDefinitionId)
+            .collect(Collectors.toSet());
+    Set<Scope> searches = new LinkedHashSet<>();
+    for (Scope scope : scopes) {
+      if (scope.processInstanceKey() == null) {
+        searches.add(scope);
+      } else if (!definitions.contains(scope.processDefinitionId())) {
+        searches.add(new Scope(scope.processInstanceKey(), null));
+      }
+    }
+    return searches;
+  }
+
+  /** The part of the snapshot within the scope. */
+  public ScenarioSnapshot within(Scope scope) {
+    if (scope.equals(Scope.ALL)) {
+      return this;
+    }
+    return new ScenarioSnapshot(
+        activeElements.stream()
+            .filter(e -> scope.includes(e.processInstanceKey(), e.processDefinitionId()))
+            .toList(),
+        createdUserTasks.stream()
+            .filter(t -> scope.includes(t.processInstanceKey(), t.processDefinitionId()))
+            .toList(),
+        openMessageSubscriptions.stream()
+            .filter(m -> scope.includes(m.processInstanceKey(), m.processDefinitionId()))
+            .toList());
+  }
+
+  public List<Element> activeElements() {
+    return activeElements;
+  }
+
+  public List<UserTask> createdUserTasks() {
+    return createdUserTasks;
+  }
+
+  public List<MessageSubscription> openMessageSubscriptions() {
+    return openMessageSubscriptions;
+  }
+
+  private static <T> List<T> search(Set<Scope> scopes, Function<Scope, List<T>> search) {
+    if (scopes == null) {
+      return List.of();
+    }
+    Set<T> items = new LinkedHashSet<>(); // searches of overlapping scopes return the same items
+    for (Scope scope : searches(scopes)) {
+      items.addAll(search.apply(scope));
+    }
+    return List.copyOf(items);
+  }
+
+  /** Fetches page after page, starting at the given offsets, until a page is not full. */
+  static <T> List<T> allPages(IntFunction<List<T>> page) {
+    List<T> items = new ArrayList<>();
+    for (int from = 0; ; from += PAGE_SIZE) {
+      List<T> next = page.apply(from);
+      items.addAll(next);
+      if (next.size() < PAGE_SIZE) {
+        return items;
+      }
+    }
+  }
+
+  private static List<Element> activeElements(CamundaClient client, Scope scope) {
+    return allPages(
+            from ->
+                client
+                    .newElementInstanceSearchRequest()
+                    .filter(
+                        filter -> {
+                          filter.state(ElementInstanceState.ACTIVE);
+                          if (scope.processInstanceKey() != null) {
+                            filter.processInstanceKey(scope.processInstanceKey());
+                          }
+                          if (scope.processDefinitionId() != null) {
+                            filter.processDefinitionId(scope.processDefinitionId());
+                          }
+                        })
+                    .page(page -> page.from(from).limit(PAGE_SIZE))
+                    .send()
+                    .join()
+                    .items())
+        .stream()
+        .map(
+            element ->
+                new Element(
+                    element.getProcessInstanceKey(),
+                    element.getProcessDefinitionId(),
+                    element.getElementId(),
+                    element.getElementName()))
+        .toList();
+  }
+
+  private static List<UserTask> createdUserTasks(CamundaClient client, Scope scope) {
+    return allPages(
+            from ->
+                client
+                    .newUserTaskSearchRequest()
+                    .filter(
+                        filter -> {
+                          filter.state(UserTaskState.CREATED);
+                          if (scope.processInstanceKey() != null) {
+                            filter.processInstanceKey(scope.processInstanceKey());
+                          }
+                          if (scope.processDefinitionId() != null) {
+                            filter.bpmnProcessId(scope.processDefinitionId());
+                          }
+                        })
+                    .page(page -> page.from(from).limit(PAGE_SIZE))
+                    .send()
+                    .join()
+                    .items())
+        .stream()
+        .map(
+            task ->
+                new UserTask(
+                    task.getProcessInstanceKey(),
+                    task.getBpmnProcessId(),
+                    task.getElementId(),
+                    task.getName()))
+        .toList();
+  }
+
+  private static List<MessageSubscription> openMessageSubscriptions(CamundaClient client, Scope scope) {
+    return allPages(
+            from ->
+                client
+                    .newMessageSubscriptionSearchRequest()
+                    .filter(
+                        filter -> {
+                          filter.messageSubscriptionState(MessageSubscriptionState.CREATED);
+                          if (scope.processInstanceKey() != null) {
+                            filter.processInstanceKey(scope.processInstanceKey());
+                          }
+                          if (scope.processDefinitionId() != null) {
+                            filter.processDefinitionId(scope.processDefinitionId());
+                          }
+                        })
+                    .page(page -> page.from(from).limit(PAGE_SIZE))
+                    .send()
+                    .join()
+                    .items())
+        .stream()
+        .map(
+            subscription ->
+                new MessageSubscription(
+                    subscription.getProcessInstanceKey(),
+                    subscription.getProcessDefinitionId(),
+                    subscription.getMessageName(),
+                    subscription.getCorrelationKey()))
+        .toList();
+  }
+
+  static boolean matches(String expected, String actual) {
+    return expected == null || Objects.equals(expected, actual);
+  }
+}
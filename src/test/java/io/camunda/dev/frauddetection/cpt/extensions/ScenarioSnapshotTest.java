@@ -0,0 +1,66 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.Element;
+import io.camunda.dev.frauddetection.cpt.extensions.ScenarioSnapshot.Scope;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ScenarioSnapshotTest {
+
+  @Test
+  void an_unrestricted_scope_needs_one_search() {
+    assertThat(ScenarioSnapshot.searches(Set.of(Scope.ALL, new Scope(1L, "a"), Scope.processDefinition("b"))))
+        .containsExactly(Scope.ALL);
+  }
+
+  @Test
+  void searches_cover_instances_not_covered_by_their_process_definition() {
+    Set<Scope> searches =
+        ScenarioSnapshot.searches(
+            Set.of(Scope.processDefinition("a"), new Scope(1L, "a"), new Scope(2L, "b"), new Scope(3L, null)));
+
+    assertThat(searches)
+        .containsExactlyInAnyOrder(Scope.processDefinition("a"), new Scope(2L, null), new Scope(3L, null));
+  }
+
+  @Test
+  void within_keeps_only_the_items_of_the_scope() {
+    ScenarioSnapshot snapshot =
+        new ScenarioSnapshot(
+            List.of(
+                new Element(1L, "a", "Task", "Task"),
+                new Element(2L, "a", "Task", "Task"),
+                new Element(3L, "b", "Task", "Task")),
+            List.of(),
+            List.of());
+
+    assertThat(snapshot.within(Scope.ALL)).isSameAs(snapshot);
+    assertThat(snapshot.within(Scope.processDefinition("a")).activeElements())
+        .extracting(Element::processInstanceKey)
+        .containsExactly(1L, 2L);
+    assertThat(snapshot.within(new Scope(2L, null)).activeElements())
+        .extracting(Element::processInstanceKey)
+        .containsExactly(2L);
+    assertThat(snapshot.within(new Scope(3L, "a")).activeElements()).isEmpty();
+  }
+
+  @Test
+  void fetches_pages_until_one_is_not_full() {
+    List<Integer> offsets = new ArrayList<>();
+    List<String> items =
+        ScenarioSnapshot.allPages(
+            from -> {
+              offsets.add(from);
+              int size = from < 2 * ScenarioSnapshot.PAGE_SIZE ? ScenarioSnapshot.PAGE_SIZE : 37;
+              return Collections.nCopies(size, "item");
+            });
+
+    assertThat(items).hasSize(2 * ScenarioSnapshot.PAGE_SIZE + 37);
+    assertThat(offsets).containsExactly(0, ScenarioSnapshot.PAGE_SIZE, 2 * ScenarioSnapshot.PAGE_SIZE);
+  }
+}
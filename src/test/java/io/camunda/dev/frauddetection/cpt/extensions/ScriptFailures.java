@@ -0,0 +1,58 @@
+package io.camunda.dev.frauddetection.cpt.extensions;
+
+import io.camunda.client.api.response.ActivatedJob;
+import io.camunda.client.api.worker.JobClient;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Failures of a scripted job handler: jobs that ran past the end of the script or lost their
+ * position, and commands that could not be sent or were rejected. Wired handlers report them to
+ * {@link ScenarioExtension}. The list only grows, so a test is failed by those recorded since it
+ * started watching.
+ */
+final class ScriptFailures {
+
+  private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+  /**
+   * Fails the test of the current thread with the failures recorded from now on, if it uses {@link
+   * ScenarioExtension}. Watching again in the same test has no effect.
+   */
+  void watch() {
+    ScenarioExtension.watch(this);
+  }
+
+  List<Throwable> list() {
+    return List.copyOf(failures);
+  }
+
+  int size() {
+    return failures.size();
+  }
+
+  /** The failures recorded after the first {@code count}. */
+  List<Throwable> since(int count) {
+    List<Throwable> all = list();
+    return all.subList(Math.min(count, all.size()), all.size());
+  }
+
+  /** Records {@code message} and fails the job without retries, so that it raises an incident. */
+  void failJob(JobClient client, ActivatedJob job, String message) {
+    failures.add(new IllegalStateException(message));
+    client
+        .newFailCommand(job)
+        .retries(0)
+        .errorMessage(message)
+        .send()
+        .whenComplete((response, failure) -> record(failure));
+  }
+
+  /** Records the failure of a command, if any; meant for {@code whenComplete}. */
+  void record(Throwable failure) {
+    if (failure != null) {
+      failures.add(failure);
+    }
+  }
+}
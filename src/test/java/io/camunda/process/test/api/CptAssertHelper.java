@@ -14,6 +14,7 @@ public class CptAssertHelper {
     CamundaAssert.initialize(camundaDataSource);
 
     return new ScenarioImpl(
+        camundaClient,
         () -> {
           CamundaAssert.initialize(camundaDataSource);
           CamundaAssert.setAssertionTimeout(Duration.ofSeconds(1));
@@ -0,0 +1,59 @@
+package io.camunda.dev.assertions.ai.internal;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/** Vector API kernels for {@link CosineSimilarity}; only loaded if {@code jdk.incubator.vector} is present.
+ *
+ * <p>Compiled only with the {@code vector} Maven profile, so default builds need no incubator module.
+ *
+ * <p>Lanes accumulate in float and are reduced to double at the end, which keeps the relative error
+ * well below the precision that matters for similarity thresholds.
+ */
+final class VectorizedSimilarity implements SimilarityKernel {
+
+  private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+  @Override
+  public double cosine(float[] a, float[] b) {
+    FloatVector dot = FloatVector.zero(SPECIES);
+    FloatVector na = FloatVector.zero(SPECIES);
+    FloatVector nb = FloatVector.zero(SPECIES);
+    int upper = SPECIES.loopBound(a.length);
+    int i = 0;
+    for (; i < upper; i += SPECIES.length()) {
+      FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+      FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+      dot = va.fma(vb, dot);
+      na = va.fma(va, na);
+      nb = vb.fma(vb, nb);
+    }
+    double d = dot.reduceLanes(VectorOperators.ADD);
+    double sa = na.reduceLanes(VectorOperators.ADD);
+    double sb = nb.reduceLanes(VectorOperators.ADD);
+    for (; i < a.length; i++) {
+      d += (double) a[i] * b[i];
+      sa += (double) a[i] * a[i];
+      sb += (double) b[i] * b[i];
+    }
+    return CosineSimilarity.cosine(d, sa, sb);
+  }
+
+  @Override
+  public double dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+    FloatVector acc = FloatVector.zero(SPECIES);
+    int upper = SPECIES.loopBound(length);
+    int i = 0;
+    for (; i < upper; i += SPECIES.length()) {
+      FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+      FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+      acc = va.fma(vb, acc);
+    }
+    double d = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < length; i++) {
+      d += (double) a[aOffset + i] * b[bOffset + i];
+    }
+    return d;
+  }
+}